@@ -1,29 +1,55 @@
-import org.jetbrains.kotlin.gradle.tasks.KotlinCompile
+plugins {
+    id("org.springframework.boot") version "3.1.4"
+    id("io.spring.dependency-management") version "1.1.0"
+    id("me.champeau.jmh") version "0.7.2"
+    java
 }
-    useJUnitPlatform()
-tasks.withType<Test> {
 
+group = "com.example"
+version = "0.0.1-SNAPSHOT"
+java.sourceCompatibility = JavaVersion.VERSION_17
+
+repositories {
+    mavenCentral()
 }
-    testImplementation("org.springframework.boot:spring-boot-starter-test")
 
-    runtimeOnly("com.h2database:h2")
-    implementation("org.springframework.boot:spring-boot-starter-validation")
-    implementation("org.springframework.boot:spring-boot-starter-data-jpa")
-    implementation("org.springframework.boot:spring-boot-starter-web")
 dependencies {
+    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    // reactive profile: WebFlux handlers over R2DBC (see ReactiveConfig)
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
 
-}
-    mavenCentral()
-repositories {
-
-java.sourceCompatibility = JavaVersion.VERSION_17
-version = "0.0.1-SNAPSHOT"
-group = "com.example"
+    runtimeOnly("com.h2database:h2")
+    runtimeOnly("io.r2dbc:r2dbc-h2")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    runtimeOnly("org.hibernate.orm:hibernate-micrometer")
 
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
-    java
-    id("io.spring.dependency-management") version "1.1.0"
-    id("org.springframework.boot") version "3.1.4"
-plugins {
 
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
 
+// ./gradlew jmh [-PjmhIncludes=DroneServiceBenchmark.loadDrone] [-PjmhDrones=1000,100000]
+// Results are written as JSON to build/results/jmh/results.json for comparison between builds.
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    warmup.set("2s")
+    jvmArgs.addAll("-Xms2g", "-Xmx4g")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+    (project.findProperty("jmhDrones") as String?)?.let {
+        benchmarkParameters.put("drones", project.objects.listProperty(String::class.java).value(it.split(",")))
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.droneservice;
+
+import com.example.droneservice.service.FleetAvailabilityIndex;
+import com.example.droneservice.service.FleetSpatialIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A drone-service context on a fresh in-memory H2 database holding a synthetic fleet. Drones get
+ * ids {@link #FIRST_ID} onwards (the ten demo drones keep 1..10); states and batteries follow the
+ * id, so every reset puts the same drones back in the same place: 60% IDLE, then 10% each of
+ * LOADED, DELIVERING, RETURNING and DELIVERED, all with enough battery to load. Positions are
+ * scattered over a square degree around {@link #LATITUDE}, {@link #LONGITUDE}.
+ */
+public final class BenchmarkFleet implements AutoCloseable {
+    public static final long FIRST_ID = 1_000_001;
+    /** Drones seeded with {@link #MEDICATIONS_PER_DRONE} medications each, from {@link #FIRST_ID}. */
+    public static final int DRONES_WITH_MEDICATIONS = 1000;
+    public static final int MEDICATIONS_PER_DRONE = 10;
+    public static final double LATITUDE = 52.52;
+    public static final double LONGITUDE = 13.405;
+
+    // %1$s is the drone's position in the fleet, from 1
+    private static final String STATE = "CASE MOD(%1$s, 10) WHEN 6 THEN 'LOADED' WHEN 7 THEN 'DELIVERING' "
+            + "WHEN 8 THEN 'RETURNING' WHEN 9 THEN 'DELIVERED' ELSE 'IDLE' END";
+    private static final String BATTERY = "25 + MOD(%1$s, 76)";
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final int drones;
+
+    private BenchmarkFleet(ConfigurableApplicationContext context, int drones) {
+        this.context = context;
+        this.jdbc = context.getBean(JdbcTemplate.class);
+        this.drones = drones;
+    }
+
+    public static BenchmarkFleet start(int drones, String... properties) {
+        List<String> props = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.main.banner-mode=off",
+                "logging.level.root=warn",
+                // ticks only when a benchmark asks for one
+                "drone.simulator.interval=" + Long.MAX_VALUE,
+                "drone.battery-history.samples=16"));
+        props.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DroneServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(props.toArray(String[]::new))
+                .run();
+        BenchmarkFleet fleet = new BenchmarkFleet(context, drones);
+        fleet.seed();
+        return fleet;
+    }
+
+    private void seed() {
+        jdbc.execute("INSERT INTO drone(id, serial_number, model, weight_limit, battery_capacity, state, created_at, updated_at, "
+                + "current_load_weight, loaded_item_count, latitude, longitude, version) "
+                + "SELECT " + (FIRST_ID - 1) + " + X, 'BENCH-' || X, "
+                + "CASE MOD(X, 4) WHEN 0 THEN 'LIGHT_WEIGHT' WHEN 1 THEN 'MIDDLE_WEIGHT' WHEN 2 THEN 'CRUISER_WEIGHT' ELSE 'HEAVY_WEIGHT' END, "
+                + "500, " + String.format(BATTERY, "X") + ", " + String.format(STATE, "X") + ", NOW(), NOW(), "
+                + load("X") + ", " + load("X") + ", "
+                + (LATITUDE - 0.5) + " + MOD(X * 7919, 10007) / 10007.0, " + (LONGITUDE - 0.5) + " + MOD(X * 104729, 10009) / 10009.0, "
+                + "0 FROM SYSTEM_RANGE(1, " + drones + ")");
+        int withMeds = Math.min(drones, DRONES_WITH_MEDICATIONS);
+        jdbc.execute("INSERT INTO medication(id, name, weight, code, drone_id) "
+                + "SELECT X, 'Bench' || X, 1, 'BENCH_' || X, " + (FIRST_ID - 1) + " + 1 + MOD(X, " + withMeds + ") "
+                + "FROM SYSTEM_RANGE(" + FIRST_ID + ", " + (FIRST_ID - 1 + (long) withMeds * MEDICATIONS_PER_DRONE) + ")");
+        context.getBean(FleetAvailabilityIndex.class).rebuild();
+        context.getBean(FleetSpatialIndex.class).rebuild();
+    }
+
+    /** Puts every seeded drone back to its initial state and drops medications loaded since. */
+    public void reset() {
+        jdbc.execute("DELETE FROM medication WHERE id < " + FIRST_ID + " AND drone_id >= " + FIRST_ID);
+        String x = "(id - " + (FIRST_ID - 1) + ")";
+        jdbc.execute("UPDATE drone SET battery_capacity = " + String.format(BATTERY, x) + ", state = " + String.format(STATE, x)
+                + ", current_load_weight = " + load(x) + ", loaded_item_count = " + load(x)
+                + " WHERE id >= " + FIRST_ID);
+        context.getBean(FleetAvailabilityIndex.class).rebuild();
+    }
+
+    /** Current load of a seeded drone; its medications weigh 1 each, so weight and item count agree. */
+    private static String load(String position) {
+        return "CASE WHEN " + position + " <= " + DRONES_WITH_MEDICATIONS + " THEN " + MEDICATIONS_PER_DRONE + " ELSE 0 END";
+    }
+
+    public int size() {
+        return drones;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
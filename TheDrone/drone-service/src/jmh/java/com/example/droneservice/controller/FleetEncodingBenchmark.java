@@ -0,0 +1,103 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a full drone or medication listing in each format the list endpoints offer. Time is
+ * per listing; the {@code bytes} counter is the size of one encoded listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FleetEncodingBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int drones;
+
+    @Param({"json", "cbor", "columns"})
+    public String format;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private List<DroneDto> droneList;
+    private List<MedicationDto> medicationList;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long bytes;
+    }
+
+    /**
+     * Same shape as a generated fleet: mixed models and states, positions around the seed center,
+     * 1-3 medications on a third of the drones.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        DroneModel[] models = DroneModel.values();
+        DroneState[] states = DroneState.values();
+        droneList = new ArrayList<>(drones);
+        medicationList = new ArrayList<>();
+        for (long id = 1; id <= drones; id++) {
+            DroneModel model = models[random.nextInt(models.length)];
+            droneList.add(new DroneDto(id, String.format("SIM-%07d", id), model, 50 * (1 + random.nextInt(model.getCapacity() / 50)),
+                    random.nextInt(5, 101), states[random.nextInt(states.length)],
+                    52.52 + random.nextDouble(-0.45, 0.45), 13.405 + random.nextDouble(-0.74, 0.74)));
+            if (id % 3 != 0) continue;
+            for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                long medId = medicationList.size() + 1;
+                medicationList.add(new MedicationDto(medId, "Med-" + medId, 1 + random.nextInt(100), "MED_" + medId, null, id));
+            }
+        }
+    }
+
+    @Benchmark
+    public void encodeDrones(Size size) throws IOException {
+        CountingStream out = new CountingStream();
+        switch (format) {
+            case "json" -> json.writeValue(out, droneList);
+            case "cbor" -> cbor.writeValue(out, droneList);
+            default -> FleetColumns.writeDrones(droneList, null, out);
+        }
+        size.bytes = out.count;
+    }
+
+    @Benchmark
+    public void encodeMedications(Size size) throws IOException {
+        CountingStream out = new CountingStream();
+        switch (format) {
+            case "json" -> json.writeValue(out, medicationList);
+            case "cbor" -> cbor.writeValue(out, medicationList);
+            default -> FleetColumns.writeMedications(medicationList, null, out);
+        }
+        size.bytes = out.count;
+    }
+
+    /** Discards what it is given, so only encoding is measured. */
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
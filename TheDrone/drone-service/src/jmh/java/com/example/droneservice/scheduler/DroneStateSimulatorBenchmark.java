@@ -0,0 +1,47 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulator tick over a freshly reset fleet per measurement, in each tick mode. Entity mode
+ * loads every drone, so at a million drones expect it to take minutes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DroneStateSimulatorBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int drones;
+
+    @Param({"entity", "batched", "sharded"})
+    public String mode;
+
+    private BenchmarkFleet fleet;
+    private DroneStateSimulator simulator;
+
+    @Setup(Level.Trial)
+    public void startFleet() {
+        fleet = BenchmarkFleet.start(drones, "drone.simulator.mode=" + mode);
+        simulator = fleet.bean(DroneStateSimulator.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetFleet() {
+        fleet.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopFleet() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public void tick() {
+        simulator.tick();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.BenchmarkFleet;
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.dto.NearbyDroneDto;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DroneServiceBenchmark {
+    private static final int MAPPED_PAGE = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int drones;
+
+    private BenchmarkFleet fleet;
+    private DroneService droneService;
+    private List<DroneRecord> page;
+    private long nextLoad;
+    private long nextRead;
+    private long nextQuery;
+
+    @Setup(Level.Trial)
+    public void startFleet() {
+        fleet = BenchmarkFleet.start(drones);
+        droneService = fleet.bean(DroneService.class);
+        page = fleet.bean(FleetStore.class).dronePage(BenchmarkFleet.FIRST_ID - 1, MAPPED_PAGE);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetFleet() {
+        fleet.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopFleet() {
+        fleet.close();
+    }
+
+    @Benchmark
+    public List<DroneDto> availableDrones() {
+        return droneService.availableDrones();
+    }
+
+    /** One 1-unit medication per call, spread over the fleet so no drone runs out of capacity. */
+    @Benchmark
+    public long loadDrone() {
+        long id = BenchmarkFleet.FIRST_ID + (nextLoad++ % drones);
+        CreateMedicationRequest med = new CreateMedicationRequest();
+        med.setName("Load");
+        med.setWeight(1);
+        med.setCode("LOAD_1");
+        LoadRequest request = new LoadRequest();
+        request.setMedications(List.of(med));
+        droneService.loadDrone(id, request);
+        return id;
+    }
+
+    @Benchmark
+    public List<MedicationDto> getMedications() {
+        int withMeds = Math.min(drones, BenchmarkFleet.DRONES_WITH_MEDICATIONS);
+        return droneService.getMedications(BenchmarkFleet.FIRST_ID + (nextRead++ % withMeds));
+    }
+
+    /** Five nearest loadable drones with room for 300, from points walking across the fleet's square degree. */
+    @Benchmark
+    public List<NearbyDroneDto> nearestDrones() {
+        long q = nextQuery++;
+        double lat = BenchmarkFleet.LATITUDE - 0.5 + (q * 7 % 1000) / 1000.0;
+        double lon = BenchmarkFleet.LONGITUDE - 0.5 + (q * 13 % 1000) / 1000.0;
+        return droneService.nearestDrones(lat, lon, 300, 5);
+    }
+
+    /** Record to DTO mapping for a page of {@value #MAPPED_PAGE} drones already in memory. */
+    @Benchmark
+    public List<DroneDto> toDtos() {
+        List<DroneDto> dtos = new ArrayList<>(page.size());
+        for (DroneRecord d : page) dtos.add(DroneServiceImpl.toDto(d));
+        return dtos;
+    }
+}
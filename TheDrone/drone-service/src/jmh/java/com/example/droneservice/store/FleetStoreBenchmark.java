@@ -0,0 +1,77 @@
+package com.example.droneservice.store;
+
+import com.example.droneservice.BenchmarkFleet;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-drone reads and writes against each {@code drone.store.engine}. The JPA store runs on
+ * the benchmark fleet's H2 database; the in-memory store is filled with the same number of
+ * drones directly, without a Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FleetStoreBenchmark {
+    @Param({"100000", "1000000"})
+    public int drones;
+
+    @Param({"jpa", "memory"})
+    public String engine;
+
+    private BenchmarkFleet fleet;
+    private FleetStore store;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void start() {
+        if (engine.equals("jpa")) {
+            fleet = BenchmarkFleet.start(drones);
+            store = fleet.bean(FleetStore.class);
+            transactionTemplate = fleet.bean(TransactionTemplate.class);
+            return;
+        }
+        store = new InMemoryFleetStore(Validation.buildDefaultValidatorFactory().getValidator());
+        long now = System.currentTimeMillis();
+        List<DroneRecord> records = new ArrayList<>(drones);
+        for (long id = BenchmarkFleet.FIRST_ID; id < BenchmarkFleet.FIRST_ID + drones; id++) {
+            records.add(new DroneRecord(id, "BENCH-" + id, DroneModel.HEAVY_WEIGHT, 500, 100, DroneState.IDLE, 0, 0, now, now, Double.NaN, Double.NaN, 0));
+        }
+        store.reserveIds(BenchmarkFleet.FIRST_ID + drones, 0);
+        store.insertAll(records, List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (fleet != null) fleet.close();
+    }
+
+    @Benchmark
+    public DroneRecord findDrone() {
+        return store.findDrone(randomId()).orElseThrow();
+    }
+
+    /** Drains one percent of battery, wrapping at zero, so every call really changes the drone. */
+    @Benchmark
+    public DroneRecord updateDrone() {
+        long id = randomId();
+        if (transactionTemplate == null) return store.updateDrone(id, FleetStoreBenchmark::drain);
+        return transactionTemplate.execute(status -> store.updateDrone(id, FleetStoreBenchmark::drain));
+    }
+
+    private static DroneRecord drain(DroneRecord d) {
+        return d.withStatus(d.getState(), d.getBatteryCapacity() == 0 ? 100 : d.getBatteryCapacity() - 1);
+    }
+
+    private long randomId() {
+        return BenchmarkFleet.FIRST_ID + ThreadLocalRandom.current().nextInt(drones);
+    }
+}
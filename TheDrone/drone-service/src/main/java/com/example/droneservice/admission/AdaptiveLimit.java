@@ -0,0 +1,56 @@
+package com.example.droneservice.admission;
+
+/**
+ * A concurrency limit adjusted by observed latency (AIMD): a request slower than the target cuts
+ * the limit by {@code backoff}, at most once per round of requests that started after the last
+ * cut, and each fast request while the limit is at least half used raises it by 1/limit, about
+ * one per limit's worth of requests.
+ */
+final class AdaptiveLimit {
+    private final int min;
+    private final int max;
+    private final long targetNanos;
+    private final double backoff;
+    private double limit;
+    private int inFlight;
+    private long lastCut;
+
+    AdaptiveLimit(int initial, int min, int max, long targetNanos, double backoff, long now) {
+        if (min < 1 || max < min) throw new IllegalArgumentException("drone.admission.concurrency needs 1 <= min-limit <= max-limit");
+        if (!(backoff > 0 && backoff < 1)) throw new IllegalArgumentException("drone.admission.concurrency.backoff must be between 0 and 1");
+        if (targetNanos <= 0) throw new IllegalArgumentException("drone.admission.concurrency.latency-target-millis must be positive");
+        this.min = min;
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.backoff = backoff;
+        this.limit = Math.max(min, Math.min(max, initial));
+        this.lastCut = now;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    synchronized void release(long startedAt, long now) {
+        inFlight--;
+        if (now - startedAt > targetNanos) {
+            // requests already running when the limit was cut saw the old load; don't cut again for them
+            if (startedAt - lastCut >= 0) {
+                limit = Math.max(min, limit * backoff);
+                lastCut = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            limit = Math.min(max, limit + 1 / limit);
+        }
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+}
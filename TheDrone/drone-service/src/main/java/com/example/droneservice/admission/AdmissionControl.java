@@ -0,0 +1,174 @@
+package com.example.droneservice.admission;
+
+import com.example.droneservice.config.AdmissionProperties;
+import com.example.droneservice.config.ConnectionBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the {@link AdmissionControlled} write endpoints, checked before the
+ * request body is read: a token bucket per client (the {@code drone.admission.client-header}, or
+ * the remote address) and endpoint, an optional bucket per endpoint, then one latency-adaptive
+ * concurrency limit shared by all of them. Writes beyond it are turned away at once instead of
+ * queueing for threads and connections, which keeps both free for reads. A client over its rate
+ * gets 429; an endpoint over its rate or a full concurrency limit gets 503. Both carry
+ * Retry-After. The limit never exceeds the connections that the simulator and ingestion workers
+ * leave in the pool, less one, so reads always find a connection.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "drone.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControl implements HandlerInterceptor, WebMvcConfigurer, MeterBinder {
+    private static final String STARTED_AT = AdmissionControl.class.getName() + ".startedAt";
+    // clients beyond drone.admission.max-clients share this bucket until idle ones are dropped
+    private static final String OVERFLOW = "";
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final AdaptiveLimit limit;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public AdmissionControl(AdmissionProperties properties, ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry,
+                            ConnectionBudget connections) {
+        if (properties.getClientRate() < 0) throw new IllegalArgumentException("drone.admission.client-rate must not be negative");
+        if (properties.getMaxClients() < 1) throw new IllegalArgumentException("drone.admission.max-clients must be positive");
+        AdmissionProperties.Concurrency c = properties.getConcurrency();
+        int writes = connections.forRequests() - 1;
+        if (writes < 1) {
+            throw new IllegalArgumentException("The connection pool (" + connections.poolSize()
+                    + ") leaves no connection for admitted writes besides the simulator, ingestion workers and reads");
+        }
+        if (c.getMaxLimit() > writes) {
+            throw new IllegalArgumentException("drone.admission.concurrency.max-limit (" + c.getMaxLimit() + ") exceeds the "
+                    + writes + " connections the pool leaves for writes besides the simulator, ingestion workers and reads");
+        }
+        int max = c.getMaxLimit() > 0 ? c.getMaxLimit() : writes;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.limit = new AdaptiveLimit(c.getInitialLimit(), c.getMinLimit(), max,
+                TimeUnit.MILLISECONDS.toNanos(c.getLatencyTargetMillis()), c.getBackoff(), System.nanoTime());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("drone.admission.limit", limit, AdaptiveLimit::limit)
+                .description("Concurrent write requests currently admitted")
+                .register(registry);
+        Gauge.builder("drone.admission.in.flight", limit, AdaptiveLimit::inFlight)
+                .description("Admitted write requests in progress")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)) return true;
+        AdmissionControlled marked = ((HandlerMethod) handler).getMethodAnnotation(AdmissionControlled.class);
+        if (marked == null) return true;
+        Endpoint endpoint = endpoints.computeIfAbsent(marked.value(), this::endpoint);
+        long now = System.nanoTime();
+        long wait = endpoint.client(clientOf(request), now);
+        if (wait > 0) return reject(response, endpoint, HttpStatus.TOO_MANY_REQUESTS, "client-rate", wait, "Too many requests from this client");
+        if (endpoint.bucket != null && (wait = endpoint.bucket.take(now)) > 0) {
+            return reject(response, endpoint, HttpStatus.SERVICE_UNAVAILABLE, "endpoint-rate", wait, "Endpoint is over its request rate");
+        }
+        if (!limit.tryAcquire()) {
+            return reject(response, endpoint, HttpStatus.SERVICE_UNAVAILABLE, "concurrency", 0, "Too many writes in progress");
+        }
+        request.setAttribute(STARTED_AT, now);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt == null) return;
+        // the attribute would otherwise still be there in the error dispatch of a failed write
+        request.removeAttribute(STARTED_AT);
+        limit.release((Long) startedAt, System.nanoTime());
+    }
+
+    private Endpoint endpoint(String name) {
+        AdmissionProperties.Bucket bucket = properties.getEndpoints().get(name);
+        long now = System.nanoTime();
+        return new Endpoint(name, bucket != null && bucket.getRate() > 0 ? new TokenBucket(bucket.getRate(), bucket.getBurst(), now) : null);
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(properties.getClientHeader());
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    private boolean reject(HttpServletResponse response, Endpoint endpoint, HttpStatus status, String reason, long waitNanos,
+                           String error) throws IOException {
+        Counter.builder("drone.admission.rejected")
+                .description("Write requests turned away by admission control")
+                .tag("endpoint", endpoint.name)
+                .tag("reason", reason)
+                .register(meterRegistry.getObject())
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", error));
+        return false;
+    }
+
+    private final class Endpoint {
+        private final String name;
+        private final TokenBucket bucket;
+        private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+        private volatile long sweptAt = System.nanoTime();
+
+        Endpoint(String name, TokenBucket bucket) {
+            this.name = name;
+            this.bucket = bucket;
+        }
+
+        /** Takes a token from the client's bucket; see {@link TokenBucket#take}. */
+        long client(String client, long now) {
+            if (properties.getClientRate() == 0) return 0;
+            TokenBucket b = clients.get(client);
+            if (b == null) {
+                if (clients.size() >= properties.getMaxClients()) {
+                    // a full bucket is an idle client; dropping it forgets nothing
+                    if (now - sweptAt > SWEEP_INTERVAL) {
+                        sweptAt = now;
+                        clients.values().removeIf(idle -> idle.isFull(now));
+                    }
+                    if (clients.size() >= properties.getMaxClients()) client = OVERFLOW;
+                }
+                b = clients.computeIfAbsent(client, k -> new TokenBucket(properties.getClientRate(), properties.getClientBurst(), now));
+            }
+            return b.take(now);
+        }
+    }
+}
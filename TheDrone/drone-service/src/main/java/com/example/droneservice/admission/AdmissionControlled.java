@@ -0,0 +1,16 @@
+package com.example.droneservice.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a write endpoint whose requests pass {@link AdmissionControl} before the handler runs.
+ * The value names the endpoint under {@code drone.admission.endpoints}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+    String value();
+}
@@ -0,0 +1,40 @@
+package com.example.droneservice.admission;
+
+/** Holds up to {@code burst} tokens, refilled continuously at {@code rate} per second. */
+final class TokenBucket {
+    private final double perNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double rate, int burst, long now) {
+        if (!(rate > 0)) throw new IllegalArgumentException("Token bucket rate must be positive");
+        this.perNano = rate / 1e9;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = now;
+    }
+
+    /** Takes a token and returns 0, or returns the nanos until one will be available. */
+    synchronized long take(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / perNano);
+    }
+
+    /** Full again, so dropping it loses nothing. */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= burst;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * perNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "drone.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private String clientHeader = "X-Client-Id";
+    private double clientRate = 100;
+    private int clientBurst = 200;
+    private int maxClients = 10000;
+    private final Map<String, Bucket> endpoints = new HashMap<>();
+    private final Concurrency concurrency = new Concurrency();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getClientHeader() { return clientHeader; }
+    public void setClientHeader(String clientHeader) { this.clientHeader = clientHeader; }
+    public double getClientRate() { return clientRate; }
+    public void setClientRate(double clientRate) { this.clientRate = clientRate; }
+    public int getClientBurst() { return clientBurst; }
+    public void setClientBurst(int clientBurst) { this.clientBurst = clientBurst; }
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+    public Map<String, Bucket> getEndpoints() { return endpoints; }
+    public Concurrency getConcurrency() { return concurrency; }
+
+    public static class Bucket {
+        private double rate;
+        private int burst;
+
+        public double getRate() { return rate; }
+        public void setRate(double rate) { this.rate = rate; }
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+
+    public static class Concurrency {
+        private int initialLimit = 4;
+        private int minLimit = 1;
+        // 0: what the connection pool leaves for requests, less one for reads (see ConnectionBudget)
+        private int maxLimit = 0;
+        private long latencyTargetMillis = 20;
+        private double backoff = 0.9;
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+        public long getLatencyTargetMillis() { return latencyTargetMillis; }
+        public void setLatencyTargetMillis(long latencyTargetMillis) { this.latencyTargetMillis = latencyTargetMillis; }
+        public double getBackoff() { return backoff; }
+        public void setBackoff(double backoff) { this.backoff = backoff; }
+    }
+}
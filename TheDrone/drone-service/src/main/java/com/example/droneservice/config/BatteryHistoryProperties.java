@@ -0,0 +1,14 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.battery-history")
+public class BatteryHistoryProperties {
+    private int samples = 240;
+    private int maxDrones = 200000;
+
+    public int getSamples() { return samples; }
+    public void setSamples(int samples) { this.samples = samples; }
+    public int getMaxDrones() { return maxDrones; }
+    public void setMaxDrones(int maxDrones) { this.maxDrones = maxDrones; }
+}
@@ -0,0 +1,20 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.concurrency")
+public class ConcurrencyProperties {
+    private int maxAttempts = 5;
+    private long backoffMillis = 2;
+    private boolean stripedLocks = true;
+    private int stripes = 64;
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    public long getBackoffMillis() { return backoffMillis; }
+    public void setBackoffMillis(long backoffMillis) { this.backoffMillis = backoffMillis; }
+    public boolean isStripedLocks() { return stripedLocks; }
+    public void setStripedLocks(boolean stripedLocks) { this.stripedLocks = stripedLocks; }
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+}
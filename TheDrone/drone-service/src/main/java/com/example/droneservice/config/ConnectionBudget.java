@@ -0,0 +1,47 @@
+package com.example.droneservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * How the JDBC connection pool is shared between the background writers that each hold a
+ * connection while they commit (simulator shards or ticks, order ingestion workers) and request
+ * handling. The simulator's shard count defaults to the number of cores capped at the pool size;
+ * an explicit count above the pool size fails startup, since shards would time out waiting for
+ * connections.
+ */
+@Component
+public class ConnectionBudget {
+    private final int poolSize;
+    private final int simulatorShards;
+    private final int background;
+
+    public ConnectionBudget(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                            SimulatorProperties simulator, IngestProperties ingest) {
+        if (poolSize < 1) throw new IllegalArgumentException("spring.datasource.hikari.maximum-pool-size must be positive");
+        int shards = simulator.getShards() > 0 ? simulator.getShards() : Math.min(Runtime.getRuntime().availableProcessors(), poolSize);
+        boolean sharded = simulator.getEngine() == SimulatorProperties.Engine.FIXED_DELAY
+                && simulator.getMode() == SimulatorProperties.Mode.SHARDED;
+        if (sharded && shards > poolSize) {
+            throw new IllegalArgumentException("drone.simulator.shards (" + shards + ") exceeds the connection pool size ("
+                    + poolSize + "); each shard holds a connection while its chunk commits");
+        }
+        this.poolSize = poolSize;
+        this.simulatorShards = shards;
+        this.background = (sharded ? shards : 1) + Math.max(1, ingest.getWorkers());
+    }
+
+    public int poolSize() {
+        return poolSize;
+    }
+
+    /** Parallel shards of a sharded simulator tick. */
+    public int simulatorShards() {
+        return simulatorShards;
+    }
+
+    /** Connections left for requests while the simulator and every ingestion worker hold one. */
+    public int forRequests() {
+        return poolSize - background;
+    }
+}
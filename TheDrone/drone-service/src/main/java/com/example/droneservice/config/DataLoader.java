@@ -1,48 +1,43 @@
 package com.example.droneservice.config;
 
-import com.example.droneservice.model.entity.Drone;
-import com.example.droneservice.model.entity.Medication;
 import com.example.droneservice.model.enums.DroneModel;
 import com.example.droneservice.model.enums.DroneState;
-import com.example.droneservice.repository.DroneRepository;
-import com.example.droneservice.repository.MedicationRepository;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class DataLoader {
     @Bean
-    CommandLineRunner init(DroneRepository droneRepository, MedicationRepository medicationRepository) {
+    CommandLineRunner init(FleetStore store, SeedProperties seedProperties, FleetGenerator fleetGenerator) {
         return args -> {
-            Drone d1 = new Drone("DR-001", DroneModel.LIGHT_WEIGHT, 200, 100, DroneState.IDLE);
-            Drone d2 = new Drone("DR-002", DroneModel.MIDDLE_WEIGHT, 300, 80, DroneState.IDLE);
-            Drone d3 = new Drone("DR-003", DroneModel.CRUISER_WEIGHT, 400, 60, DroneState.LOADED);
-            Drone d4 = new Drone("DR-004", DroneModel.HEAVY_WEIGHT, 500, 50, DroneState.DELIVERING);
-            Drone d5 = new Drone("DR-005", DroneModel.HEAVY_WEIGHT, 500, 15, DroneState.RETURNING);
-            Drone d6 = new Drone("DR-006", DroneModel.LIGHT_WEIGHT, 200, 99, DroneState.LOADING);
-            Drone d7 = new Drone("DR-007", DroneModel.MIDDLE_WEIGHT, 300, 30, DroneState.IDLE);
-            Drone d8 = new Drone("DR-008", DroneModel.CRUISER_WEIGHT, 400, 25, DroneState.IDLE);
-            Drone d9 = new Drone("DR-009", DroneModel.MIDDLE_WEIGHT, 300, 10, DroneState.IDLE);
-            Drone d10 = new Drone("DR-010", DroneModel.HEAVY_WEIGHT, 500, 100, DroneState.IDLE);
-
-            droneRepository.save(d1);
-            droneRepository.save(d2);
-            droneRepository.save(d3);
-            droneRepository.save(d4);
-            droneRepository.save(d5);
-            droneRepository.save(d6);
-            droneRepository.save(d7);
-            droneRepository.save(d8);
-            droneRepository.save(d9);
-            droneRepository.save(d10);
+            // a restored journal already brought the fleet back
+            if (store.droneCount() > 0) return;
+            if (seedProperties.getDrones() > 0) {
+                fleetGenerator.generate();
+                return;
+            }
+            List<DroneRecord> drones = store.createDrones(List.of(
+                    DroneRecord.draft("DR-001", DroneModel.LIGHT_WEIGHT, 200, 100, DroneState.IDLE).withPosition(52.5200, 13.4050),
+                    DroneRecord.draft("DR-002", DroneModel.MIDDLE_WEIGHT, 300, 80, DroneState.IDLE).withPosition(52.5310, 13.3840),
+                    // MedA and MedB below
+                    DroneRecord.draft("DR-003", DroneModel.CRUISER_WEIGHT, 400, 60, DroneState.LOADED).withLoad(50, 1).withPosition(52.5080, 13.4390),
+                    DroneRecord.draft("DR-004", DroneModel.HEAVY_WEIGHT, 500, 50, DroneState.DELIVERING).withLoad(100, 1).withPosition(52.4960, 13.3600),
+                    DroneRecord.draft("DR-005", DroneModel.HEAVY_WEIGHT, 500, 15, DroneState.RETURNING).withPosition(52.5450, 13.4120),
+                    DroneRecord.draft("DR-006", DroneModel.LIGHT_WEIGHT, 200, 99, DroneState.LOADING).withPosition(52.5130, 13.4720),
+                    DroneRecord.draft("DR-007", DroneModel.MIDDLE_WEIGHT, 300, 30, DroneState.IDLE).withPosition(52.5020, 13.3950),
+                    DroneRecord.draft("DR-008", DroneModel.CRUISER_WEIGHT, 400, 25, DroneState.IDLE).withPosition(52.5370, 13.3470),
+                    DroneRecord.draft("DR-009", DroneModel.MIDDLE_WEIGHT, 300, 10, DroneState.IDLE).withPosition(52.4880, 13.4250),
+                    DroneRecord.draft("DR-010", DroneModel.HEAVY_WEIGHT, 500, 100, DroneState.IDLE).withPosition(52.5610, 13.4560)));
 
-            Medication m1 = new Medication("MedA", 50, "MEDA_1", null);
-            m1.setDrone(d3);
-            medicationRepository.save(m1);
-            Medication m2 = new Medication("MedB", 100, "MEDB_2", null);
-            m2.setDrone(d4);
-            medicationRepository.save(m2);
+            store.createMedications(List.of(
+                    MedicationRecord.draft("MedA", 50, "MEDA_1", null, drones.get(2).getId()),
+                    MedicationRecord.draft("MedB", 100, "MEDB_2", null, drones.get(3).getId())));
         };
     }
 }
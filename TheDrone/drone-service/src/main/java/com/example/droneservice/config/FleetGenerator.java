@@ -0,0 +1,132 @@
+package com.example.droneservice.config;
+
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.service.DroneRules;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic fleet of {@code drone.seed.drones} drones straight into the store with
+ * {@link FleetStore#insertAll} in batches. Model, state and battery are drawn from the configured distributions
+ * with a fixed random seed, so the same settings always produce the same fleet. Drones that are
+ * loaded or out on a delivery also get one to three medications within their weight limit. Each
+ * drone is placed uniformly within {@code spread-km} of the configured center on either axis.
+ */
+@Component
+public class FleetGenerator {
+    private static final Logger log = LoggerFactory.getLogger(FleetGenerator.class);
+
+    private static final Set<DroneState> CARRYING = EnumSet.of(DroneState.LOADED, DroneState.DELIVERING, DroneState.DELIVERED);
+    // states a drone only reaches with enough battery to load or dispatch
+    private static final Set<DroneState> CHARGED = EnumSet.of(DroneState.LOADING, DroneState.LOADED, DroneState.DELIVERING);
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private final FleetStore store;
+    private final SeedProperties properties;
+
+    public FleetGenerator(FleetStore store, SeedProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /** Inserts the fleet with ids 1..n, after reserving the ids it will use. */
+    public void generate() {
+        int n = properties.getDrones();
+        if (properties.getBatteryMin() < 0 || properties.getBatteryMax() > 100 || properties.getBatteryMin() > properties.getBatteryMax()) {
+            throw new IllegalArgumentException("drone.seed.battery-min/max must satisfy 0 <= min <= max <= 100");
+        }
+        if (!(properties.getSpreadKm() > 0)) throw new IllegalArgumentException("drone.seed.spread-km must be positive");
+        long start = System.nanoTime();
+        Picker<DroneModel> models = new Picker<>(properties.getModelWeights());
+        Picker<DroneState> states = new Picker<>(properties.getStateWeights());
+        SplittableRandom random = new SplittableRandom(properties.getRandomSeed());
+        // a stream of its own, so positions leave the rest of a seeded fleet as it was
+        SplittableRandom positions = new SplittableRandom(~properties.getRandomSeed());
+        double latSpread = properties.getSpreadKm() / KM_PER_DEGREE;
+        double lonSpread = latSpread / Math.max(0.01, Math.cos(Math.toRadians(properties.getLatitude())));
+        int batchSize = Math.max(1, properties.getBatchSize());
+        // claim the id ranges first, so drones or medications created meanwhile cannot collide
+        store.reserveIds(n, 3L * n);
+        long now = System.currentTimeMillis();
+        List<DroneRecord> drones = new ArrayList<>(batchSize);
+        List<MedicationRecord> medications = new ArrayList<>(batchSize);
+        long medicationId = 0;
+        for (long id = 1; id <= n; id++) {
+            DroneModel model = models.pick(random);
+            DroneState state = states.pick(random);
+            // weight limits in steps of 50 up to the model's capacity
+            int weightLimit = 50 * (1 + random.nextInt(model.getCapacity() / 50));
+            int low = CHARGED.contains(state) ? Math.max(properties.getBatteryMin(), DroneRules.MIN_BATTERY) : properties.getBatteryMin();
+            int battery = low >= properties.getBatteryMax() ? properties.getBatteryMax() : random.nextInt(low, properties.getBatteryMax() + 1);
+            int load = 0;
+            int items = 0;
+            if (CARRYING.contains(state)) {
+                items = 1 + random.nextInt(3);
+                for (int i = 0; i < items; i++) {
+                    int weight = 1 + random.nextInt(Math.max(1, weightLimit / 3));
+                    medicationId++;
+                    medications.add(new MedicationRecord(medicationId, "Med-" + medicationId, weight, "MED_" + medicationId, null, id));
+                    load += weight;
+                }
+            }
+            double latitude = Math.max(-90, Math.min(90, properties.getLatitude() + positions.nextDouble(-latSpread, latSpread)));
+            double longitude = wrap(properties.getLongitude() + positions.nextDouble(-lonSpread, lonSpread));
+            drones.add(new DroneRecord(id, String.format("SIM-%07d", id), model, weightLimit, battery, state, load, items, now, now,
+                    latitude, longitude, 0));
+            if (drones.size() == batchSize) flush(drones, medications);
+        }
+        flush(drones, medications);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Seeded {} drones and {} medications (seed {}) in {} ms, {} drones/s", n, medicationId,
+                properties.getRandomSeed(), millis, n * 1000L / millis);
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    private void flush(List<DroneRecord> drones, List<MedicationRecord> medications) {
+        store.insertAll(drones, medications);
+        drones.clear();
+        medications.clear();
+    }
+
+    /** Draws values with probability proportional to their weight. */
+    private static final class Picker<T> {
+        private final List<T> values = new ArrayList<>();
+        private final List<Integer> cumulative = new ArrayList<>();
+        private final int total;
+
+        Picker(Map<T, Integer> weights) {
+            int sum = 0;
+            for (Map.Entry<T, Integer> e : weights.entrySet()) {
+                if (e.getValue() == null || e.getValue() <= 0) continue;
+                sum += e.getValue();
+                values.add(e.getKey());
+                cumulative.add(sum);
+            }
+            if (sum == 0) throw new IllegalArgumentException("drone.seed weights need at least one positive entry");
+            this.total = sum;
+        }
+
+        T pick(SplittableRandom random) {
+            int r = random.nextInt(total);
+            for (int i = 0; i < cumulative.size(); i++) {
+                if (r < cumulative.get(i)) return values.get(i);
+            }
+            return values.get(values.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.ingest")
+public class IngestProperties {
+    private int queueCapacity = 10000;
+    private int batchSize = 500;
+    private int workers = 2;
+    private int retainedOrders = 100000;
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getRetainedOrders() { return retainedOrders; }
+    public void setRetainedOrders(int retainedOrders) { this.retainedOrders = retainedOrders; }
+}
@@ -0,0 +1,26 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.journal")
+public class JournalProperties {
+    private boolean enabled = false;
+    private String dir = System.getProperty("java.io.tmpdir") + "/drone-journal";
+    private int segmentBytes = 64 * 1024 * 1024;
+    private boolean durableCommits = true;
+    private long snapshotIntervalMillis = 600000;
+    private int keepSnapshots = 2;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+    public int getSegmentBytes() { return segmentBytes; }
+    public void setSegmentBytes(int segmentBytes) { this.segmentBytes = segmentBytes; }
+    public boolean isDurableCommits() { return durableCommits; }
+    public void setDurableCommits(boolean durableCommits) { this.durableCommits = durableCommits; }
+    public long getSnapshotIntervalMillis() { return snapshotIntervalMillis; }
+    public void setSnapshotIntervalMillis(long snapshotIntervalMillis) { this.snapshotIntervalMillis = snapshotIntervalMillis; }
+    public int getKeepSnapshots() { return keepSnapshots; }
+    public void setKeepSnapshots(int keepSnapshots) { this.keepSnapshots = keepSnapshots; }
+}
@@ -0,0 +1,65 @@
+package com.example.droneservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Infrastructure of the {@code reactive} profile: Netty, and an R2DBC pool on the database JPA
+ * uses, configured by the usual {@code spring.r2dbc.*} properties. Boot's own R2DBC
+ * auto-configuration is excluded in application.yml, so servlet deployments open no second pool
+ * and JPA's transaction manager stays the only one {@code @Transactional} can find. The pool is
+ * not a bean either: a {@link ConnectionFactory} bean would make Boot back off its DataSource.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveConfig implements DisposableBean {
+    private final ConnectionPool pool;
+
+    public ReactiveConfig(R2dbcProperties properties) {
+        ConnectionFactory connections = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool settings = properties.getPool();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connections)
+                .initialSize(settings.getInitialSize())
+                .maxSize(settings.getMaxSize())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .build());
+    }
+
+    // Tomcat is on the classpath as well, and Boot would pick it before Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    // the transaction manager is deliberately not a bean of its own, see above
+    @Bean
+    public TransactionalOperator reactiveTransactions() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(pool));
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.droneservice.config;
+
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "drone.seed")
+public class SeedProperties {
+    private int drones = 0;
+    private long randomSeed = 42;
+    private int batchSize = 5000;
+    private Map<DroneModel, Integer> modelWeights = new EnumMap<>(Map.of(
+            DroneModel.LIGHT_WEIGHT, 40, DroneModel.MIDDLE_WEIGHT, 30,
+            DroneModel.CRUISER_WEIGHT, 20, DroneModel.HEAVY_WEIGHT, 10));
+    private Map<DroneState, Integer> stateWeights = new EnumMap<>(Map.of(
+            DroneState.IDLE, 55, DroneState.LOADING, 5, DroneState.LOADED, 10,
+            DroneState.DELIVERING, 15, DroneState.DELIVERED, 5, DroneState.RETURNING, 10));
+    private int batteryMin = 5;
+    private int batteryMax = 100;
+    private double latitude = 52.52;
+    private double longitude = 13.405;
+    private double spreadKm = 50;
+
+    public int getDrones() { return drones; }
+    public void setDrones(int drones) { this.drones = drones; }
+    public long getRandomSeed() { return randomSeed; }
+    public void setRandomSeed(long randomSeed) { this.randomSeed = randomSeed; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Map<DroneModel, Integer> getModelWeights() { return modelWeights; }
+    public void setModelWeights(Map<DroneModel, Integer> modelWeights) { this.modelWeights = modelWeights; }
+    public Map<DroneState, Integer> getStateWeights() { return stateWeights; }
+    public void setStateWeights(Map<DroneState, Integer> stateWeights) { this.stateWeights = stateWeights; }
+    public int getBatteryMin() { return batteryMin; }
+    public void setBatteryMin(int batteryMin) { this.batteryMin = batteryMin; }
+    public int getBatteryMax() { return batteryMax; }
+    public void setBatteryMax(int batteryMax) { this.batteryMax = batteryMax; }
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+    public double getSpreadKm() { return spreadKm; }
+    public void setSpreadKm(double spreadKm) { this.spreadKm = spreadKm; }
+}
@@ -0,0 +1,58 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.simulator")
+public class SimulatorProperties {
+    public enum Engine {
+        /** Tick the whole fleet every {@code interval} ms, as selected by {@link Mode}. */
+        FIXED_DELAY,
+        /** Schedule each moving drone's next transition {@code interval} ms out on a timing wheel. */
+        TIMING_WHEEL
+    }
+
+    public enum Mode {
+        /** Load every drone and save it back through the fleet store, in one transaction. */
+        ENTITY,
+        /** Bulk-update moving drones in keyset-paged chunks, one transaction per chunk. */
+        BATCHED,
+        /** BATCHED, with the id space split into {@code shards} ranges advanced in parallel. */
+        SHARDED
+    }
+
+    private Engine engine = Engine.FIXED_DELAY;
+    private long interval = 60000;
+    private Mode mode = Mode.ENTITY;
+    private int chunkSize = 1000;
+    // 0: the number of cores, capped at the connection pool size (see ConnectionBudget)
+    private int shards = 0;
+    private int shardRetries = 2;
+    private final Wheel wheel = new Wheel();
+
+    public Engine getEngine() { return engine; }
+    public void setEngine(Engine engine) { this.engine = engine; }
+    public long getInterval() { return interval; }
+    public void setInterval(long interval) { this.interval = interval; }
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public int getShards() { return shards; }
+    public void setShards(int shards) { this.shards = shards; }
+    public int getShardRetries() { return shardRetries; }
+    public void setShardRetries(int shardRetries) { this.shardRetries = shardRetries; }
+    public Wheel getWheel() { return wheel; }
+
+    public static class Wheel {
+        private long tickMillis = 100;
+        private int slots = 64;
+        private int levels = 4;
+
+        public long getTickMillis() { return tickMillis; }
+        public void setTickMillis(long tickMillis) { this.tickMillis = tickMillis; }
+        public int getSlots() { return slots; }
+        public void setSlots(int slots) { this.slots = slots; }
+        public int getLevels() { return levels; }
+        public void setLevels(int levels) { this.levels = levels; }
+    }
+}
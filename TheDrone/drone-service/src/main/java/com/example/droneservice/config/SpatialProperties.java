@@ -0,0 +1,11 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.spatial")
+public class SpatialProperties {
+    private double cellDegrees = 0.01;
+
+    public double getCellDegrees() { return cellDegrees; }
+    public void setCellDegrees(double cellDegrees) { this.cellDegrees = cellDegrees; }
+}
@@ -0,0 +1,26 @@
+package com.example.droneservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "drone.telemetry")
+public class TelemetryProperties {
+    private long flushMillis = 500;
+    private int maxPending = 10000;
+    private int maxSubscribers = 10000;
+    private int senderThreads = 4;
+    private long timeoutMillis = 1800000;
+    private long sendTimeoutMillis = 5000;
+
+    public long getFlushMillis() { return flushMillis; }
+    public void setFlushMillis(long flushMillis) { this.flushMillis = flushMillis; }
+    public int getMaxPending() { return maxPending; }
+    public void setMaxPending(int maxPending) { this.maxPending = maxPending; }
+    public int getMaxSubscribers() { return maxSubscribers; }
+    public void setMaxSubscribers(int maxSubscribers) { this.maxSubscribers = maxSubscribers; }
+    public int getSenderThreads() { return senderThreads; }
+    public void setSenderThreads(int senderThreads) { this.senderThreads = senderThreads; }
+    public long getTimeoutMillis() { return timeoutMillis; }
+    public void setTimeoutMillis(long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+    public long getSendTimeoutMillis() { return sendTimeoutMillis; }
+    public void setSendTimeoutMillis(long sendTimeoutMillis) { this.sendTimeoutMillis = sendTimeoutMillis; }
+}
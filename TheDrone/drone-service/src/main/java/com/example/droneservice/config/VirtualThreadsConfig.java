@@ -0,0 +1,40 @@
+package com.example.droneservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs request handling, {@code @Scheduled} work and Spring's async executor (which also writes
+ * streamed NDJSON responses) on virtual threads. Enabled by the {@code virtual} profile; the
+ * auto-configured executor and scheduler back off when these beans exist.
+ */
+@Configuration
+@ConditionalOnProperty(name = "drone.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(WorkerThreads workerThreads) {
+        return protocolHandler -> protocolHandler.setExecutor(workerThreads.perTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(WorkerThreads workerThreads) {
+        return new TaskExecutorAdapter(workerThreads.perTaskExecutor());
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(WorkerThreads workerThreads,
+                                                 @Value("${spring.task.scheduling.pool.size:1}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadFactory(workerThreads.factory("scheduling-"));
+        return scheduler;
+    }
+}
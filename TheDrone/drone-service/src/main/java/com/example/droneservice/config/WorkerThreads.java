@@ -0,0 +1,62 @@
+package com.example.droneservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread source for the service's own background workers. With {@code drone.threads.virtual}
+ * (the {@code virtual} profile) it hands out virtual threads; the source level stays at Java 17,
+ * so the Java 21 API is reached reflectively and startup fails on an older runtime.
+ */
+@Component
+public class WorkerThreads {
+    private final boolean virtual;
+
+    public WorkerThreads(@Value("${drone.threads.virtual:false}") boolean virtual) {
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("drone.threads.virtual needs Java 21 or newer, running on " + Runtime.version());
+        }
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Daemon platform threads, or virtual threads, named {@code prefix0}, {@code prefix1}, ... */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) return virtualFactory(prefix);
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + n.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** One new virtual thread per task; only valid when {@link #isVirtual()}. */
+    public ExecutorService perTaskExecutor() {
+        if (!virtual) throw new IllegalStateException("Virtual threads are not enabled");
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a virtual thread executor", e);
+        }
+    }
+
+    private static ThreadFactory virtualFactory(String prefix) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object ofVirtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            Object named = builder.getMethod("name", String.class, long.class).invoke(ofVirtual, prefix, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(named);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a virtual thread factory", e);
+        }
+    }
+}
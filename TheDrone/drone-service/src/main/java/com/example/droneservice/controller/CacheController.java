@@ -0,0 +1,33 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.service.DroneCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/cache")
+public class CacheController {
+    private final DroneCache droneCache;
+
+    public CacheController(DroneCache droneCache) {
+        this.droneCache = droneCache;
+    }
+
+    @GetMapping("/drones")
+    public ResponseEntity<Map<String, Object>> drones() {
+        long hits = droneCache.hits();
+        long misses = droneCache.misses();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", droneCache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", droneCache.evictions());
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return ResponseEntity.ok(stats);
+    }
+}
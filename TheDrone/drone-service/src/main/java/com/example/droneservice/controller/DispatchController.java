@@ -0,0 +1,26 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.admission.AdmissionControlled;
+import com.example.droneservice.dto.DispatchPlanDto;
+import com.example.droneservice.dto.DispatchPlanRequest;
+import com.example.droneservice.service.DispatchPlanner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/dispatch")
+public class DispatchController {
+    private final DispatchPlanner dispatchPlanner;
+
+    public DispatchController(DispatchPlanner dispatchPlanner) {
+        this.dispatchPlanner = dispatchPlanner;
+    }
+
+    @PostMapping("/plan")
+    @AdmissionControlled("plan")
+    public ResponseEntity<DispatchPlanDto> plan(@RequestBody DispatchPlanRequest req) {
+        return ResponseEntity.ok(dispatchPlanner.plan(req));
+    }
+}
@@ -1,51 +1,142 @@
 package com.example.droneservice.controller;
 
+import com.example.droneservice.admission.AdmissionControlled;
 import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.BatteryHistoryDto;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.DroneField;
+import com.example.droneservice.dto.DroneRegistrationResult;
 import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.NearbyDroneDto;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.ingest.OrderIngestionService;
 import com.example.droneservice.service.DroneService;
+import com.example.droneservice.telemetry.BatteryHistoryStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/drones")
 public class DroneController {
     private final DroneService droneService;
+    private final ObjectMapper objectMapper;
+    private final OrderIngestionService ingestionService;
+    private final BatteryHistoryStore batteryHistory;
 
-    public DroneController(DroneService droneService) {
+    public DroneController(DroneService droneService, ObjectMapper objectMapper, OrderIngestionService ingestionService,
+                           BatteryHistoryStore batteryHistory) {
         this.droneService = droneService;
+        this.objectMapper = objectMapper;
+        this.ingestionService = ingestionService;
+        this.batteryHistory = batteryHistory;
     }
 
     @PostMapping
+    @AdmissionControlled("register")
     public ResponseEntity<DroneDto> register(@Valid @RequestBody CreateDroneRequest req) {
         DroneDto dto = droneService.registerDrone(req);
         return ResponseEntity.status(201).body(dto);
     }
 
+    @PostMapping("/batch")
+    @AdmissionControlled("register-batch")
+    public ResponseEntity<List<DroneRegistrationResult>> registerBatch(@RequestBody List<CreateDroneRequest> reqs) {
+        return ResponseEntity.ok(droneService.registerDrones(reqs));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DroneDto> get(@PathVariable Long id) {
         return ResponseEntity.ok(droneService.getDrone(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<DroneDto>> list() {
-        return ResponseEntity.ok(droneService.listDrones());
+    public ResponseEntity<?> list(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                  @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            List<DroneField> picked = DroneField.parse(fields);
+            if (after == null && limit == null) return ResponseEntity.ok(droneService.listDrones(picked));
+            return ResponseEntity.ok(droneService.listDrones(after, limit != null ? limit : 100, picked));
+        }
+        if (after == null && limit == null) return ResponseEntity.ok(droneService.listDrones());
+        return ResponseEntity.ok(droneService.listDrones(after, limit != null ? limit : 100));
+    }
+
+    @GetMapping(produces = NdjsonStreams.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok().contentType(NdjsonStreams.NDJSON)
+                .body(NdjsonStreams.body(objectMapper, droneService::streamDrones));
+    }
+
+    @GetMapping(produces = FleetColumns.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listColumns(@RequestParam(required = false) Long after,
+                                                             @RequestParam(required = false) Integer limit) {
+        StreamingResponseBody body;
+        if (after == null && limit == null) {
+            body = FleetColumns.drones(droneService.listDrones(), null);
+        } else {
+            CursorPage<DroneDto> page = droneService.listDrones(after, limit != null ? limit : 100);
+            body = FleetColumns.drones(page.getItems(), page.getNextCursor());
+        }
+        return ResponseEntity.ok().contentType(FleetColumns.COLUMNS).body(body);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<DroneDto>> available() {
+    public ResponseEntity<?> available(@RequestParam(required = false) String fields) {
+        if (fields != null) return ResponseEntity.ok(droneService.availableDrones(DroneField.parse(fields)));
         return ResponseEntity.ok(droneService.availableDrones());
     }
 
+    @GetMapping(path = "/available", produces = FleetColumns.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> availableColumns() {
+        return ResponseEntity.ok().contentType(FleetColumns.COLUMNS)
+                .body(FleetColumns.drones(droneService.availableDrones(), null));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyDroneDto>> nearest(@RequestParam double lat, @RequestParam double lon,
+                                                        @RequestParam(defaultValue = "0") int minCapacity,
+                                                        @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(droneService.nearestDrones(lat, lon, minCapacity, k));
+    }
+
+    @PutMapping("/{id}/position")
+    @AdmissionControlled("position")
+    public ResponseEntity<DroneDto> position(@PathVariable Long id, @Valid @RequestBody PositionRequest req) {
+        return ResponseEntity.ok(droneService.updatePosition(id, req));
+    }
+
     @PostMapping("/{id}/load")
+    @AdmissionControlled("load")
     public ResponseEntity<Void> load(@PathVariable Long id, @RequestBody LoadRequest req) {
         droneService.loadDrone(id, req);
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{id}/load/async")
+    public ResponseEntity<Map<String, String>> loadAsync(@PathVariable Long id, @RequestBody LoadRequest req) {
+        return ingestionService.submit(id, req)
+                .map(trackingId -> ResponseEntity.accepted()
+                        .location(URI.create("/api/orders/" + trackingId))
+                        .body(Map.of("trackingId", trackingId)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("error", "Order queue is full")));
+    }
+
     @GetMapping("/{id}/medications")
     public ResponseEntity<?> meds(@PathVariable Long id) {
         return ResponseEntity.ok(droneService.getMedications(id));
@@ -56,7 +147,17 @@ public class DroneController {
         return ResponseEntity.ok(java.util.Map.of("batteryCapacity", droneService.getBattery(id)));
     }
 
+    @GetMapping("/{id}/battery/history")
+    public ResponseEntity<BatteryHistoryDto> batteryHistory(@PathVariable Long id,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                            @RequestParam(defaultValue = "60") int points) {
+        droneService.getDrone(id);
+        return ResponseEntity.ok(batteryHistory.history(id, from, to, Math.min(points, 1000)));
+    }
+
     @PostMapping("/{id}/dispatch")
+    @AdmissionControlled("dispatch")
     public ResponseEntity<Void> dispatch(@PathVariable Long id) {
         droneService.dispatch(id);
         return ResponseEntity.ok().build();
@@ -0,0 +1,142 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CursorPage;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.ingest.OrderIngestionService;
+import com.example.droneservice.service.ReactiveDroneService;
+import com.example.droneservice.telemetry.BatteryHistoryStore;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/** WebFlux counterpart of {@link DroneController}; routed by {@link ReactiveRoutes}. */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DroneHandler {
+    private final ReactiveDroneService droneService;
+    private final OrderIngestionService ingestionService;
+    private final BatteryHistoryStore batteryHistory;
+    private final Validator validator;
+
+    public DroneHandler(ReactiveDroneService droneService, OrderIngestionService ingestionService,
+                        BatteryHistoryStore batteryHistory, Validator validator) {
+        this.droneService = droneService;
+        this.ingestionService = ingestionService;
+        this.batteryHistory = batteryHistory;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return ReactiveRequests.validBody(request, CreateDroneRequest.class, validator)
+                .flatMap(droneService::registerDrone)
+                .flatMap(dto -> ServerResponse.status(HttpStatus.CREATED).bodyValue(dto));
+    }
+
+    public Mono<ServerResponse> registerBatch(ServerRequest request) {
+        return ReactiveRequests.body(request.bodyToMono(new ParameterizedTypeReference<List<CreateDroneRequest>>() {}))
+                .flatMap(droneService::registerDrones)
+                .flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        return droneService.getDrone(ReactiveRequests.id(request)).flatMap(dto -> ServerResponse.ok().bodyValue(dto));
+    }
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+        Long after = ReactiveRequests.longParam(request, "after");
+        Integer limit = ReactiveRequests.intParam(request, "limit");
+        if (after == null && limit == null) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(droneService.listDrones(), DroneDto.class);
+        }
+        return ServerResponse.ok().body(droneService.listDrones(after, limit != null ? limit : 100),
+                new ParameterizedTypeReference<CursorPage<DroneDto>>() {});
+    }
+
+    /** One drone per line, written as the client reads them. */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(droneService.listDrones(), DroneDto.class);
+    }
+
+    public Mono<ServerResponse> available(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(droneService.availableDrones(), DroneDto.class);
+    }
+
+    public Mono<ServerResponse> nearest(ServerRequest request) {
+        double lat = ReactiveRequests.doubleParam(request, "lat");
+        double lon = ReactiveRequests.doubleParam(request, "lon");
+        Integer minCapacity = ReactiveRequests.intParam(request, "minCapacity");
+        Integer k = ReactiveRequests.intParam(request, "k");
+        return droneService.nearestDrones(lat, lon, minCapacity != null ? minCapacity : 0, k != null ? k : 5)
+                .flatMap(nearby -> ServerResponse.ok().bodyValue(nearby));
+    }
+
+    public Mono<ServerResponse> position(ServerRequest request) {
+        long id = ReactiveRequests.id(request);
+        return ReactiveRequests.validBody(request, PositionRequest.class, validator)
+                .flatMap(body -> droneService.updatePosition(id, body))
+                .flatMap(dto -> ServerResponse.ok().bodyValue(dto));
+    }
+
+    public Mono<ServerResponse> load(ServerRequest request) {
+        long id = ReactiveRequests.id(request);
+        return ReactiveRequests.body(request.bodyToMono(LoadRequest.class))
+                .flatMap(body -> droneService.loadDrone(id, body))
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> loadAsync(ServerRequest request) {
+        long id = ReactiveRequests.id(request);
+        return ReactiveRequests.body(request.bodyToMono(LoadRequest.class))
+                .map(body -> ingestionService.submit(id, body))
+                .flatMap(trackingId -> trackingId
+                        .map(t -> ServerResponse.accepted().location(URI.create("/api/orders/" + t)).bodyValue(Map.of("trackingId", t)))
+                        .orElseGet(() -> ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .bodyValue(Map.of("error", "Order queue is full"))));
+    }
+
+    public Mono<ServerResponse> order(ServerRequest request) {
+        return ingestionService.status(request.pathVariable("trackingId"))
+                .map(status -> ServerResponse.ok().bodyValue(status))
+                .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> medications(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(droneService.getMedications(ReactiveRequests.id(request)), MedicationDto.class);
+    }
+
+    public Mono<ServerResponse> battery(ServerRequest request) {
+        return droneService.getBattery(ReactiveRequests.id(request))
+                .flatMap(battery -> ServerResponse.ok().bodyValue(Map.of("batteryCapacity", battery)));
+    }
+
+    public Mono<ServerResponse> batteryHistory(ServerRequest request) {
+        long id = ReactiveRequests.id(request);
+        Instant from = request.queryParam("from").map(value -> ReactiveRequests.parse(value, "from", Instant::parse)).orElse(null);
+        Instant to = request.queryParam("to").map(value -> ReactiveRequests.parse(value, "to", Instant::parse)).orElse(null);
+        int points = request.queryParam("points").map(value -> ReactiveRequests.parse(value, "points", Integer::valueOf)).orElse(60);
+        return droneService.getDrone(id)
+                .flatMap(drone -> ServerResponse.ok().bodyValue(batteryHistory.history(id, from, to, Math.min(points, 1000))));
+    }
+
+    public Mono<ServerResponse> dispatch(ServerRequest request) {
+        return droneService.dispatch(ReactiveRequests.id(request)).then(ServerResponse.ok().build());
+    }
+}
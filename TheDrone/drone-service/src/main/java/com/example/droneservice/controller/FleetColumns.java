@@ -0,0 +1,186 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Column-oriented binary encoding of drone and medication lists, for clients that sync the whole
+ * fleet. A payload starts with a kind byte ({@code 'D'} or {@code 'M'}), a version byte, the row
+ * count and {@code nextCursor + 1} (0 when there is no next page), all varints. Each field then
+ * follows as one column over all rows:
+ * <ul>
+ *   <li>ids: zig-zag varint deltas from the previous row, starting at 0;</li>
+ *   <li>strings: varint byte length, then UTF-8; a nullable string stores length + 1, 0 for null;</li>
+ *   <li>enums: one ordinal byte per row, after a dictionary of the names in ordinal order
+ *       (varint count, then strings), so clients never depend on server-side ordering;</li>
+ *   <li>other integers: unsigned varints; a nullable drone id stores its zig-zag delta from the
+ *       previous non-null one plus 1, 0 for null;</li>
+ *   <li>nullable doubles: a presence bitmap of {@code (rows + 7) / 8} bytes, row {@code i} in bit
+ *       {@code i % 8} of byte {@code i / 8}, then 8 big-endian IEEE 754 bytes per present row.</li>
+ * </ul>
+ * Drone columns: id, serialNumber, model (dictionary), weightLimit, batteryCapacity (byte),
+ * state (dictionary), then a position as one bitmap over latitude and longitude followed by
+ * the latitudes and the longitudes (version 2). Medication columns: id, name, weight, code,
+ * imageRef, droneId.
+ */
+final class FleetColumns {
+    static final String MEDIA_TYPE = "application/vnd.drone.columns";
+    static final MediaType COLUMNS = MediaType.parseMediaType(MEDIA_TYPE);
+    // 2 added drone positions
+    private static final int VERSION = 2;
+    private static final DroneModel[] MODELS = DroneModel.values();
+    private static final DroneState[] STATES = DroneState.values();
+
+    private FleetColumns() {}
+
+    static StreamingResponseBody drones(List<DroneDto> drones, Long nextCursor) {
+        return out -> writeDrones(drones, nextCursor, out);
+    }
+
+    static StreamingResponseBody medications(List<MedicationDto> medications, Long nextCursor) {
+        return out -> writeMedications(medications, nextCursor, out);
+    }
+
+    static void writeDrones(List<DroneDto> drones, Long nextCursor, OutputStream target) throws IOException {
+        Writer out = new Writer(target);
+        header(out, 'D', drones.size(), nextCursor);
+        out.varint(MODELS.length);
+        for (DroneModel m : MODELS) out.string(m.name());
+        out.varint(STATES.length);
+        for (DroneState s : STATES) out.string(s.name());
+        long previous = 0;
+        for (DroneDto d : drones) {
+            out.zigzag(d.getId() - previous);
+            previous = d.getId();
+        }
+        for (DroneDto d : drones) out.string(d.getSerialNumber());
+        for (DroneDto d : drones) out.write(d.getModel().ordinal());
+        for (DroneDto d : drones) out.varint(d.getWeightLimit());
+        for (DroneDto d : drones) out.write(d.getBatteryCapacity());
+        for (DroneDto d : drones) out.write(d.getState().ordinal());
+        for (int from = 0; from < drones.size(); from += 8) {
+            int bits = 0;
+            for (int i = from; i < Math.min(drones.size(), from + 8); i++) {
+                if (drones.get(i).getLatitude() != null) bits |= 1 << (i - from);
+            }
+            out.write(bits);
+        }
+        for (DroneDto d : drones) if (d.getLatitude() != null) out.float64(d.getLatitude());
+        for (DroneDto d : drones) if (d.getLatitude() != null) out.float64(d.getLongitude());
+        out.flush();
+    }
+
+    static void writeMedications(List<MedicationDto> medications, Long nextCursor, OutputStream target) throws IOException {
+        Writer out = new Writer(target);
+        header(out, 'M', medications.size(), nextCursor);
+        long previous = 0;
+        for (MedicationDto m : medications) {
+            out.zigzag(m.getId() - previous);
+            previous = m.getId();
+        }
+        for (MedicationDto m : medications) out.string(m.getName());
+        for (MedicationDto m : medications) out.varint(m.getWeight());
+        for (MedicationDto m : medications) out.string(m.getCode());
+        for (MedicationDto m : medications) out.nullableString(m.getImageRef());
+        previous = 0;
+        for (MedicationDto m : medications) {
+            if (m.getDroneId() == null) {
+                out.write(0);
+                continue;
+            }
+            long delta = m.getDroneId() - previous;
+            out.varint(((delta << 1) ^ (delta >> 63)) + 1);
+            previous = m.getDroneId();
+        }
+        out.flush();
+    }
+
+    private static void header(Writer out, char kind, int rows, Long nextCursor) throws IOException {
+        out.write(kind);
+        out.write(VERSION);
+        out.varint(rows);
+        out.varint(nextCursor == null ? 0 : nextCursor + 1);
+    }
+
+    /** Buffers writes in a plain array; the stream only sees 64 KB chunks. */
+    private static final class Writer {
+        private final OutputStream target;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+
+        Writer(OutputStream target) {
+            this.target = target;
+        }
+
+        void write(int b) throws IOException {
+            if (position == buffer.length) drain();
+            buffer[position++] = (byte) b;
+        }
+
+        void varint(long value) throws IOException {
+            if (buffer.length - position < 10) drain();
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void zigzag(long value) throws IOException {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void float64(double value) throws IOException {
+            if (buffer.length - position < 8) drain();
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) buffer[position++] = (byte) (bits >>> shift);
+        }
+
+        void string(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            bytes(bytes);
+        }
+
+        void nullableString(String s) throws IOException {
+            if (s == null) {
+                write(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            bytes(bytes);
+        }
+
+        private void bytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position) {
+                drain();
+                if (bytes.length > buffer.length) {
+                    target.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void flush() throws IOException {
+            drain();
+            target.flush();
+        }
+
+        private void drain() throws IOException {
+            target.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/images")
+public class ImageController {
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    private final BlobStore blobStore;
+
+    public ImageController(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, String>> upload(HttpServletRequest request) throws IOException {
+        return store(blobStore, request)
+                .map(ref -> ResponseEntity.created(URI.create("/api/images/" + ref)).body(Map.of("imageRef", ref)))
+                .orElseGet(() -> tooLarge(blobStore));
+    }
+
+    /**
+     * Stores the request body, or returns empty when it is larger than {@code drone.blob.max-bytes}:
+     * at once when its Content-Length says so, otherwise as soon as the stream passes the limit.
+     */
+    static Optional<String> store(BlobStore blobStore, HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > blobStore.maxBytes()) return Optional.empty();
+        return blobStore.put(request.getInputStream());
+    }
+
+    static ResponseEntity<Map<String, String>> tooLarge(BlobStore blobStore) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", "Image is larger than " + blobStore.maxBytes() + " bytes"));
+    }
+
+    /**
+     * Serves a blob straight from its file with {@link FileChannel#transferTo}. Blobs are
+     * content-addressed, so the reference doubles as a strong ETag and responses never go stale.
+     */
+    @GetMapping("/{ref}")
+    public void get(@PathVariable String ref, @RequestHeader HttpHeaders headers, HttpServletResponse response) throws IOException {
+        Path path = blobStore.find(ref).orElse(null);
+        if (path == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        String etag = "\"" + ref + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*")) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = file.size();
+            long start = 0;
+            long end = length - 1;
+            HttpRange range = singleRange(headers, etag);
+            if (range != null && length > 0) {
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                    if (start >= length || start > end) throw new IllegalArgumentException("Range not satisfiable");
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            response.setContentType(contentType(file));
+            response.setContentLengthLong(end - start + 1);
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /** The requested range, or null to send the whole blob (no/unparseable/multiple ranges, or a stale If-Range). */
+    private static HttpRange singleRange(HttpHeaders headers, String etag) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) return null;
+        try {
+            List<HttpRange> ranges = headers.getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String contentType(FileChannel file) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(16);
+        file.read(head, 0);
+        String type = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(head.array(), 0, head.position()));
+        return type != null ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
@@ -1,21 +1,36 @@
 package com.example.droneservice.controller;
 
 import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.dto.MedicationField;
 import com.example.droneservice.service.MedicationService;
+import com.example.droneservice.storage.BlobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/medications")
 public class MedicationController {
     private final MedicationService medicationService;
+    private final ObjectMapper objectMapper;
+    private final BlobStore blobStore;
 
-    public MedicationController(MedicationService medicationService) {
+    public MedicationController(MedicationService medicationService, ObjectMapper objectMapper, BlobStore blobStore) {
         this.medicationService = medicationService;
+        this.objectMapper = objectMapper;
+        this.blobStore = blobStore;
     }
 
     @PostMapping
@@ -28,9 +43,44 @@ public class MedicationController {
         return ResponseEntity.ok(medicationService.getMedication(id));
     }
 
+    @PutMapping("/{id}/image")
+    public ResponseEntity<?> putImage(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        // checked before the upload so an unknown medication leaves no orphan blob behind
+        medicationService.getMedication(id);
+        Optional<String> ref = ImageController.store(blobStore, request);
+        if (ref.isEmpty()) return ImageController.tooLarge(blobStore);
+        return ResponseEntity.ok(medicationService.attachImage(id, ref.get()));
+    }
+
     @GetMapping
-    public ResponseEntity<List<MedicationDto>> list() {
-        return ResponseEntity.ok(medicationService.listAll());
+    public ResponseEntity<?> list(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit,
+                                  @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            List<MedicationField> picked = MedicationField.parse(fields);
+            if (after == null && limit == null) return ResponseEntity.ok(medicationService.listAll(picked));
+            return ResponseEntity.ok(medicationService.list(after, limit != null ? limit : 100, picked));
+        }
+        if (after == null && limit == null) return ResponseEntity.ok(medicationService.listAll());
+        return ResponseEntity.ok(medicationService.list(after, limit != null ? limit : 100));
+    }
+
+    @GetMapping(produces = FleetColumns.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> listColumns(@RequestParam(required = false) Long after,
+                                                             @RequestParam(required = false) Integer limit) {
+        StreamingResponseBody body;
+        if (after == null && limit == null) {
+            body = FleetColumns.medications(medicationService.listAll(), null);
+        } else {
+            CursorPage<MedicationDto> page = medicationService.list(after, limit != null ? limit : 100);
+            body = FleetColumns.medications(page.getItems(), page.getNextCursor());
+        }
+        return ResponseEntity.ok().contentType(FleetColumns.COLUMNS).body(body);
+    }
+
+    @GetMapping(produces = NdjsonStreams.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok().contentType(NdjsonStreams.NDJSON)
+                .body(NdjsonStreams.body(objectMapper, medicationService::streamAll));
     }
 }
 
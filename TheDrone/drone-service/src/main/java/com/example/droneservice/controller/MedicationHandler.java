@@ -0,0 +1,52 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.CursorPage;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.service.ReactiveMedicationService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/** WebFlux counterpart of {@link MedicationController}; routed by {@link ReactiveRoutes}. */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MedicationHandler {
+    private final ReactiveMedicationService medicationService;
+    private final Validator validator;
+
+    public MedicationHandler(ReactiveMedicationService medicationService, Validator validator) {
+        this.medicationService = medicationService;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return ReactiveRequests.validBody(request, CreateMedicationRequest.class, validator)
+                .flatMap(medicationService::createMedication)
+                .flatMap(dto -> ServerResponse.status(HttpStatus.CREATED).bodyValue(dto));
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        return medicationService.getMedication(ReactiveRequests.id(request)).flatMap(dto -> ServerResponse.ok().bodyValue(dto));
+    }
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+        Long after = ReactiveRequests.longParam(request, "after");
+        Integer limit = ReactiveRequests.intParam(request, "limit");
+        if (after == null && limit == null) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(medicationService.listAll(), MedicationDto.class);
+        }
+        return ServerResponse.ok().body(medicationService.list(after, limit != null ? limit : 100),
+                new ParameterizedTypeReference<CursorPage<MedicationDto>>() {});
+    }
+
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(medicationService.listAll(), MedicationDto.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.droneservice.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/** Writes newline-delimited JSON straight to the response as rows are produced. */
+final class NdjsonStreams {
+    static final String MEDIA_TYPE = "application/x-ndjson";
+    static final MediaType NDJSON = MediaType.parseMediaType(MEDIA_TYPE);
+    private static final int FLUSH_EVERY = 256;
+
+    private NdjsonStreams() {}
+
+    static <T> StreamingResponseBody body(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.setRootValueSeparator(new SerializedString("\n"));
+                int[] written = {0};
+                source.accept(row -> {
+                    try {
+                        gen.writeObject(row);
+                        if (++written[0] % FLUSH_EVERY == 0) gen.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeRaw('\n');
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.OrderStatusDto;
+import com.example.droneservice.ingest.OrderIngestionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/orders")
+public class OrderController {
+    private final OrderIngestionService ingestionService;
+
+    public OrderController(OrderIngestionService ingestionService) {
+        this.ingestionService = ingestionService;
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<OrderStatusDto> status(@PathVariable String trackingId) {
+        return ingestionService.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
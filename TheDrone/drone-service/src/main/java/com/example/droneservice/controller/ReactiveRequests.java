@@ -0,0 +1,55 @@
+package com.example.droneservice.controller;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/** Request parsing for the WebFlux handlers, failing with 400 where the MVC controllers' binding would. */
+final class ReactiveRequests {
+    private ReactiveRequests() {}
+
+    /** A required request body, like {@code @RequestBody}. */
+    static <T> Mono<T> body(Mono<T> body) {
+        return body.switchIfEmpty(Mono.error(() -> new ServerWebInputException("Missing request body")));
+    }
+
+    /** The request body, checked like {@code @Valid @RequestBody}. */
+    static <T> Mono<T> validBody(ServerRequest request, Class<T> type, Validator validator) {
+        return body(request.bodyToMono(type))
+                .doOnNext(body -> {
+                    for (ConstraintViolation<T> v : validator.validate(body)) {
+                        throw new ServerWebInputException(v.getPropertyPath() + " " + v.getMessage());
+                    }
+                });
+    }
+
+    static long id(ServerRequest request) {
+        return parse(request.pathVariable("id"), "id", Long::valueOf);
+    }
+
+    static Long longParam(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> parse(value, name, Long::valueOf)).orElse(null);
+    }
+
+    static Integer intParam(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> parse(value, name, Integer::valueOf)).orElse(null);
+    }
+
+    /** A query parameter that must be present, like a required {@code @RequestParam}. */
+    static double doubleParam(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> parse(value, name, Double::valueOf))
+                .orElseThrow(() -> new ServerWebInputException("Missing " + name));
+    }
+
+    static <T> T parse(String value, String name, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new ServerWebInputException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.droneservice.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * The {@code /api/drones} and {@code /api/medications} contract of the MVC controllers, served by
+ * WebFlux handlers in the {@code reactive} profile. Listings are JSON or NDJSON; the sparse
+ * {@code fields} parameter, CBOR and the columnar encoding stay MVC-only, as do the dispatch,
+ * image, telemetry and cache endpoints.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRoutes {
+    // RequestPredicates.accept would also match */*, which must keep getting the JSON array
+    private static final RequestPredicate ACCEPTS_NDJSON = request -> request.headers().accept().stream()
+            .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+
+    @Bean
+    public RouterFunction<ServerResponse> droneRoutes(DroneHandler drones, MedicationHandler medications) {
+        return route()
+                .path("/api/drones", api -> api
+                        .POST("/batch", drones::registerBatch)
+                        .GET("/available", drones::available)
+                        .GET("/nearest", drones::nearest)
+                        .GET("/{id}/medications", drones::medications)
+                        .GET("/{id}/battery/history", drones::batteryHistory)
+                        .GET("/{id}/battery", drones::battery)
+                        .POST("/{id}/load/async", drones::loadAsync)
+                        .POST("/{id}/load", drones::load)
+                        .POST("/{id}/dispatch", drones::dispatch)
+                        .PUT("/{id}/position", drones::position)
+                        .GET("/{id}", drones::get)
+                        .GET(ACCEPTS_NDJSON, drones::stream)
+                        .GET(drones::list)
+                        .POST(drones::register))
+                .path("/api/medications", api -> api
+                        .GET("/{id}", medications::get)
+                        .GET(ACCEPTS_NDJSON, medications::stream)
+                        .GET(medications::list)
+                        .POST(medications::create))
+                .GET("/api/orders/{trackingId}", drones::order)
+                .build();
+    }
+}
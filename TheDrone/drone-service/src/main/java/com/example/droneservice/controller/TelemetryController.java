@@ -0,0 +1,41 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.telemetry.TelemetryHub;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/telemetry")
+public class TelemetryController {
+    private final TelemetryHub telemetryHub;
+
+    public TelemetryController(TelemetryHub telemetryHub) {
+        this.telemetryHub = telemetryHub;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void stream(@RequestParam(required = false) List<Long> ids,
+                       @RequestParam(required = false) List<DroneState> states,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Set<Long> idFilter = ids == null || ids.isEmpty() ? null : new HashSet<>(ids);
+        Set<DroneState> stateFilter = states == null || states.isEmpty() ? null : EnumSet.copyOf(states);
+        // the hub writes the stream itself, without blocking
+        if (!telemetryHub.subscribe(request, response, idFilter, stateFilter)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+        }
+    }
+}
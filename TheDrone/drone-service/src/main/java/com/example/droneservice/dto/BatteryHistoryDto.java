@@ -0,0 +1,65 @@
+package com.example.droneservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class BatteryHistoryDto {
+    private Long droneId;
+    private Instant from;
+    private Instant to;
+    private long bucketMillis;
+    private List<Point> points;
+
+    public BatteryHistoryDto() {}
+
+    public BatteryHistoryDto(Long droneId, Instant from, Instant to, long bucketMillis, List<Point> points) {
+        this.droneId = droneId;
+        this.from = from;
+        this.to = to;
+        this.bucketMillis = bucketMillis;
+        this.points = points;
+    }
+
+    public Long getDroneId() { return droneId; }
+    public Instant getFrom() { return from; }
+    public Instant getTo() { return to; }
+    public long getBucketMillis() { return bucketMillis; }
+    public List<Point> getPoints() { return points; }
+
+    public void setDroneId(Long droneId) { this.droneId = droneId; }
+    public void setFrom(Instant from) { this.from = from; }
+    public void setTo(Instant to) { this.to = to; }
+    public void setBucketMillis(long bucketMillis) { this.bucketMillis = bucketMillis; }
+    public void setPoints(List<Point> points) { this.points = points; }
+
+    /** One bucket; {@code samples} is 0 when the value was carried over from an earlier bucket. */
+    public static class Point {
+        private Instant start;
+        private int min;
+        private int max;
+        private double avg;
+        private int samples;
+
+        public Point() {}
+
+        public Point(Instant start, int min, int max, double avg, int samples) {
+            this.start = start;
+            this.min = min;
+            this.max = max;
+            this.avg = avg;
+            this.samples = samples;
+        }
+
+        public Instant getStart() { return start; }
+        public int getMin() { return min; }
+        public int getMax() { return max; }
+        public double getAvg() { return avg; }
+        public int getSamples() { return samples; }
+
+        public void setStart(Instant start) { this.start = start; }
+        public void setMin(int min) { this.min = min; }
+        public void setMax(int max) { this.max = max; }
+        public void setAvg(double avg) { this.avg = avg; }
+        public void setSamples(int samples) { this.samples = samples; }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.droneservice.dto;
 
 import com.example.droneservice.model.enums.DroneModel;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -17,6 +19,13 @@ public class CreateDroneRequest {
     @Max(1000)
     private Integer weightLimit;
     private Integer batteryCapacity;
+    // optional starting position; give both or neither
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
 
     public String getSerialNumber() { return serialNumber; }
     public void setSerialNumber(String serialNumber) { this.serialNumber = serialNumber; }
@@ -26,5 +35,9 @@ public class CreateDroneRequest {
     public void setWeightLimit(Integer weightLimit) { this.weightLimit = weightLimit; }
     public Integer getBatteryCapacity() { return batteryCapacity; }
     public void setBatteryCapacity(Integer batteryCapacity) { this.batteryCapacity = batteryCapacity; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
 }
 
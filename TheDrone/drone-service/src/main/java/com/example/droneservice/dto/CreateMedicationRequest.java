@@ -4,7 +4,9 @@ public class CreateMedicationRequest {
     private String name;
     private Integer weight;
     private String code;
+    // inline image (base64); imageRef instead points at a blob already uploaded to /api/images
     private String image;
+    private String imageRef;
 
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
@@ -14,5 +16,7 @@ public class CreateMedicationRequest {
     public void setCode(String code) { this.code = code; }
     public String getImage() { return image; }
     public void setImage(String image) { this.image = image; }
+    public String getImageRef() { return imageRef; }
+    public void setImageRef(String imageRef) { this.imageRef = imageRef; }
 }
 
@@ -0,0 +1,22 @@
+package com.example.droneservice.dto;
+
+import java.util.List;
+
+/** One keyset page of a listing; pass {@code nextCursor} back as {@code after} to get the next page. */
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public Long getNextCursor() { return nextCursor; }
+
+    public void setItems(List<T> items) { this.items = items; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
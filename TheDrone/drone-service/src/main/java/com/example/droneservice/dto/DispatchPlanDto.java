@@ -0,0 +1,59 @@
+package com.example.droneservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class DispatchPlanDto {
+    private List<Assignment> assignments;
+    // indexes into the request's items that did not fit on any available drone
+    private List<Integer> unassigned;
+    // why each unassigned item that failed validation was refused, by index
+    private Map<Integer, String> invalid;
+    private boolean applied;
+    private long planningMillis;
+
+    public DispatchPlanDto() {}
+
+    public DispatchPlanDto(List<Assignment> assignments, List<Integer> unassigned, Map<Integer, String> invalid,
+                           boolean applied, long planningMillis) {
+        this.assignments = assignments;
+        this.unassigned = unassigned;
+        this.invalid = invalid;
+        this.applied = applied;
+        this.planningMillis = planningMillis;
+    }
+
+    public List<Assignment> getAssignments() { return assignments; }
+    public List<Integer> getUnassigned() { return unassigned; }
+    public Map<Integer, String> getInvalid() { return invalid; }
+    public boolean isApplied() { return applied; }
+    public long getPlanningMillis() { return planningMillis; }
+
+    public void setAssignments(List<Assignment> assignments) { this.assignments = assignments; }
+    public void setUnassigned(List<Integer> unassigned) { this.unassigned = unassigned; }
+    public void setInvalid(Map<Integer, String> invalid) { this.invalid = invalid; }
+    public void setApplied(boolean applied) { this.applied = applied; }
+    public void setPlanningMillis(long planningMillis) { this.planningMillis = planningMillis; }
+
+    public static class Assignment {
+        private Long droneId;
+        private int totalWeight;
+        private List<Integer> items;
+
+        public Assignment() {}
+
+        public Assignment(Long droneId, int totalWeight, List<Integer> items) {
+            this.droneId = droneId;
+            this.totalWeight = totalWeight;
+            this.items = items;
+        }
+
+        public Long getDroneId() { return droneId; }
+        public int getTotalWeight() { return totalWeight; }
+        public List<Integer> getItems() { return items; }
+
+        public void setDroneId(Long droneId) { this.droneId = droneId; }
+        public void setTotalWeight(int totalWeight) { this.totalWeight = totalWeight; }
+        public void setItems(List<Integer> items) { this.items = items; }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.droneservice.dto;
+
+import java.util.List;
+
+public class DispatchPlanRequest {
+    private List<CreateMedicationRequest> items;
+    // load the drones as planned, all in one transaction
+    private boolean apply;
+
+    public List<CreateMedicationRequest> getItems() { return items; }
+    public void setItems(List<CreateMedicationRequest> items) { this.items = items; }
+    public boolean isApply() { return apply; }
+    public void setApply(boolean apply) { this.apply = apply; }
+}
@@ -10,16 +10,22 @@ public class DroneDto {
     private Integer weightLimit;
     private Integer batteryCapacity;
     private DroneState state;
+    // null until the drone reports a position
+    private Double latitude;
+    private Double longitude;
 
     public DroneDto() {}
 
-    public DroneDto(Long id, String serialNumber, DroneModel model, Integer weightLimit, Integer batteryCapacity, DroneState state) {
+    public DroneDto(Long id, String serialNumber, DroneModel model, Integer weightLimit, Integer batteryCapacity, DroneState state,
+                    Double latitude, Double longitude) {
         this.id = id;
         this.serialNumber = serialNumber;
         this.model = model;
         this.weightLimit = weightLimit;
         this.batteryCapacity = batteryCapacity;
         this.state = state;
+        this.latitude = latitude;
+        this.longitude = longitude;
     }
 
     public Long getId() { return id; }
@@ -28,6 +34,8 @@ public class DroneDto {
     public Integer getWeightLimit() { return weightLimit; }
     public Integer getBatteryCapacity() { return batteryCapacity; }
     public DroneState getState() { return state; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
 
     public void setId(Long id) { this.id = id; }
     public void setSerialNumber(String serialNumber) { this.serialNumber = serialNumber; }
@@ -35,5 +43,7 @@ public class DroneDto {
     public void setWeightLimit(Integer weightLimit) { this.weightLimit = weightLimit; }
     public void setBatteryCapacity(Integer batteryCapacity) { this.batteryCapacity = batteryCapacity; }
     public void setState(DroneState state) { this.state = state; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
 }
 
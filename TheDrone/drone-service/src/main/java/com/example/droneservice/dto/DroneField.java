@@ -0,0 +1,48 @@
+package com.example.droneservice.dto;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/** The {@link DroneDto} properties a client can pick with {@code ?fields=}. */
+public enum DroneField {
+    ID("id"),
+    SERIAL_NUMBER("serialNumber"),
+    MODEL("model"),
+    WEIGHT_LIMIT("weightLimit"),
+    BATTERY_CAPACITY("batteryCapacity"),
+    STATE("state"),
+    LATITUDE("latitude"),
+    LONGITUDE("longitude");
+
+    private final String property;
+
+    DroneField(String property) {
+        this.property = property;
+    }
+
+    /** The JSON property, which is also the entity attribute. */
+    public String property() {
+        return property;
+    }
+
+    /** Parses a comma-separated list of property names into fields in declaration order. */
+    public static List<DroneField> parse(String fields) {
+        Set<DroneField> picked = EnumSet.noneOf(DroneField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            picked.add(of(trimmed));
+        }
+        if (picked.isEmpty()) throw new IllegalArgumentException("fields must name at least one field");
+        return new ArrayList<>(picked);
+    }
+
+    private static DroneField of(String property) {
+        for (DroneField f : values()) {
+            if (f.property.equals(property)) return f;
+        }
+        throw new IllegalArgumentException("Unknown drone field: " + property);
+    }
+}
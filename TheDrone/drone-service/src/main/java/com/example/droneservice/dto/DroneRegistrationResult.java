@@ -0,0 +1,41 @@
+package com.example.droneservice.dto;
+
+public class DroneRegistrationResult {
+    public enum Status { CREATED, REJECTED }
+
+    private int index;
+    private String serialNumber;
+    private Status status;
+    private Long id;
+    private String error;
+
+    public DroneRegistrationResult() {}
+
+    public DroneRegistrationResult(int index, String serialNumber, Status status, Long id, String error) {
+        this.index = index;
+        this.serialNumber = serialNumber;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static DroneRegistrationResult created(int index, String serialNumber, Long id) {
+        return new DroneRegistrationResult(index, serialNumber, Status.CREATED, id, null);
+    }
+
+    public static DroneRegistrationResult rejected(int index, String serialNumber, String error) {
+        return new DroneRegistrationResult(index, serialNumber, Status.REJECTED, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public String getSerialNumber() { return serialNumber; }
+    public Status getStatus() { return status; }
+    public Long getId() { return id; }
+    public String getError() { return error; }
+
+    public void setIndex(int index) { this.index = index; }
+    public void setSerialNumber(String serialNumber) { this.serialNumber = serialNumber; }
+    public void setStatus(Status status) { this.status = status; }
+    public void setId(Long id) { this.id = id; }
+    public void setError(String error) { this.error = error; }
+}
@@ -5,17 +5,17 @@ public class MedicationDto {
     private String name;
     private Integer weight;
     private String code;
-    private String image;
+    private String imageRef;
     private Long droneId;
 
     public MedicationDto() {}
 
-    public MedicationDto(Long id, String name, Integer weight, String code, String image, Long droneId) {
+    public MedicationDto(Long id, String name, Integer weight, String code, String imageRef, Long droneId) {
         this.id = id;
         this.name = name;
         this.weight = weight;
         this.code = code;
-        this.image = image;
+        this.imageRef = imageRef;
         this.droneId = droneId;
     }
 
@@ -23,14 +23,14 @@ public class MedicationDto {
     public String getName() { return name; }
     public Integer getWeight() { return weight; }
     public String getCode() { return code; }
-    public String getImage() { return image; }
+    public String getImageRef() { return imageRef; }
     public Long getDroneId() { return droneId; }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setWeight(Integer weight) { this.weight = weight; }
     public void setCode(String code) { this.code = code; }
-    public void setImage(String image) { this.image = image; }
+    public void setImageRef(String imageRef) { this.imageRef = imageRef; }
     public void setDroneId(Long droneId) { this.droneId = droneId; }
 }
 
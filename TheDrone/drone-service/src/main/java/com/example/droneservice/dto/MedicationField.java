@@ -0,0 +1,53 @@
+package com.example.droneservice.dto;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/** The {@link MedicationDto} properties a client can pick with {@code ?fields=}. */
+public enum MedicationField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    WEIGHT("weight", "weight"),
+    CODE("code", "code"),
+    IMAGE_REF("imageRef", "imageRef"),
+    DRONE_ID("droneId", "drone.id");
+
+    private final String property;
+    private final String path;
+
+    MedicationField(String property, String path) {
+        this.property = property;
+        this.path = path;
+    }
+
+    /** The JSON property. */
+    public String property() {
+        return property;
+    }
+
+    /** The entity attribute path. */
+    public String path() {
+        return path;
+    }
+
+    /** Parses a comma-separated list of property names into fields in declaration order. */
+    public static List<MedicationField> parse(String fields) {
+        Set<MedicationField> picked = EnumSet.noneOf(MedicationField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            picked.add(of(trimmed));
+        }
+        if (picked.isEmpty()) throw new IllegalArgumentException("fields must name at least one field");
+        return new ArrayList<>(picked);
+    }
+
+    private static MedicationField of(String property) {
+        for (MedicationField f : values()) {
+            if (f.property.equals(property)) return f;
+        }
+        throw new IllegalArgumentException("Unknown medication field: " + property);
+    }
+}
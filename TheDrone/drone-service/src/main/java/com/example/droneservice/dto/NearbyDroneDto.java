@@ -0,0 +1,20 @@
+package com.example.droneservice.dto;
+
+public class NearbyDroneDto {
+    private DroneDto drone;
+    // great-circle distance from the queried point
+    private double distanceKm;
+
+    public NearbyDroneDto() {}
+
+    public NearbyDroneDto(DroneDto drone, double distanceKm) {
+        this.drone = drone;
+        this.distanceKm = distanceKm;
+    }
+
+    public DroneDto getDrone() { return drone; }
+    public double getDistanceKm() { return distanceKm; }
+
+    public void setDrone(DroneDto drone) { this.drone = drone; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
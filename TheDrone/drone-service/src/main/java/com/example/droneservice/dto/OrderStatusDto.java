@@ -0,0 +1,39 @@
+package com.example.droneservice.dto;
+
+import java.time.Instant;
+
+public class OrderStatusDto {
+    public enum Status { QUEUED, LOADED, REJECTED }
+
+    private String trackingId;
+    private Long droneId;
+    private Status status;
+    private String error;
+    private Instant submittedAt;
+    private Instant completedAt;
+
+    public OrderStatusDto() {}
+
+    public OrderStatusDto(String trackingId, Long droneId, Status status, String error, Instant submittedAt, Instant completedAt) {
+        this.trackingId = trackingId;
+        this.droneId = droneId;
+        this.status = status;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.completedAt = completedAt;
+    }
+
+    public String getTrackingId() { return trackingId; }
+    public Long getDroneId() { return droneId; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+
+    public void setTrackingId(String trackingId) { this.trackingId = trackingId; }
+    public void setDroneId(Long droneId) { this.droneId = droneId; }
+    public void setStatus(Status status) { this.status = status; }
+    public void setError(String error) { this.error = error; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
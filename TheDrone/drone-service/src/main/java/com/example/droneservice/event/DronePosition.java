@@ -0,0 +1,21 @@
+package com.example.droneservice.event;
+
+public class DronePosition {
+    private final long id;
+    private final double latitude;
+    private final double longitude;
+    // the drone's row version once the move commits; orders changes to one drone
+    private final long version;
+
+    public DronePosition(long id, double latitude, double longitude, long version) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.version = version;
+    }
+
+    public long getId() { return id; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public long getVersion() { return version; }
+}
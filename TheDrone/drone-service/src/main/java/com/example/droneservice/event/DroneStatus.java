@@ -0,0 +1,25 @@
+package com.example.droneservice.event;
+
+import com.example.droneservice.model.enums.DroneState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class DroneStatus {
+    private final long id;
+    private final DroneState state;
+    private final int batteryCapacity;
+    // the drone's row version once the change commits; orders changes to one drone
+    private final long version;
+
+    public DroneStatus(long id, DroneState state, int batteryCapacity, long version) {
+        this.id = id;
+        this.state = state;
+        this.batteryCapacity = batteryCapacity;
+        this.version = version;
+    }
+
+    public long getId() { return id; }
+    public DroneState getState() { return state; }
+    public int getBatteryCapacity() { return batteryCapacity; }
+    @JsonIgnore
+    public long getVersion() { return version; }
+}
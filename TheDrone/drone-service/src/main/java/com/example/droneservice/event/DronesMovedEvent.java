@@ -0,0 +1,23 @@
+package com.example.droneservice.event;
+
+import com.example.droneservice.store.DroneRecord;
+
+import java.util.List;
+
+/**
+ * Published when drones report a new position. Positions a drone is registered with travel in its
+ * {@link DronesRegisteredEvent} instead.
+ */
+public class DronesMovedEvent {
+    private final List<DronePosition> positions;
+
+    public DronesMovedEvent(List<DronePosition> positions) {
+        this.positions = List.copyOf(positions);
+    }
+
+    public static DronesMovedEvent of(DroneRecord drone) {
+        return new DronesMovedEvent(List.of(new DronePosition(drone.getId(), drone.getLatitude(), drone.getLongitude(), drone.getVersion())));
+    }
+
+    public List<DronePosition> getPositions() { return positions; }
+}
@@ -0,0 +1,16 @@
+package com.example.droneservice.event;
+
+import com.example.droneservice.dto.DroneDto;
+
+import java.util.List;
+
+/** Published with the full details of newly registered drones, alongside their {@link FleetChangeEvent}. */
+public class DronesRegisteredEvent {
+    private final List<DroneDto> drones;
+
+    public DronesRegisteredEvent(List<DroneDto> drones) {
+        this.drones = List.copyOf(drones);
+    }
+
+    public List<DroneDto> getDrones() { return drones; }
+}
@@ -0,0 +1,23 @@
+package com.example.droneservice.event;
+
+import com.example.droneservice.store.DroneRecord;
+
+import java.util.List;
+
+/**
+ * Published whenever drones change state or battery. Listeners that mirror fleet state
+ * should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class FleetChangeEvent {
+    private final List<DroneStatus> changes;
+
+    public FleetChangeEvent(List<DroneStatus> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public static FleetChangeEvent of(DroneRecord drone) {
+        return new FleetChangeEvent(List.of(new DroneStatus(drone.getId(), drone.getState(), drone.getBatteryCapacity(), drone.getVersion())));
+    }
+
+    public List<DroneStatus> getChanges() { return changes; }
+}
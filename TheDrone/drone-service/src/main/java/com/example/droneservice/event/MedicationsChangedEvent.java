@@ -0,0 +1,16 @@
+package com.example.droneservice.event;
+
+import com.example.droneservice.dto.MedicationDto;
+
+import java.util.List;
+
+/** Published with the full, current details of medications that were created, loaded onto a drone or changed. */
+public class MedicationsChangedEvent {
+    private final List<MedicationDto> medications;
+
+    public MedicationsChangedEvent(List<MedicationDto> medications) {
+        this.medications = List.copyOf(medications);
+    }
+
+    public List<MedicationDto> getMedications() { return medications; }
+}
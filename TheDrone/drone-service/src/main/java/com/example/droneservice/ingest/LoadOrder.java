@@ -0,0 +1,38 @@
+package com.example.droneservice.ingest;
+
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.OrderStatusDto;
+
+import java.time.Instant;
+
+/** A queued load request; its outcome fields are written once by the worker that processes it. */
+final class LoadOrder {
+    final String trackingId;
+    final long droneId;
+    final LoadRequest request;
+    final Instant submittedAt;
+    private volatile OrderStatusDto.Status status = OrderStatusDto.Status.QUEUED;
+    private volatile String error;
+    private volatile Instant completedAt;
+
+    LoadOrder(String trackingId, long droneId, LoadRequest request, Instant submittedAt) {
+        this.trackingId = trackingId;
+        this.droneId = droneId;
+        this.request = request;
+        this.submittedAt = submittedAt;
+    }
+
+    void complete(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = error == null ? OrderStatusDto.Status.LOADED : OrderStatusDto.Status.REJECTED;
+    }
+
+    boolean isDone() {
+        return status != OrderStatusDto.Status.QUEUED;
+    }
+
+    OrderStatusDto toDto() {
+        return new OrderStatusDto(trackingId, droneId, status, error, submittedAt, completedAt);
+    }
+}
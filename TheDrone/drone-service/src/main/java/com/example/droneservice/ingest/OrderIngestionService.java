@@ -0,0 +1,146 @@
+package com.example.droneservice.ingest;
+
+import com.example.droneservice.config.IngestProperties;
+import com.example.droneservice.config.WorkerThreads;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.OrderStatusDto;
+import com.example.droneservice.service.DroneService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts load orders into a bounded queue and applies them in the background. Each worker
+ * drains up to {@code drone.ingest.batch-size} orders at a time, groups them by drone and loads
+ * every group in one transaction, so a burst of orders for a drone costs one read and one flush
+ * instead of one request-long transaction each. A full queue is refused immediately rather
+ * than blocking the caller.
+ */
+@Service
+public class OrderIngestionService {
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestionService.class);
+
+    private final DroneService droneService;
+    private final IngestProperties properties;
+    private final WorkerThreads workerThreads;
+    private final BlockingQueue<LoadOrder> queue;
+    private final Map<String, LoadOrder> orders = new ConcurrentHashMap<>();
+    // completed orders, oldest first, trimmed to drone.ingest.retained-orders
+    private final ConcurrentLinkedQueue<String> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public OrderIngestionService(DroneService droneService, IngestProperties properties, WorkerThreads workerThreads) {
+        this.droneService = droneService;
+        this.properties = properties;
+        this.workerThreads = workerThreads;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    @PostConstruct
+    void start() {
+        ThreadFactory threads = workerThreads.factory("order-ingest-");
+        for (int i = 0; i < Math.max(1, properties.getWorkers()); i++) {
+            Thread t = threads.newThread(this::work);
+            workers.add(t);
+            t.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread t : workers) t.interrupt();
+        for (Thread t : workers) t.join(5000);
+        LoadOrder order;
+        while ((order = queue.poll()) != null) finish(order, "Service shutting down");
+    }
+
+    /** Queues an order; returns its tracking id, or empty when the queue is full. */
+    public Optional<String> submit(long droneId, LoadRequest request) {
+        if (request == null) throw new IllegalArgumentException("Load request is required");
+        LoadOrder order = new LoadOrder(UUID.randomUUID().toString(), droneId, request, Instant.now());
+        orders.put(order.trackingId, order);
+        if (!running || !queue.offer(order)) {
+            orders.remove(order.trackingId);
+            return Optional.empty();
+        }
+        return Optional.of(order.trackingId);
+    }
+
+    public Optional<OrderStatusDto> status(String trackingId) {
+        return Optional.ofNullable(orders.get(trackingId)).map(LoadOrder::toDto);
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    private void work() {
+        List<LoadOrder> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                LoadOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, Math.max(0, properties.getBatchSize() - 1));
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                // whatever is still unfinished here was cut off by shutdown
+                for (LoadOrder order : batch) if (!order.isDone()) finish(order, "Service shutting down");
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<LoadOrder> batch) {
+        Map<Long, List<LoadOrder>> byDrone = new LinkedHashMap<>();
+        for (LoadOrder order : batch) byDrone.computeIfAbsent(order.droneId, id -> new ArrayList<>()).add(order);
+        for (Map.Entry<Long, List<LoadOrder>> group : byDrone.entrySet()) {
+            List<LoadOrder> pending = group.getValue();
+            List<LoadRequest> requests = new ArrayList<>(pending.size());
+            for (LoadOrder order : pending) requests.add(order.request);
+            try {
+                List<String> errors = droneService.loadDroneBatch(group.getKey(), requests);
+                for (int i = 0; i < pending.size(); i++) finish(pending.get(i), errors.get(i));
+            } catch (RuntimeException e) {
+                log.debug("Load batch for drone {} failed", group.getKey(), e);
+                String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                for (LoadOrder order : pending) finish(order, error);
+            }
+        }
+    }
+
+    private void finish(LoadOrder order, String error) {
+        order.complete(error);
+        completed.add(order.trackingId);
+        if (completedCount.incrementAndGet() > properties.getRetainedOrders()) {
+            String oldest = completed.poll();
+            if (oldest != null) {
+                orders.remove(oldest);
+                completedCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.droneservice.journal;
+
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full copies of the fleet store's drones and medications in files named {@code snapshot-<seq>.bin},
+ * where {@code seq} is the last journal record the copy is known to include. A snapshot is
+ * written to a temporary file and renamed into place, and carries a trailing CRC32C that is
+ * checked before anything is restored from it.
+ */
+final class FleetSnapshots {
+    private static final Logger log = LoggerFactory.getLogger(FleetSnapshots.class);
+
+    private static final int MAGIC = 0x44524E53;
+    // 2 added drone positions, 3 row versions; older snapshots are still read
+    private static final int VERSION = 3;
+    private static final DroneModel[] MODELS = DroneModel.values();
+    private static final DroneState[] STATES = DroneState.values();
+
+    private final Path dir;
+    private final FleetStore store;
+
+    FleetSnapshots(Path dir, FleetStore store) {
+        this.dir = dir;
+        this.store = store;
+    }
+
+    /** Sequence numbers of the snapshots on disk, newest first. */
+    List<Long> list() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("snapshot-") && n.endsWith(".bin"))
+                    .forEach(n -> seqs.add(Long.parseLong(n.substring(9, n.length() - 4))));
+        }
+        seqs.sort((a, b) -> Long.compare(b, a));
+        return seqs;
+    }
+
+    /** Copies every drone and medication into a new snapshot tagged with {@code seq}; returns the rows written. */
+    long write(long seq) throws IOException {
+        Path tmp = dir.resolve("snapshot-" + seq + ".tmp");
+        long[] rows = new long[1];
+        try (CheckedOutputStream checked = new CheckedOutputStream(Files.newOutputStream(tmp), new CRC32C());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seq);
+            store.forEachDrone(d -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(d.getId());
+                    out.writeUTF(d.getSerialNumber());
+                    out.writeByte(d.getModel().ordinal());
+                    out.writeInt(d.getWeightLimit());
+                    out.writeByte(d.getBatteryCapacity());
+                    out.writeByte(d.getState().ordinal());
+                    out.writeInt(d.getCurrentLoadWeight());
+                    out.writeInt(d.getLoadedItemCount());
+                    out.writeLong(d.getCreatedAt());
+                    out.writeDouble(d.getLatitude());
+                    out.writeDouble(d.getLongitude());
+                    out.writeLong(d.getVersion());
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeBoolean(false);
+            store.forEachMedication(m -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(m.getId());
+                    out.writeLong(m.getDroneId() == null ? 0 : m.getDroneId());
+                    out.writeUTF(m.getName());
+                    out.writeInt(m.getWeight());
+                    out.writeUTF(m.getCode());
+                    out.writeUTF(m.getImageRef() == null ? "" : m.getImageRef());
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeBoolean(false);
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(tmp);
+            throw e.getCause();
+        }
+        Files.move(tmp, path(seq), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return rows[0];
+    }
+
+    /** True when the snapshot is complete and its checksum matches. */
+    boolean verify(long seq) {
+        Path file = path(seq);
+        try (CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16), new CRC32C())) {
+            long body = Files.size(file) - 4;
+            if (body < 16) return false;
+            byte[] chunk = new byte[1 << 16];
+            for (long left = body; left > 0; ) {
+                int n = checked.read(chunk, 0, (int) Math.min(chunk.length, left));
+                if (n < 0) return false;
+                left -= n;
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            return new DataInputStream(checked).readInt() == expected;
+        } catch (IOException e) {
+            log.warn("Cannot read snapshot {}", file, e);
+            return false;
+        }
+    }
+
+    /** Reads every row of a verified snapshot into the given maps, keyed by id; returns the rows read. */
+    long read(long seq, Map<Long, DroneRecord> drones, Map<Long, MedicationRecord> medications) throws IOException {
+        long rows = 0;
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path(seq)), 1 << 16);
+             DataInputStream in = new DataInputStream(file)) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version < 1 || version > VERSION || in.readLong() != seq) {
+                throw new IOException("Snapshot " + seq + " has an unknown header");
+            }
+            long now = System.currentTimeMillis();
+            while (in.readBoolean()) {
+                DroneRecord d = new DroneRecord(in.readLong(), in.readUTF(), MODELS[in.readByte()], in.readInt(), in.readByte(),
+                        STATES[in.readByte()], in.readInt(), in.readInt(), in.readLong(), now,
+                        version >= 2 ? in.readDouble() : Double.NaN, version >= 2 ? in.readDouble() : Double.NaN,
+                        version >= 3 ? in.readLong() : 0);
+                drones.put(d.getId(), d);
+                rows++;
+            }
+            while (in.readBoolean()) {
+                long id = in.readLong();
+                long droneId = in.readLong();
+                String name = in.readUTF();
+                int weight = in.readInt();
+                String code = in.readUTF();
+                String image = in.readUTF();
+                medications.put(id, new MedicationRecord(id, name, weight, code, image.isEmpty() ? null : image, droneId == 0 ? null : droneId));
+                rows++;
+            }
+        } catch (EOFException e) {
+            throw new IOException("Snapshot " + seq + " is truncated", e);
+        }
+        return rows;
+    }
+
+    /** Deletes all but the newest {@code keep} snapshots; returns the oldest sequence still kept, or 0. */
+    long prune(int keep) throws IOException {
+        List<Long> seqs = list();
+        for (int i = Math.max(1, keep); i < seqs.size(); i++) Files.deleteIfExists(path(seqs.get(i)));
+        return seqs.isEmpty() ? 0 : seqs.get(Math.min(seqs.size(), Math.max(1, keep)) - 1);
+    }
+
+    private Path path(long seq) {
+        return dir.resolve("snapshot-" + seq + ".bin");
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.droneservice.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of numbered records in fixed-size memory-mapped segment files named
+ * {@code segment-<first seq>.log}. Each record is {@code [int length][long seq][byte type]
+ * [long timestamp][body][int crc32c]}; a zero length marks the end of a segment, which is what
+ * a freshly mapped (zero-filled) file already reads as. A record whose checksum does not match
+ * is taken as a torn write and ends the log. One thread appends; {@link #truncateThrough} only
+ * deletes closed segments and may run alongside it.
+ */
+final class SegmentedLog implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(SegmentedLog.class);
+
+    private static final int HEADER = 4 + 8 + 1 + 8;
+    private static final int TRAILER = 4;
+
+    interface Visitor {
+        void record(long seq, byte type, long timestamp, ByteBuffer body);
+    }
+
+    private final Path dir;
+    private final int segmentBytes;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSeq = 1;
+
+    SegmentedLog(Path dir, int segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(dir);
+            List<Long> segments = segments();
+            if (!segments.isEmpty()) {
+                // reopen the last segment and position after its last intact record
+                long first = segments.get(segments.size() - 1);
+                open(first);
+                nextSeq = first;
+                long[] tail = scan(buffer.duplicate(), Long.MIN_VALUE, null);
+                buffer.position((int) tail[0]);
+                if (tail[1] > 0) nextSeq = tail[1] + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + dir, e);
+        }
+    }
+
+    /** Sequence number of the last appended record, or 0 when the log is empty. */
+    long lastSeq() {
+        return nextSeq - 1;
+    }
+
+    /** Appends one record and returns its sequence number; call {@link #force()} to make it durable. */
+    long append(byte type, long timestamp, byte[] body) {
+        int size = HEADER + body.length + TRAILER;
+        if (size + 4 > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds drone.journal.segment-bytes");
+        }
+        try {
+            if (buffer == null || buffer.remaining() < size + 4) roll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll journal segment", e);
+        }
+        long seq = nextSeq++;
+        int start = buffer.position();
+        buffer.putInt(body.length).putLong(seq).put(type).putLong(timestamp).put(body);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + 4).limit(buffer.position()));
+        buffer.putInt((int) crc.getValue());
+        return seq;
+    }
+
+    void force() {
+        if (buffer != null) buffer.force();
+    }
+
+    /** Visits, in order, every intact record with a sequence number above {@code after}. */
+    void replay(long after, Visitor visitor) throws IOException {
+        List<Long> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            // a segment ends where the next one starts, so skip those wholly covered
+            if (i + 1 < segments.size() && segments.get(i + 1) <= after + 1) continue;
+            try (FileChannel ch = FileChannel.open(segmentPath(segments.get(i)), StandardOpenOption.READ)) {
+                scan(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), after, visitor);
+            }
+        }
+    }
+
+    /** Deletes segments holding only records at or below {@code seq}; the open segment is kept. */
+    void truncateThrough(long seq) throws IOException {
+        List<Long> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (segments.get(i + 1) > seq + 1) break;
+            Files.deleteIfExists(segmentPath(segments.get(i)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (channel != null) channel.close();
+    }
+
+    /** Returns {end position, last seq} of the intact records in {@code data}. */
+    private long[] scan(ByteBuffer data, long after, Visitor visitor) {
+        long last = 0;
+        CRC32C crc = new CRC32C();
+        while (data.remaining() >= HEADER + TRAILER) {
+            int start = data.position();
+            int length = data.getInt(start);
+            if (length <= 0 || length > data.remaining() - HEADER - TRAILER) break;
+            int end = start + HEADER + length;
+            crc.reset();
+            crc.update(data.duplicate().position(start + 4).limit(end));
+            if ((int) crc.getValue() != data.getInt(end)) {
+                log.warn("Journal record at offset {} is torn or corrupt; the log ends there", start);
+                break;
+            }
+            long seq = data.getLong(start + 4);
+            if (visitor != null && seq > after) {
+                visitor.record(seq, data.get(start + 12), data.getLong(start + 13),
+                        data.duplicate().position(start + HEADER).limit(end).slice());
+            }
+            last = seq;
+            data.position(end + TRAILER);
+        }
+        return new long[]{data.position(), last};
+    }
+
+    private void roll() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+        open(nextSeq);
+    }
+
+    private void open(long firstSeq) throws IOException {
+        channel = FileChannel.open(segmentPath(firstSeq), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return dir.resolve("segment-" + firstSeq + ".log");
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> firstSeqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("segment-") && n.endsWith(".log"))
+                    .forEach(n -> firstSeqs.add(Long.parseLong(n.substring(8, n.length() - 4))));
+        }
+        firstSeqs.sort(null);
+        return firstSeqs;
+    }
+}
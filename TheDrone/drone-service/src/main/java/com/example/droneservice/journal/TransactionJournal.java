@@ -0,0 +1,444 @@
+package com.example.droneservice.journal;
+
+import com.example.droneservice.config.JournalProperties;
+import com.example.droneservice.config.WorkerThreads;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.event.DronePosition;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.event.MedicationsChangedEvent;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead journal of committed fleet changes, so an in-memory fleet survives a restart,
+ * whether it lives in the embedded database or in the in-memory fleet store.
+ * Every committed {@link DronesRegisteredEvent}, {@link FleetChangeEvent}, {@link DronesMovedEvent}
+ * and {@link MedicationsChangedEvent} becomes a record in a {@link SegmentedLog}. One writer thread
+ * drains whatever records are queued, appends them and forces the segment once for the whole
+ * group; with {@code drone.journal.durable-commits} each caller waits for that force, so a
+ * request only returns once its change is on disk, but concurrent requests share one flush.
+ * <p>
+ * On startup, before anything else reads the fleet, the newest intact {@link FleetSnapshots
+ * snapshot} is read, the records after it are replayed over it, and the result is bulk-inserted
+ * into the {@link FleetStore}. Records hold absolute values rather than deltas, so a record that a
+ * snapshot already reflects can be replayed again harmlessly; this is what lets a snapshot be
+ * taken while the fleet keeps changing. Records are appended after their transactions commit, so
+ * two changes to one drone can reach the log out of order; status and position entries carry the
+ * drone's row version, and replay keeps the highest.
+ */
+@Component
+@ConditionalOnProperty(prefix = "drone.journal", name = "enabled", havingValue = "true")
+public class TransactionJournal {
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    static final byte DRONES = 1;
+    static final byte STATUSES = 2;
+    static final byte MEDICATIONS = 3;
+    static final byte POSITIONS = 4;
+    // 5 and 6 replace 2 and 4, adding the row version to each entry; older journals still replay
+    static final byte VERSIONED_STATUSES = 5;
+    static final byte VERSIONED_POSITIONS = 6;
+    // entries per record, keeping a tick of a large fleet well inside one segment
+    private static final int MAX_ENTRIES = 50000;
+    private static final int GROUP = 4096;
+    private static final DroneModel[] MODELS = DroneModel.values();
+    private static final DroneState[] STATES = DroneState.values();
+
+    private final JournalProperties properties;
+    private final FleetStore store;
+    private final WorkerThreads workerThreads;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private SegmentedLog segments;
+    private FleetSnapshots snapshots;
+    private Thread writer;
+    // snapshots copy the whole fleet, so they get a thread of their own rather than the shared scheduler
+    private ScheduledExecutorService snapshotter;
+    // cleared under the queue's lock, so no record is queued after the writer's last drain
+    private volatile boolean running = true;
+    // last sequence number appended and forced by the writer
+    private volatile long writtenSeq;
+
+    public TransactionJournal(JournalProperties properties, FleetStore store, WorkerThreads workerThreads) {
+        this.properties = properties;
+        this.store = store;
+        this.workerThreads = workerThreads;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (properties.getSnapshotIntervalMillis() <= 0) {
+            throw new IllegalArgumentException("drone.journal.snapshot-interval-millis must be positive");
+        }
+        Path dir = Path.of(properties.getDir());
+        segments = new SegmentedLog(dir, properties.getSegmentBytes());
+        snapshots = new FleetSnapshots(dir, store);
+        writtenSeq = segments.lastSeq();
+        restore();
+        writer = workerThreads.factory("journal-writer-").newThread(this::write);
+        writer.start();
+        long interval = properties.getSnapshotIntervalMillis();
+        snapshotter = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("journal-snapshot-"));
+        snapshotter.scheduleWithFixedDelay(this::scheduledSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops taking records, waits for the writer to append and force everything already queued
+     * (those changes are committed), then closes the log.
+     */
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        // a snapshot in progress finishes; the next one is cancelled
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(10, TimeUnit.MINUTES);
+        synchronized (queue) {
+            running = false;
+        }
+        writer.join();
+        segments.close();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDronesRegistered(DronesRegisteredEvent event) {
+        append(DRONES, event.getDrones(), (out, d) -> {
+            out.writeLong(d.getId());
+            writeUtf(out, d.getSerialNumber());
+            out.writeByte(d.getModel().ordinal());
+            out.writeInt(d.getWeightLimit());
+            out.writeByte(d.getBatteryCapacity());
+            out.writeByte(d.getState().ordinal());
+        });
+        // positions get their own records, so journals written before drones had one still replay
+        List<DronePosition> positions = new ArrayList<>();
+        for (DroneDto d : event.getDrones()) {
+            if (d.getLatitude() != null) positions.add(new DronePosition(d.getId(), d.getLatitude(), d.getLongitude(), 0));
+        }
+        appendPositions(positions);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDronesMoved(DronesMovedEvent event) {
+        appendPositions(event.getPositions());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFleetChange(FleetChangeEvent event) {
+        append(VERSIONED_STATUSES, event.getChanges(), (out, s) -> {
+            out.writeLong(s.getId());
+            out.writeByte(s.getState().ordinal());
+            out.writeByte(s.getBatteryCapacity());
+            out.writeLong(s.getVersion());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMedicationsChanged(MedicationsChangedEvent event) {
+        append(MEDICATIONS, event.getMedications(), (out, m) -> {
+            out.writeLong(m.getId());
+            out.writeLong(m.getDroneId() == null ? 0 : m.getDroneId());
+            writeUtf(out, m.getName());
+            out.writeInt(m.getWeight());
+            writeUtf(out, m.getCode());
+            writeUtf(out, m.getImageRef() == null ? "" : m.getImageRef());
+        });
+    }
+
+    /** Takes the first snapshot once startup (demo data included) is done, if there is none yet. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void snapshotIfMissing() throws IOException {
+        if (snapshots.list().isEmpty()) snapshot();
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            // an exception would cancel the schedule; the next interval tries again
+            log.error("Journal snapshot failed", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot, then drops snapshots beyond {@code drone.journal.keep-snapshots} and the
+     * segments that even the oldest kept snapshot no longer needs.
+     */
+    public synchronized void snapshot() throws IOException {
+        // everything up to here is committed, so the copy includes at least these records
+        long seq = writtenSeq;
+        long start = System.nanoTime();
+        long rows = snapshots.write(seq);
+        long oldest = snapshots.prune(properties.getKeepSnapshots());
+        segments.truncateThrough(oldest);
+        log.info("Journal snapshot at seq {} with {} rows written in {} ms", seq, rows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void restore() throws IOException {
+        long existing = store.droneCount();
+        if (existing > 0) {
+            log.warn("Fleet store already holds {} drones; journal restore skipped", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        long after = 0;
+        long rows = 0;
+        Map<Long, DroneRecord> drones = new HashMap<>();
+        Map<Long, MedicationRecord> medications = new HashMap<>();
+        for (long seq : snapshots.list()) {
+            if (!snapshots.verify(seq)) {
+                log.warn("Journal snapshot {} is incomplete or corrupt, trying an older one", seq);
+                continue;
+            }
+            rows = snapshots.read(seq, drones, medications);
+            after = seq;
+            break;
+        }
+        Replay replay = new Replay(drones, medications);
+        segments.replay(after, replay);
+        replay.finish();
+        List<DroneRecord> droneRows = new ArrayList<>(drones.values());
+        droneRows.sort(Comparator.comparingLong(DroneRecord::getId));
+        List<MedicationRecord> medicationRows = new ArrayList<>(medications.values());
+        medicationRows.sort(Comparator.comparingLong(MedicationRecord::getId));
+        store.reserveIds(droneRows.isEmpty() ? 0 : droneRows.get(droneRows.size() - 1).getId(),
+                medicationRows.isEmpty() ? 0 : medicationRows.get(medicationRows.size() - 1).getId());
+        store.insertAll(droneRows, medicationRows);
+        log.info("Journal restored {} snapshot rows (seq {}) and {} records in {} ms", rows, after, replay.records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void appendPositions(List<DronePosition> positions) {
+        append(VERSIONED_POSITIONS, positions, (out, p) -> {
+            out.writeLong(p.getId());
+            out.writeDouble(p.getLatitude());
+            out.writeDouble(p.getLongitude());
+            out.writeLong(p.getVersion());
+        });
+    }
+
+    private <T> void append(byte type, List<T> items, Encoder<T> encoder) {
+        if (items.isEmpty()) return;
+        List<Pending> pending = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += MAX_ENTRIES) {
+            List<T> chunk = items.subList(from, Math.min(items.size(), from + MAX_ENTRIES));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + chunk.size() * 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                out.writeInt(chunk.size());
+                for (T item : chunk) encoder.write(out, item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Pending p = new Pending(type, bytes.toByteArray());
+            synchronized (queue) {
+                if (!running) throw new IllegalStateException("Change committed after the journal shut down");
+                queue.add(p);
+            }
+            pending.add(p);
+        }
+        if (!properties.isDurableCommits()) return;
+        try {
+            for (Pending p : pending) p.done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the journal", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Change committed but not journaled", e.getCause());
+        }
+    }
+
+    /** Runs until stopped and the queue is empty; {@link #stop()} closes (and forces) the log after. */
+    private void write() {
+        List<Pending> group = new ArrayList<>(GROUP);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                group.add(first);
+                queue.drainTo(group, GROUP - 1);
+                long now = System.currentTimeMillis();
+                long seq = writtenSeq;
+                for (Pending p : group) seq = segments.append(p.type, now, p.body);
+                if (properties.isDurableCommits()) segments.force();
+                writtenSeq = seq;
+                for (Pending p : group) p.done.complete(null);
+            } catch (InterruptedException e) {
+                // only stop() ends the writer, and it waits for the drain instead of interrupting
+                Thread.currentThread().interrupt();
+                log.warn("Journal writer interrupted with {} records queued", queue.size());
+                break;
+            } catch (RuntimeException e) {
+                log.error("Journal write failed", e);
+                for (Pending p : group) p.done.completeExceptionally(e);
+            } finally {
+                group.clear();
+            }
+        }
+        Pending p;
+        while ((p = queue.poll()) != null) p.done.completeExceptionally(new IllegalStateException("Journal writer stopped"));
+    }
+
+    private interface Encoder<T> {
+        void write(DataOutputStream out, T item) throws IOException;
+    }
+
+    private static final class Pending {
+        final byte type;
+        final byte[] body;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(byte type, byte[] body) {
+            this.type = type;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Applies replayed records to the restored rows. A versioned entry wins over the row when its
+     * version is at least as high, tracked separately for status and position; other records
+     * overwrite in log order.
+     */
+    private static final class Replay implements SegmentedLog.Visitor {
+        private final Map<Long, DroneRecord> drones;
+        private final Map<Long, MedicationRecord> medications;
+        private final Map<Long, Long> statusVersions = new HashMap<>();
+        private final Map<Long, Long> positionVersions = new HashMap<>();
+        private boolean reloaded;
+        private long records;
+
+        Replay(Map<Long, DroneRecord> drones, Map<Long, MedicationRecord> medications) {
+            this.drones = drones;
+            this.medications = medications;
+        }
+
+        @Override
+        public void record(long seq, byte type, long timestamp, ByteBuffer body) {
+            records++;
+            int n = body.getInt();
+            for (int i = 0; i < n; i++) {
+                switch (type) {
+                    case DRONES -> {
+                        long id = body.getLong();
+                        drones.put(id, new DroneRecord(id, readUtf(body), MODELS[body.get()], body.getInt(), body.get(),
+                                STATES[body.get()], 0, 0, timestamp, timestamp, Double.NaN, Double.NaN, 0));
+                        statusVersions.remove(id);
+                        positionVersions.remove(id);
+                        reloaded = true;
+                    }
+                    case STATUSES -> {
+                        long id = body.getLong();
+                        DroneState state = STATES[body.get()];
+                        int battery = body.get();
+                        drones.computeIfPresent(id, (k, d) -> d.withStatus(state, battery));
+                    }
+                    case POSITIONS -> {
+                        long id = body.getLong();
+                        double latitude = body.getDouble();
+                        double longitude = body.getDouble();
+                        drones.computeIfPresent(id, (k, d) -> d.withPosition(latitude, longitude));
+                    }
+                    case VERSIONED_STATUSES -> {
+                        long id = body.getLong();
+                        DroneState state = STATES[body.get()];
+                        int battery = body.get();
+                        long version = body.getLong();
+                        drones.computeIfPresent(id, (k, d) -> newer(statusVersions, d, version) ? d.withStatus(state, battery) : d);
+                    }
+                    case VERSIONED_POSITIONS -> {
+                        long id = body.getLong();
+                        double latitude = body.getDouble();
+                        double longitude = body.getDouble();
+                        long version = body.getLong();
+                        drones.computeIfPresent(id, (k, d) -> newer(positionVersions, d, version) ? d.withPosition(latitude, longitude) : d);
+                    }
+                    case MEDICATIONS -> {
+                        long id = body.getLong();
+                        long droneId = body.getLong();
+                        String name = readUtf(body);
+                        int weight = body.getInt();
+                        String code = readUtf(body);
+                        String image = readUtf(body);
+                        medications.put(id, new MedicationRecord(id, name, weight, code, image.isEmpty() ? null : image,
+                                droneId == 0 ? null : droneId));
+                        reloaded = true;
+                    }
+                    default -> throw new IllegalStateException("Unknown journal record type " + type + " at seq " + seq);
+                }
+            }
+        }
+
+        /** Records {@code version} for the drone if no higher one was applied (or restored) yet. */
+        private static boolean newer(Map<Long, Long> applied, DroneRecord drone, long version) {
+            Long seen = applied.get(drone.getId());
+            if (version < (seen != null ? seen : drone.getVersion())) return false;
+            applied.put(drone.getId(), version);
+            return true;
+        }
+
+        void finish() {
+            // the store carries on from the highest version seen, so its next changes outrank these records
+            statusVersions.forEach((id, v) -> drones.computeIfPresent(id, (k, d) -> v > d.getVersion() ? d.withVersion(v) : d));
+            positionVersions.forEach((id, v) -> drones.computeIfPresent(id, (k, d) -> v > d.getVersion() ? d.withVersion(v) : d));
+            recomputeLoads();
+        }
+
+        private void recomputeLoads() {
+            if (!reloaded) return;
+            // load totals are denormalized from the medications, so recompute rather than journal them
+            Map<Long, int[]> loads = new HashMap<>();
+            for (MedicationRecord m : medications.values()) {
+                if (m.getDroneId() == null) continue;
+                int[] load = loads.computeIfAbsent(m.getDroneId(), k -> new int[2]);
+                load[0] += m.getWeight();
+                load[1]++;
+            }
+            loads.forEach((id, load) -> drones.computeIfPresent(id, (k, d) -> d.withLoad(load[0], load[1])));
+        }
+    }
+
+    private static String readUtf(ByteBuffer body) {
+        byte[] bytes = new byte[body.getShort() & 0xFFFF];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeUtf(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) throw new IllegalArgumentException("String too long to journal");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
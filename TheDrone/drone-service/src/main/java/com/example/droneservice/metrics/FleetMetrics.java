@@ -0,0 +1,77 @@
+package com.example.droneservice.metrics;
+
+import com.example.droneservice.ingest.OrderIngestionService;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.service.DroneCache;
+import com.example.droneservice.service.DroneWriteExecutor;
+import com.example.droneservice.service.FleetAvailabilityIndex;
+import com.example.droneservice.telemetry.TelemetryHub;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fleet gauges read from in-memory state at scrape time: drones per state and average battery
+ * from {@link FleetAvailabilityIndex}, plus lookup cache, write retry, ingestion queue and
+ * telemetry figures.
+ * None of them query the database.
+ */
+@Component
+public class FleetMetrics implements MeterBinder {
+    private final FleetAvailabilityIndex availabilityIndex;
+    private final DroneCache droneCache;
+    private final DroneWriteExecutor writeExecutor;
+    private final OrderIngestionService ingestionService;
+    private final TelemetryHub telemetryHub;
+
+    public FleetMetrics(FleetAvailabilityIndex availabilityIndex, DroneCache droneCache, DroneWriteExecutor writeExecutor,
+                        OrderIngestionService ingestionService, TelemetryHub telemetryHub) {
+        this.availabilityIndex = availabilityIndex;
+        this.droneCache = droneCache;
+        this.writeExecutor = writeExecutor;
+        this.ingestionService = ingestionService;
+        this.telemetryHub = telemetryHub;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DroneState state : DroneState.values()) {
+            Gauge.builder("drone.fleet.drones", availabilityIndex, index -> index.count(state))
+                    .description("Drones currently in each state")
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        Gauge.builder("drone.fleet.battery.average", availabilityIndex, FleetAvailabilityIndex::averageBattery)
+                .description("Mean battery level across the fleet")
+                .baseUnit("percent")
+                .register(registry);
+
+        FunctionCounter.builder("drone.cache.requests", droneCache, DroneCache::hits)
+                .description("Drone lookup cache requests")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("drone.cache.requests", droneCache, DroneCache::misses)
+                .description("Drone lookup cache requests")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("drone.cache.evictions", droneCache, DroneCache::evictions)
+                .description("Entries evicted from the drone lookup cache to stay within its size")
+                .register(registry);
+        Gauge.builder("drone.cache.size", droneCache, DroneCache::size)
+                .description("Entries in the drone lookup cache")
+                .register(registry);
+
+        FunctionCounter.builder("drone.write.retries", writeExecutor, DroneWriteExecutor::retries)
+                .description("Drone write transactions run again after a conflict")
+                .register(registry);
+
+        Gauge.builder("drone.ingest.queue.size", ingestionService, OrderIngestionService::queued)
+                .description("Load orders waiting in the ingestion queue")
+                .register(registry);
+        Gauge.builder("drone.telemetry.subscribers", telemetryHub, TelemetryHub::subscriberCount)
+                .description("Open telemetry streams")
+                .register(registry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.droneservice.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()}
+ * and {@link #stop()}. Kept apart from {@link SqlStatementMetrics}: Hibernate requires an
+ * inspector to be serializable, which the filter is not.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final long serialVersionUID = 1L;
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    /** Returns the statements counted since {@link #start()}. */
+    static int stop() {
+        int[] count = STATEMENTS.get();
+        STATEMENTS.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.session_factory.statement_inspector", this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = STATEMENTS.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.droneservice.model.entity;
 import com.example.droneservice.model.enums.DroneModel;
 import com.example.droneservice.model.enums.DroneState;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -13,10 +15,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "drone")
+// state first: serves the simulator's state lookups on its own, and availability by state and battery
+@Table(name = "drone", indexes = @Index(name = "idx_drone_state_battery", columnList = "state, battery_capacity"))
 public class Drone {
+    // pooled sequence rather than IDENTITY, so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "drone_seq")
+    @SequenceGenerator(name = "drone_seq", sequenceName = "drone_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -43,6 +48,27 @@ public class Drone {
     @Enumerated(EnumType.STRING)
     private DroneState state = DroneState.IDLE;
 
+    // denormalized sum/count of loaded medications, so loading never touches the collection
+    @NotNull
+    @Column(name = "current_load_weight")
+    private Integer currentLoadWeight = 0;
+
+    @NotNull
+    @Column(name = "loaded_item_count")
+    private Integer loadedItemCount = 0;
+
+    // last reported position, null until the drone reports one; searched through FleetSpatialIndex
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "drone", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<com.example.droneservice.model.entity.Medication> medications = new ArrayList<>();
 
@@ -82,6 +108,19 @@ public class Drone {
     public void setBatteryCapacity(Integer batteryCapacity) { this.batteryCapacity = batteryCapacity; }
     public DroneState getState() { return state; }
     public void setState(DroneState state) { this.state = state; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setPosition(Double latitude, Double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    public Long getVersion() { return version; }
+    public Integer getCurrentLoadWeight() { return currentLoadWeight; }
+    public Integer getLoadedItemCount() { return loadedItemCount; }
+    public void addLoad(int weight, int items) {
+        this.currentLoadWeight += weight;
+        this.loadedItemCount += items;
+    }
     public List<com.example.droneservice.model.entity.Medication> getMedications() { return medications; }
     public void setMedications(List<com.example.droneservice.model.entity.Medication> medications) { this.medications = medications; }
     public Instant getCreatedAt() { return createdAt; }
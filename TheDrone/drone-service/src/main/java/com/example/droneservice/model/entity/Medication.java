@@ -7,10 +7,11 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 @Entity
-@Table(name = "medication")
+@Table(name = "medication", indexes = @Index(name = "idx_medication_drone", columnList = "drone_id"))
 public class Medication {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medication_seq")
+    @SequenceGenerator(name = "medication_seq", sequenceName = "medication_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -25,8 +26,8 @@ public class Medication {
     @Pattern(regexp = "^[A-Z0-9_]+$")
     private String code;
 
-    @Lob
-    private String image;
+    @Column(name = "image_ref", length = 64)
+    private String imageRef;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "drone_id")
@@ -34,11 +35,11 @@ public class Medication {
 
     public Medication() {}
 
-    public Medication(String name, Integer weight, String code, String image) {
+    public Medication(String name, Integer weight, String code, String imageRef) {
         this.name = name;
         this.weight = weight;
         this.code = code;
-        this.image = image;
+        this.imageRef = imageRef;
     }
 
     public Long getId() { return id; }
@@ -48,8 +49,8 @@ public class Medication {
     public void setWeight(Integer weight) { this.weight = weight; }
     public String getCode() { return code; }
     public void setCode(String code) { this.code = code; }
-    public String getImage() { return image; }
-    public void setImage(String image) { this.image = image; }
+    public String getImageRef() { return imageRef; }
+    public void setImageRef(String imageRef) { this.imageRef = imageRef; }
     public Drone getDrone() { return drone; }
     public void setDrone(Drone drone) { this.drone = drone; }
 }
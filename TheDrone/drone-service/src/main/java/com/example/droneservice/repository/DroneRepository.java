@@ -2,13 +2,72 @@ package com.example.droneservice.repository;
 
 import com.example.droneservice.model.entity.Drone;
 import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DroneRepository extends JpaRepository<Drone, Long> {
     Optional<Drone> findBySerialNumber(String serialNumber);
     List<Drone> findByState(DroneState state);
-}
 
+    @Query("select d.serialNumber from Drone d where d.serialNumber in :serialNumbers")
+    List<String> findExistingSerialNumbers(Collection<String> serialNumbers);
+
+    // read path: records straight from the columns, without hydrating or tracking entities
+    String RECORD = "select new com.example.droneservice.store.DroneRecord(d.id, d.serialNumber, d.model, d.weightLimit, "
+            + "d.batteryCapacity, d.state, d.currentLoadWeight, d.loadedItemCount, d.createdAt, d.updatedAt, d.latitude, d.longitude, "
+            + "d.version) from Drone d ";
+
+    @Query(RECORD + "where d.id = :id")
+    Optional<DroneRecord> findRecordById(long id);
+
+    @Query(RECORD + "where d.id in :ids")
+    List<DroneRecord> findRecordsByIdIn(Collection<Long> ids);
+
+    @Query(RECORD + "where d.id > :after order by d.id")
+    List<DroneRecord> findRecordPage(long after, Pageable page);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RECORD + "order by d.id")
+    Stream<DroneRecord> streamRecords();
+
+    @Query("select d.id as id, d.state as state, d.batteryCapacity as batteryCapacity, d.version as version from Drone d")
+    List<DroneStatusView> findAllStatuses();
+
+    @Query("select d.id as id, d.state as state, d.batteryCapacity as batteryCapacity, d.version as version from Drone d where d.id in :ids")
+    List<DroneStatusView> findStatusesByIdIn(Collection<Long> ids);
+
+    @Query("select d.id as id, d.state as state, d.batteryCapacity as batteryCapacity, d.version as version from Drone d "
+            + "where d.state in :states and d.id > :after and d.id <= :upTo order by d.id")
+    List<DroneStatusView> findStatusPage(Collection<DroneState> states, long after, long upTo, Pageable page);
+
+    @Query("select min(d.id) from Drone d where d.state in :states")
+    Long findMinIdByStateIn(Collection<DroneState> states);
+
+    @Query("select max(d.id) from Drone d where d.state in :states")
+    Long findMaxIdByStateIn(Collection<DroneState> states);
+
+    /**
+     * Applies one simulator rule (see {@code DroneTransitions}) to the given drones that are
+     * still in {@code state}, skipping rows the rule would leave unchanged.
+     */
+    @Modifying
+    @Query("update Drone d set "
+            + "d.batteryCapacity = case when d.batteryCapacity > :drain then d.batteryCapacity - :drain else 0 end, "
+            + "d.state = case when d.batteryCapacity - :drain <= :threshold then :below else :above end, "
+            + "d.updatedAt = :now, d.version = d.version + 1 "
+            + "where d.id in :ids and d.state = :state and (d.batteryCapacity > 0 or d.state <> :below)")
+    int applyTransition(Collection<Long> ids, DroneState state, int drain, int threshold,
+                        DroneState below, DroneState above, Instant now);
+}
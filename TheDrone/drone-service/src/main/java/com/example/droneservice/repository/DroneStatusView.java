@@ -0,0 +1,10 @@
+package com.example.droneservice.repository;
+
+import com.example.droneservice.model.enums.DroneState;
+
+public interface DroneStatusView {
+    Long getId();
+    DroneState getState();
+    Integer getBatteryCapacity();
+    Long getVersion();
+}
@@ -1,11 +1,35 @@
 package com.example.droneservice.repository;
 
 import com.example.droneservice.model.entity.Medication;
+import com.example.droneservice.store.MedicationRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MedicationRepository extends JpaRepository<Medication, Long> {
     List<Medication> findByDroneId(Long droneId);
-}
 
+    // m.drone.id reads the foreign key column, without joining the drone
+    String RECORD = "select new com.example.droneservice.store.MedicationRecord(m.id, m.name, m.weight, m.code, m.imageRef, m.drone.id) "
+            + "from Medication m ";
+
+    @Query(RECORD + "where m.id = :id")
+    Optional<MedicationRecord> findRecordById(long id);
+
+    @Query(RECORD + "where m.drone.id = :droneId order by m.id")
+    List<MedicationRecord> findRecordsByDroneId(long droneId);
+
+    @Query(RECORD + "where m.id > :after order by m.id")
+    List<MedicationRecord> findRecordPage(long after, Pageable page);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RECORD + "order by m.id")
+    Stream<MedicationRecord> streamRecords();
+}
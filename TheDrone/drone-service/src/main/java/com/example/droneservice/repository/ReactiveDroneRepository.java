@@ -0,0 +1,142 @@
+package com.example.droneservice.repository;
+
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+
+/**
+ * Drone rows over R2DBC, for the reactive API. Same tables as {@link DroneRepository}: ids come
+ * from {@code drone_seq}, and every update bumps {@code version}, so reactive and JPA writers
+ * detect each other.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDroneRepository {
+    private static final String SELECT = "select id, serial_number, model, weight_limit, battery_capacity, state, "
+            + "current_load_weight, loaded_item_count, version, created_at, updated_at, latitude, longitude from drone ";
+    private static final String INSERT = "insert into drone (id, serial_number, model, weight_limit, battery_capacity, state, "
+            + "current_load_weight, loaded_item_count, version, created_at, updated_at, latitude, longitude) "
+            + "values (:id, :serialNumber, :model, :weightLimit, :battery, :state, :weight, :items, 0, :createdAt, :updatedAt, :latitude, :longitude)";
+    private static final String UPDATE = "update drone set battery_capacity = :battery, state = :state, current_load_weight = :weight, "
+            + "loaded_item_count = :items, updated_at = :updatedAt, latitude = :latitude, longitude = :longitude, version = version + 1 "
+            + "where id = :id and version = :version";
+
+    private final DatabaseClient db;
+
+    public ReactiveDroneRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<DroneRecord> findById(long id) {
+        return db.sql(SELECT + "where id = :id").bind("id", id).map(ReactiveDroneRepository::toRecord).one();
+    }
+
+    public Flux<DroneRecord> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return Flux.empty();
+        return db.sql(SELECT + "where id in (:ids)").bind("ids", ids).map(ReactiveDroneRepository::toRecord).all();
+    }
+
+    public Flux<DroneRecord> findPage(long after, int limit) {
+        return db.sql(SELECT + "where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveDroneRepository::toRecord)
+                .all();
+    }
+
+    /** Served by the (state, battery_capacity) index. */
+    public Flux<DroneRecord> findByStateAndMinBattery(DroneState state, int minBattery) {
+        return db.sql(SELECT + "where state = :state and battery_capacity >= :battery order by id")
+                .bind("state", state.name())
+                .bind("battery", minBattery)
+                .map(ReactiveDroneRepository::toRecord)
+                .all();
+    }
+
+    public Flux<String> findExistingSerialNumbers(Collection<String> serialNumbers) {
+        return db.sql("select serial_number from drone where serial_number in (:serialNumbers)")
+                .bind("serialNumbers", serialNumbers)
+                .map(row -> row.get("serial_number", String.class))
+                .all();
+    }
+
+    /**
+     * Inserts a draft under a fresh id. Hibernate's pooled optimizer treats a sequence value v as
+     * the block v-49..v, so taking v itself never collides with ids handed out through JPA.
+     */
+    public Mono<DroneRecord> insert(DroneRecord draft) {
+        return db.sql("select next value for drone_seq").map(row -> row.get(0, Long.class)).one()
+                .flatMap(id -> position(db.sql(INSERT), draft)
+                        .bind("id", id)
+                        .bind("serialNumber", draft.getSerialNumber())
+                        .bind("model", draft.getModel().name())
+                        .bind("weightLimit", draft.getWeightLimit())
+                        .bind("battery", draft.getBatteryCapacity())
+                        .bind("state", draft.getState().name())
+                        .bind("weight", draft.getCurrentLoadWeight())
+                        .bind("items", draft.getLoadedItemCount())
+                        .bind("createdAt", timestamp(draft.getCreatedAt()))
+                        .bind("updatedAt", timestamp(draft.getUpdatedAt()))
+                        .fetch().rowsUpdated()
+                        .thenReturn(draft.withId(id)));
+    }
+
+    /**
+     * Applies {@code change} to the drone and writes the result if the row's version is still the
+     * one read. A concurrent writer makes it fail with {@link OptimisticLockingFailureException},
+     * for the caller to retry; returning the record unchanged skips the write.
+     */
+    public Mono<DroneRecord> updateDrone(long id, UnaryOperator<DroneRecord> change) {
+        return db.sql(SELECT + "where id = :id").bind("id", id)
+                .map((row, meta) -> toRecord(row))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Drone not found")))
+                .flatMap(current -> {
+                    DroneRecord changed = change.apply(current);
+                    if (changed == current) return Mono.just(changed);
+                    DroneRecord next = changed.withVersion(current.getVersion() + 1);
+                    return position(db.sql(UPDATE), next)
+                            .bind("battery", next.getBatteryCapacity())
+                            .bind("state", next.getState().name())
+                            .bind("weight", next.getCurrentLoadWeight())
+                            .bind("items", next.getLoadedItemCount())
+                            .bind("updatedAt", timestamp(next.getUpdatedAt()))
+                            .bind("id", id)
+                            .bind("version", current.getVersion())
+                            .fetch().rowsUpdated()
+                            .flatMap(rows -> rows == 1 ? Mono.just(next)
+                                    : Mono.error(new OptimisticLockingFailureException("Drone " + id + " was updated concurrently")));
+                });
+    }
+
+    private static DroneRecord toRecord(Readable row) {
+        return new DroneRecord(row.get("id", Long.class), row.get("serial_number", String.class),
+                DroneModel.valueOf(row.get("model", String.class)), row.get("weight_limit", Integer.class),
+                row.get("battery_capacity", Integer.class), DroneState.valueOf(row.get("state", String.class)),
+                row.get("current_load_weight", Integer.class), row.get("loaded_item_count", Integer.class),
+                row.get("created_at", OffsetDateTime.class).toInstant(), row.get("updated_at", OffsetDateTime.class).toInstant(),
+                row.get("latitude", Double.class), row.get("longitude", Double.class), row.get("version", Long.class));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec position(DatabaseClient.GenericExecuteSpec statement, DroneRecord drone) {
+        if (!drone.hasPosition()) return statement.bindNull("latitude", Double.class).bindNull("longitude", Double.class);
+        return statement.bind("latitude", drone.getLatitude()).bind("longitude", drone.getLongitude());
+    }
+
+    private static OffsetDateTime timestamp(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC);
+    }
+}
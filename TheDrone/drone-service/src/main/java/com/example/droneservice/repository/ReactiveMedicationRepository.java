@@ -0,0 +1,62 @@
+package com.example.droneservice.repository;
+
+import com.example.droneservice.store.MedicationRecord;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Medication rows over R2DBC, for the reactive API; ids come from {@code medication_seq}, as for JPA. */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMedicationRepository {
+    private static final String SELECT = "select id, name, weight, code, image_ref, drone_id from medication ";
+
+    private final DatabaseClient db;
+
+    public ReactiveMedicationRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<MedicationRecord> findById(long id) {
+        return db.sql(SELECT + "where id = :id").bind("id", id).map(ReactiveMedicationRepository::toRecord).one();
+    }
+
+    public Flux<MedicationRecord> findPage(long after, int limit) {
+        return db.sql(SELECT + "where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveMedicationRepository::toRecord)
+                .all();
+    }
+
+    public Flux<MedicationRecord> findByDroneId(long droneId) {
+        return db.sql(SELECT + "where drone_id = :droneId order by id")
+                .bind("droneId", droneId)
+                .map(ReactiveMedicationRepository::toRecord)
+                .all();
+    }
+
+    /** Inserts a draft under a fresh id, taken the same way as {@link ReactiveDroneRepository#insert}. */
+    public Mono<MedicationRecord> insert(MedicationRecord draft) {
+        return db.sql("select next value for medication_seq").map(row -> row.get(0, Long.class)).one()
+                .flatMap(id -> {
+                    DatabaseClient.GenericExecuteSpec insert = db.sql("insert into medication (id, name, weight, code, image_ref, drone_id) "
+                                    + "values (:id, :name, :weight, :code, :imageRef, :droneId)")
+                            .bind("id", id)
+                            .bind("name", draft.getName())
+                            .bind("weight", draft.getWeight())
+                            .bind("code", draft.getCode());
+                    insert = draft.getImageRef() != null ? insert.bind("imageRef", draft.getImageRef()) : insert.bindNull("imageRef", String.class);
+                    insert = draft.getDroneId() != null ? insert.bind("droneId", draft.getDroneId()) : insert.bindNull("droneId", Long.class);
+                    return insert.fetch().rowsUpdated().thenReturn(draft.withId(id));
+                });
+    }
+
+    private static MedicationRecord toRecord(Readable row) {
+        return new MedicationRecord(row.get("id", Long.class), row.get("name", String.class), row.get("weight", Integer.class),
+                row.get("code", String.class), row.get("image_ref", String.class), row.get("drone_id", Long.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.config.SimulatorProperties;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.repository.DroneRepository;
+import com.example.droneservice.repository.DroneStatusView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based simulator tick. Moving drones are paged by id (keyset), and each page is
+ * advanced with one bulk UPDATE per state inside its own transaction, so memory and
+ * transaction length are bounded by the chunk size rather than the fleet size.
+ */
+@Component
+public class ChunkedTickRunner {
+    private static final Logger log = LoggerFactory.getLogger(ChunkedTickRunner.class);
+
+    private final DroneRepository droneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final SimulatorProperties properties;
+
+    public ChunkedTickRunner(DroneRepository droneRepository, TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher events, SimulatorProperties properties) {
+        this.droneRepository = droneRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.events = events;
+        this.properties = properties;
+    }
+
+    public TickReport run() {
+        long start = System.currentTimeMillis();
+        TickReport report = new TickReport();
+        runRange(0, Long.MAX_VALUE, report);
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    /**
+     * Advances moving drones with ids in {@code (after, upTo]}, adding one result per committed
+     * chunk to {@code report}. If a chunk fails its transaction is rolled back and the exception
+     * propagates; {@link TickReport#resumeAfter} then tells the caller where to pick up again.
+     */
+    public void runRange(long after, long upTo, TickReport report) {
+        long cursor = after;
+        while (true) {
+            long from = cursor;
+            TickReport.ChunkResult chunk = transactionTemplate.execute(status -> advanceChunk(from, upTo));
+            if (chunk == null) return;
+            report.addChunk(chunk);
+            cursor = chunk.getLastId();
+        }
+    }
+
+    private TickReport.ChunkResult advanceChunk(long after, long upTo) {
+        List<DroneStatusView> page = droneRepository.findStatusPage(DroneTransitions.activeStates(), after, upTo,
+                PageRequest.ofSize(properties.getChunkSize()));
+        if (page.isEmpty()) return null;
+        int changed = advance(page);
+        long firstId = page.get(0).getId();
+        long lastId = page.get(page.size() - 1).getId();
+        log.debug("Simulator chunk [{}..{}] scanned {} drones, changed {}", firstId, lastId, page.size(), changed);
+        return new TickReport.ChunkResult(firstId, lastId, page.size(), changed);
+    }
+
+    /**
+     * Applies one tick of {@link DroneTransitions} to the given drones with one bulk UPDATE
+     * per state and publishes what changed. Must run inside a transaction; drones whose state
+     * has no rule are ignored. Returns the number of rows changed.
+     */
+    public int advance(List<DroneStatusView> drones) {
+        Map<DroneState, List<Long>> idsByState = new EnumMap<>(DroneState.class);
+        Map<Long, DroneStatusView> before = new HashMap<>();
+        for (DroneStatusView v : drones) {
+            if (DroneTransitions.ruleFor(v.getState()) == null) continue;
+            idsByState.computeIfAbsent(v.getState(), s -> new ArrayList<>()).add(v.getId());
+            before.put(v.getId(), v);
+        }
+        Instant now = Instant.now();
+        int changed = 0;
+        for (Map.Entry<DroneState, List<Long>> e : idsByState.entrySet()) {
+            DroneTransitions.Rule rule = DroneTransitions.ruleFor(e.getKey());
+            changed += droneRepository.applyTransition(e.getValue(), rule.getState(), rule.getDrain(),
+                    rule.getThreshold(), rule.getBelow(), rule.getAbove(), now);
+        }
+
+        List<DroneStatus> changes = new ArrayList<>(changed);
+        if (changed > 0) {
+            // re-read rather than recompute, so events reflect what the UPDATE actually wrote
+            for (DroneStatusView v : droneRepository.findStatusesByIdIn(before.keySet())) {
+                DroneStatusView old = before.get(v.getId());
+                if (v.getState() != old.getState() || !v.getBatteryCapacity().equals(old.getBatteryCapacity())) {
+                    changes.add(new DroneStatus(v.getId(), v.getState(), v.getBatteryCapacity(), v.getVersion()));
+                }
+            }
+            events.publishEvent(new FleetChangeEvent(changes));
+        }
+        return changed;
+    }
+}
@@ -1,59 +1,82 @@
 package com.example.droneservice.scheduler;
 
-import com.example.droneservice.model.entity.Drone;
-import com.example.droneservice.model.enums.DroneState;
-import com.example.droneservice.repository.DroneRepository;
-import jakarta.transaction.Transactional;
+import com.example.droneservice.config.SimulatorProperties;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.store.FleetStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 @Component
+@ConditionalOnProperty(prefix = "drone.simulator", name = "engine", havingValue = "fixed-delay", matchIfMissing = true)
 public class DroneStateSimulator {
     private static final Logger log = LoggerFactory.getLogger(DroneStateSimulator.class);
 
-    private final DroneRepository droneRepository;
+    private final FleetStore store;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate transactionTemplate;
+    private final ChunkedTickRunner chunkedTickRunner;
+    private final ShardedTickRunner shardedTickRunner;
+    private final SimulatorProperties properties;
+    private final SimulatorMeters meters;
 
-    public DroneStateSimulator(DroneRepository droneRepository) {
-        this.droneRepository = droneRepository;
+    public DroneStateSimulator(FleetStore store, ApplicationEventPublisher events,
+                               TransactionTemplate transactionTemplate, ChunkedTickRunner chunkedTickRunner,
+                               ShardedTickRunner shardedTickRunner, SimulatorProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.store = store;
+        this.events = events;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkedTickRunner = chunkedTickRunner;
+        this.shardedTickRunner = shardedTickRunner;
+        this.properties = properties;
+        this.meters = new SimulatorMeters(meterRegistry, "fixed-delay", properties.getMode().name().toLowerCase());
+        if (!store.isTransactional() && properties.getMode() != SimulatorProperties.Mode.ENTITY) {
+            log.warn("drone.simulator.mode={} works on the database; the in-memory store ticks in entity mode",
+                    properties.getMode().name().toLowerCase());
+        }
     }
 
     @Scheduled(fixedDelayString = "${drone.simulator.interval:60000}")
-    @Transactional
     public void tick() {
-        List<Drone> drones = droneRepository.findAll();
-        for (Drone d : drones) {
-            switch (d.getState()) {
-                case DELIVERING -> {
-                    int newBattery = Math.max(0, d.getBatteryCapacity() - 5);
-                    d.setBatteryCapacity(newBattery);
-                    if (newBattery <= 20) {
-                        d.setState(DroneState.RETURNING);
-                    } else {
-                        // simulate delivery completion quickly for demo
-                        d.setState(DroneState.DELIVERED);
-                    }
-                }
-                case RETURNING -> {
-                    int newBattery = Math.max(0, d.getBatteryCapacity() - 3);
-                    d.setBatteryCapacity(newBattery);
-                    if (newBattery == 0) d.setState(DroneState.IDLE);
-                }
-                case LOADING -> {
-                    int newBattery = Math.max(0, d.getBatteryCapacity() - 1);
-                    d.setBatteryCapacity(newBattery);
-                }
-                default -> {
-                    // idle/loaded/delivered - small drain
-                    if (d.getBatteryCapacity() > 0) d.setBatteryCapacity(Math.max(0, d.getBatteryCapacity() - 0));
-                }
+        long start = System.nanoTime();
+        // the batched runners issue SQL directly, so only the entity path sees an in-memory store
+        switch (store.isTransactional() ? properties.getMode() : SimulatorProperties.Mode.ENTITY) {
+            case BATCHED -> logReport(start, chunkedTickRunner.run());
+            case SHARDED -> logReport(start, shardedTickRunner.run());
+            default -> {
+                int[] counts = store.isTransactional() ? transactionTemplate.execute(status -> tickEntities()) : tickEntities();
+                meters.record(start, counts[0], counts[1]);
             }
-            droneRepository.save(d);
         }
-        log.debug("Drone state simulator tick processed {} drones", drones.size());
     }
-}
 
+    private void logReport(long start, TickReport report) {
+        meters.record(start, report.getScanned(), report.getChanged());
+        log.debug("Drone state simulator tick scanned {} moving drones in {} chunks, changed {} in {} ms ({} shards failed)",
+                report.getScanned(), report.getChunks().size(), report.getChanged(), report.getElapsedMillis(),
+                report.getFailedShards());
+    }
+
+    /** Returns the number of drones scanned and changed. */
+    private int[] tickEntities() {
+        long drones = store.droneCount();
+        List<DroneStatus> changes = store.updateAllDrones(d -> {
+            DroneTransitions.Rule rule = DroneTransitions.ruleFor(d.getState());
+            if (rule == null || !rule.changes(d.getBatteryCapacity())) return d;
+            int battery = d.getBatteryCapacity();
+            return d.withStatus(rule.nextState(battery), rule.nextBattery(battery));
+        });
+        if (!changes.isEmpty()) events.publishEvent(new FleetChangeEvent(changes));
+        log.debug("Drone state simulator tick processed {} drones", drones);
+        return new int[] {(int) drones, changes.size()};
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.model.enums.DroneState;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-tick transition rules of the simulator. Each moving state drains a fixed amount of
+ * battery and then switches to {@code below} once the drained battery reaches
+ * {@code threshold}, or to {@code above} otherwise. IDLE, LOADED and DELIVERED drones
+ * have no rule and never change on a tick.
+ */
+public final class DroneTransitions {
+    private static final Map<DroneState, Rule> RULES = new EnumMap<>(DroneState.class);
+
+    static {
+        // simulate delivery completion quickly for demo
+        RULES.put(DroneState.DELIVERING, new Rule(DroneState.DELIVERING, 5, 20, DroneState.RETURNING, DroneState.DELIVERED));
+        RULES.put(DroneState.RETURNING, new Rule(DroneState.RETURNING, 3, 0, DroneState.IDLE, DroneState.RETURNING));
+        RULES.put(DroneState.LOADING, new Rule(DroneState.LOADING, 1, 0, DroneState.LOADING, DroneState.LOADING));
+    }
+
+    private DroneTransitions() {}
+
+    /** States that change on a tick. */
+    public static Set<DroneState> activeStates() {
+        return RULES.keySet();
+    }
+
+    /** The rule for {@code state}, or null if drones in that state do not change. */
+    public static Rule ruleFor(DroneState state) {
+        return RULES.get(state);
+    }
+
+    public static final class Rule {
+        private final DroneState state;
+        private final int drain;
+        private final int threshold;
+        private final DroneState below;
+        private final DroneState above;
+
+        Rule(DroneState state, int drain, int threshold, DroneState below, DroneState above) {
+            this.state = state;
+            this.drain = drain;
+            this.threshold = threshold;
+            this.below = below;
+            this.above = above;
+        }
+
+        public DroneState getState() { return state; }
+        public int getDrain() { return drain; }
+        public int getThreshold() { return threshold; }
+        public DroneState getBelow() { return below; }
+        public DroneState getAbove() { return above; }
+
+        public int nextBattery(int battery) {
+            return Math.max(0, battery - drain);
+        }
+
+        public DroneState nextState(int battery) {
+            return nextBattery(battery) <= threshold ? below : above;
+        }
+
+        /** False when applying the rule would leave the drone exactly as it is. */
+        public boolean changes(int battery) {
+            return battery > 0 || state != below;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.droneservice.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code slots} buckets of {@code tickMillis} each, and
+ * every level above covers {@code slots} times the span of the one below. Adding an item and
+ * expiring it are O(1) amortised; items in a higher level are cascaded down once, when the
+ * wheel reaches their bucket. Deadlines are honoured to within one {@code tickMillis}. An item
+ * is on the wheel at most once: adding it again moves its deadline, and a cancelled or moved
+ * entry is only marked, then dropped when the wheel reaches its bucket.
+ */
+public class HierarchicalTimingWheel<T> {
+    private final int slots;
+    private final long[] tick;
+    private final List<Entry<T>>[][] buckets;
+    // each item's live entry
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private long currentTime;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int slots, int levels, long startTime) {
+        if (tickMillis <= 0 || slots < 2 || levels < 1) throw new IllegalArgumentException("Invalid timing wheel geometry");
+        this.slots = slots;
+        this.tick = new long[levels];
+        this.buckets = (List<Entry<T>>[][]) new List<?>[levels][slots];
+        for (int level = 0; level < levels; level++) {
+            tick[level] = level == 0 ? tickMillis : Math.multiplyExact(tick[level - 1], slots);
+        }
+        this.currentTime = startTime - Math.floorMod(startTime, tickMillis);
+    }
+
+    /** Schedules {@code item} for {@code deadline}, replacing the deadline it already had, if any. */
+    public synchronized void add(T item, long deadline) {
+        Entry<T> e = new Entry<>(item, deadline);
+        Entry<T> old = entries.put(item, e);
+        if (old != null) old.cancelled = true;
+        insert(e, false);
+    }
+
+    /** Takes {@code item} off the wheel; returns false if it was not on it. */
+    public synchronized boolean cancel(T item) {
+        Entry<T> e = entries.remove(item);
+        if (e == null) return false;
+        e.cancelled = true;
+        return true;
+    }
+
+    /** Moves the wheel forward to {@code now} and returns every item whose deadline has passed. */
+    public synchronized List<T> advance(long now) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tick[0] <= now) {
+            currentTime += tick[0];
+            for (int level = tick.length - 1; level > 0; level--) {
+                if (currentTime % tick[level] != 0) continue;
+                List<Entry<T>> bucket = take(level, slotOf(level, currentTime));
+                if (bucket == null) continue;
+                for (Entry<T> e : bucket) {
+                    if (!e.cancelled) insert(e, true);
+                }
+            }
+            List<Entry<T>> due = take(0, slotOf(0, currentTime));
+            if (due == null) continue;
+            for (Entry<T> e : due) {
+                if (e.cancelled) continue;
+                entries.remove(e.item);
+                expired.add(e.item);
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Places an entry in the lowest level whose span still reaches its deadline. While
+     * cascading, entries due within the current tick go to the level-0 bucket about to be
+     * drained; new entries always land at least one tick ahead.
+     */
+    private void insert(Entry<T> e, boolean cascading) {
+        long now = currentTime / tick[0];
+        long unit = Math.max(e.deadline / tick[0], cascading ? now : now + 1);
+        for (int level = 0; level < tick.length; level++) {
+            long current = currentTime / tick[level];
+            long target = level == 0 ? unit : e.deadline / tick[level];
+            if (target - current < slots || level == tick.length - 1) {
+                // beyond the top level's span: park in its farthest bucket and re-check on cascade
+                long clamped = Math.min(target, current + slots - 1);
+                bucket(level, (int) Math.floorMod(clamped, (long) slots)).add(e);
+                return;
+            }
+        }
+    }
+
+    private int slotOf(int level, long time) {
+        return (int) Math.floorMod(time / tick[level], (long) slots);
+    }
+
+    private List<Entry<T>> bucket(int level, int slot) {
+        List<Entry<T>> bucket = buckets[level][slot];
+        if (bucket == null) buckets[level][slot] = bucket = new ArrayList<>();
+        return bucket;
+    }
+
+    private List<Entry<T>> take(int level, int slot) {
+        List<Entry<T>> bucket = buckets[level][slot];
+        buckets[level][slot] = null;
+        return bucket;
+    }
+
+    private static final class Entry<T> {
+        final T item;
+        final long deadline;
+        boolean cancelled;
+
+        Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.config.ConnectionBudget;
+import com.example.droneservice.config.SimulatorProperties;
+import com.example.droneservice.repository.DroneRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the chunked tick over {@link ConnectionBudget#simulatorShards()} contiguous id ranges in parallel.
+ * Each shard holds a connection while its chunk commits, so there are never more than the pool has.
+ * Every chunk commits on its own, so a failing shard never rolls back another shard's work;
+ * it is retried from its last committed chunk, and if it keeps failing its remaining drones
+ * are simply left for the next tick.
+ */
+@Component
+public class ShardedTickRunner {
+    private static final Logger log = LoggerFactory.getLogger(ShardedTickRunner.class);
+
+    private final DroneRepository droneRepository;
+    private final ChunkedTickRunner chunkedTickRunner;
+    private final SimulatorProperties properties;
+    private final int shards;
+    private final ForkJoinPool pool;
+
+    public ShardedTickRunner(DroneRepository droneRepository, ChunkedTickRunner chunkedTickRunner,
+                             SimulatorProperties properties, ConnectionBudget connections) {
+        this.droneRepository = droneRepository;
+        this.chunkedTickRunner = chunkedTickRunner;
+        this.properties = properties;
+        this.shards = Math.max(1, connections.simulatorShards());
+        this.pool = new ForkJoinPool(shards);
+    }
+
+    public TickReport run() {
+        long start = System.currentTimeMillis();
+        TickReport report = new TickReport();
+        Long min = droneRepository.findMinIdByStateIn(DroneTransitions.activeStates());
+        Long max = droneRepository.findMaxIdByStateIn(DroneTransitions.activeStates());
+        if (min != null) {
+            int shards = (int) Math.max(1, Math.min(this.shards, max - min + 1));
+            long width = (max - min + 1 + shards - 1) / shards;
+            List<CompletableFuture<TickReport>> futures = new ArrayList<>(shards);
+            for (int i = 0; i < shards; i++) {
+                int shard = i;
+                long after = min - 1 + i * width;
+                long upTo = i == shards - 1 ? max : after + width;
+                futures.add(CompletableFuture.supplyAsync(() -> runShard(shard, after, upTo), pool));
+            }
+            futures.forEach(f -> report.addAll(f.join()));
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private TickReport runShard(int shard, long after, long upTo) {
+        TickReport report = new TickReport();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                chunkedTickRunner.runRange(report.resumeAfter(after), upTo, report);
+                return report;
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getShardRetries()) {
+                    log.warn("Simulator shard {} ({}..{}] failed after {} attempts, resuming next tick",
+                            shard, after, upTo, attempt + 1, e);
+                    report.markShardFailed();
+                    return report;
+                }
+                log.debug("Simulator shard {} failed, retrying after id {}", shard, report.resumeAfter(after), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.droneservice.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/** Tick duration and drone counters shared by both simulator engines, tagged by engine and mode. */
+final class SimulatorMeters {
+    private final Timer tick;
+    private final Counter scanned;
+    private final Counter changed;
+
+    SimulatorMeters(MeterRegistry registry, String engine, String mode) {
+        this.tick = Timer.builder("drone.simulator.tick")
+                .description("Time taken by one simulator tick")
+                .tag("engine", engine).tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.scanned = Counter.builder("drone.simulator.drones.scanned")
+                .description("Moving drones examined by simulator ticks")
+                .tag("engine", engine).tag("mode", mode)
+                .register(registry);
+        this.changed = Counter.builder("drone.simulator.drones.changed")
+                .description("Drones whose state or battery a simulator tick changed")
+                .tag("engine", engine).tag("mode", mode)
+                .register(registry);
+    }
+
+    void record(long startNanos, int scannedDrones, int changedDrones) {
+        tick.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        scanned.increment(scannedDrones);
+        changed.increment(changedDrones);
+    }
+}
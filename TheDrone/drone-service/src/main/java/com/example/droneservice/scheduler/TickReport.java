@@ -0,0 +1,49 @@
+package com.example.droneservice.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TickReport {
+    private final List<ChunkResult> chunks = new ArrayList<>();
+    private int failedShards;
+    private long elapsedMillis;
+
+    public void addChunk(ChunkResult chunk) { chunks.add(chunk); }
+    public void addAll(TickReport other) {
+        chunks.addAll(other.chunks);
+        failedShards += other.failedShards;
+    }
+    public void markShardFailed() { failedShards++; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    /** The id the next chunk should start after, given where the last committed chunk ended. */
+    public long resumeAfter(long start) {
+        return chunks.isEmpty() ? start : Math.max(start, chunks.get(chunks.size() - 1).getLastId());
+    }
+
+    public List<ChunkResult> getChunks() { return Collections.unmodifiableList(chunks); }
+    public int getFailedShards() { return failedShards; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public int getScanned() { return chunks.stream().mapToInt(ChunkResult::getScanned).sum(); }
+    public int getChanged() { return chunks.stream().mapToInt(ChunkResult::getChanged).sum(); }
+
+    public static class ChunkResult {
+        private final long firstId;
+        private final long lastId;
+        private final int scanned;
+        private final int changed;
+
+        public ChunkResult(long firstId, long lastId, int scanned, int changed) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.scanned = scanned;
+            this.changed = changed;
+        }
+
+        public long getFirstId() { return firstId; }
+        public long getLastId() { return lastId; }
+        public int getScanned() { return scanned; }
+        public int getChanged() { return changed; }
+    }
+}
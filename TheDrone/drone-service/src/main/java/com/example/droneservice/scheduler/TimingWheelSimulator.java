@@ -0,0 +1,134 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.config.SimulatorProperties;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.repository.DroneRepository;
+import com.example.droneservice.repository.DroneStatusView;
+import com.example.droneservice.store.FleetStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-driven alternative to {@link DroneStateSimulator}: each moving drone's next transition
+ * is scheduled {@code drone.simulator.interval} ms ahead on a {@link HierarchicalTimingWheel},
+ * and only drones whose deadline has passed are loaded and advanced. Drones are (re)scheduled
+ * from committed {@link FleetChangeEvent}s, so dispatches and the engine's own transitions
+ * keep the wheel populated, and a waiting drone that stops moving is taken off it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "drone.simulator", name = "engine", havingValue = "timing-wheel")
+public class TimingWheelSimulator {
+    private static final Logger log = LoggerFactory.getLogger(TimingWheelSimulator.class);
+    // a chunk that failed to commit is retried this soon rather than a whole interval later
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final DroneRepository droneRepository;
+    private final ChunkedTickRunner chunkedTickRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final SimulatorProperties properties;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final SimulatorMeters meters;
+    // TRUE: on the wheel, so repeated events don't schedule a drone twice; FALSE: due and being
+    // advanced, dropped once its chunk commits unless the commit's own events re-scheduled it
+    private final Map<Long, Boolean> scheduled = new ConcurrentHashMap<>();
+
+    public TimingWheelSimulator(DroneRepository droneRepository, ChunkedTickRunner chunkedTickRunner,
+                                TransactionTemplate transactionTemplate, SimulatorProperties properties,
+                                MeterRegistry meterRegistry, FleetStore store) {
+        if (!store.isTransactional()) throw new IllegalStateException("drone.simulator.engine=timing-wheel needs drone.store.engine=jpa");
+        this.droneRepository = droneRepository;
+        this.chunkedTickRunner = chunkedTickRunner;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        SimulatorProperties.Wheel geometry = properties.getWheel();
+        this.wheel = new HierarchicalTimingWheel<>(geometry.getTickMillis(), geometry.getSlots(), geometry.getLevels(),
+                System.currentTimeMillis());
+        this.meters = new SimulatorMeters(meterRegistry, "timing-wheel", "batched");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleMovingDrones() {
+        long after = 0;
+        while (true) {
+            List<DroneStatusView> page = droneRepository.findStatusPage(DroneTransitions.activeStates(), after,
+                    Long.MAX_VALUE, PageRequest.ofSize(properties.getChunkSize()));
+            if (page.isEmpty()) break;
+            long deadline = System.currentTimeMillis() + properties.getInterval();
+            page.forEach(v -> schedule(v.getId(), deadline));
+            after = page.get(page.size() - 1).getId();
+        }
+        log.info("Timing wheel simulator started with {} moving drones", wheel.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFleetChange(FleetChangeEvent event) {
+        for (DroneStatus s : event.getChanges()) {
+            if (DroneTransitions.ruleFor(s.getState()) != null) {
+                schedule(s.getId(), System.currentTimeMillis() + properties.getInterval());
+            } else {
+                unschedule(s.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${drone.simulator.wheel.tick-millis:100}")
+    public void advance() {
+        long start = System.nanoTime();
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) return;
+        int changed = 0;
+        for (int from = 0; from < due.size(); from += properties.getChunkSize()) {
+            List<Long> chunk = new ArrayList<>(due.subList(from, Math.min(due.size(), from + properties.getChunkSize())));
+            // the transitions below re-schedule drones that are still moving as they commit
+            chunk.forEach(id -> scheduled.replace(id, Boolean.TRUE, Boolean.FALSE));
+            try {
+                Integer n = transactionTemplate.execute(status ->
+                        chunkedTickRunner.advance(droneRepository.findStatusesByIdIn(chunk)));
+                changed += n == null ? 0 : n;
+            } catch (RuntimeException e) {
+                log.warn("Timing wheel chunk of {} drones failed; retrying it and {} more in {} ms",
+                        chunk.size(), due.size() - from - chunk.size(), RETRY_DELAY_MILLIS, e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                for (Long id : chunk) schedule(id, retryAt);
+                // not yet marked, so still TRUE and events skipped them, but already off the wheel
+                for (Long id : due.subList(from + chunk.size(), due.size())) wheel.add(id, retryAt);
+                break;
+            }
+            chunk.forEach(id -> scheduled.remove(id, Boolean.FALSE));
+        }
+        meters.record(start, due.size(), changed);
+        log.debug("Timing wheel advanced {} due drones, changed {}, {} still scheduled", due.size(), changed, wheel.size());
+    }
+
+    private void schedule(long droneId, long deadline) {
+        // atomic per drone, so a concurrent unschedule can't take the new deadline off the wheel
+        scheduled.compute(droneId, (id, waiting) -> {
+            if (!Boolean.TRUE.equals(waiting)) wheel.add(id, deadline);
+            return Boolean.TRUE;
+        });
+    }
+
+    private void unschedule(long droneId) {
+        // a drone being advanced is left to its chunk
+        scheduled.computeIfPresent(droneId, (id, waiting) -> {
+            if (!waiting) return waiting;
+            wheel.cancel(id);
+            return null;
+        });
+    }
+}
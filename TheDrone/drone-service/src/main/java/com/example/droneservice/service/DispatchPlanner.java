@@ -0,0 +1,171 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.DispatchPlanDto;
+import com.example.droneservice.dto.DispatchPlanRequest;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns pending medications to available drones with best-fit decreasing: heaviest items
+ * first, each onto the drone whose remaining capacity fits it most tightly. Large inputs are
+ * split into partitions packed in parallel, with a final sequential pass placing whatever the
+ * partitions could not fit into capacity left over anywhere in the fleet. Items are checked with
+ * the same {@link DroneRules} a load applies, so a planned item is one the load will take.
+ */
+@Service
+public class DispatchPlanner {
+    static final int PARALLEL_THRESHOLD = 20000;
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    private final FleetStore store;
+    private final FleetAvailabilityIndex availabilityIndex;
+    private final DroneRules rules;
+    private final DroneService droneService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DispatchPlanner(FleetStore store, FleetAvailabilityIndex availabilityIndex, DroneRules rules,
+                           DroneService droneService, TransactionTemplate transactionTemplate) {
+        this.store = store;
+        this.availabilityIndex = availabilityIndex;
+        this.rules = rules;
+        this.droneService = droneService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public DispatchPlanDto plan(DispatchPlanRequest request) {
+        long start = System.currentTimeMillis();
+        List<CreateMedicationRequest> items = request.getItems() != null ? request.getItems() : List.of();
+        int[] weights = new int[items.size()];
+        List<Integer> unassigned = new ArrayList<>();
+        Map<Integer, String> invalid = new TreeMap<>();
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateMedicationRequest item = items.get(i);
+            String error = rules.medicationError(item);
+            if (error != null) {
+                unassigned.add(i);
+                invalid.put(i, error);
+                continue;
+            }
+            weights[i] = item.getWeight();
+            valid.add(i);
+        }
+        valid.sort(Comparator.comparingInt((Integer i) -> weights[i]).reversed());
+
+        List<Bin> bins = availableBins();
+        int parts = Math.min(ForkJoinPool.commonPool().getParallelism(), bins.size());
+        unassigned.addAll(valid.size() >= PARALLEL_THRESHOLD && parts > 1
+                ? packParallel(bins, valid, weights, parts)
+                : pack(bins, valid, weights));
+        unassigned.sort(null);
+
+        List<DispatchPlanDto.Assignment> assignments = bins.stream()
+                .filter(b -> !b.items.isEmpty())
+                .sorted(Comparator.comparingLong(b -> b.droneId))
+                .map(b -> new DispatchPlanDto.Assignment(b.droneId, b.load, b.items))
+                .collect(Collectors.toList());
+        long planningMillis = System.currentTimeMillis() - start;
+
+        boolean applied = false;
+        if (request.isApply() && !assignments.isEmpty()) {
+            // all or nothing: a drone that changed since planning rolls the whole plan back
+            // (with a store that is not transactional, the loads before it stay applied)
+            transactionTemplate.executeWithoutResult(status -> {
+                for (DispatchPlanDto.Assignment a : assignments) {
+                    LoadRequest load = new LoadRequest();
+                    load.setMedications(a.getItems().stream().map(items::get).collect(Collectors.toList()));
+                    droneService.loadDrone(a.getDroneId(), load);
+                }
+            });
+            applied = true;
+        }
+        return new DispatchPlanDto(assignments, unassigned, invalid, applied, planningMillis);
+    }
+
+    private List<Bin> availableBins() {
+        List<Long> ids = availabilityIndex.availableIds(DroneRules.MIN_BATTERY);
+        List<Bin> bins = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_LOOKUP_CHUNK));
+            for (DroneRecord v : store.findDrones(chunk)) {
+                // the index trails uncommitted work, so re-check against the row
+                if (v.getState() != DroneState.IDLE || v.getBatteryCapacity() < DroneRules.MIN_BATTERY) continue;
+                int remaining = v.getModel().getCapacity() - v.getCurrentLoadWeight();
+                if (remaining > 0) bins.add(new Bin(v.getId(), remaining));
+            }
+        }
+        return bins;
+    }
+
+    private static List<Integer> packParallel(List<Bin> bins, List<Integer> sortedItems, int[] weights, int parts) {
+        // deal drones and items round-robin, so each partition gets a similar mix of both
+        List<Bin> byCapacity = new ArrayList<>(bins);
+        byCapacity.sort(Comparator.comparingInt((Bin b) -> b.remaining).reversed());
+        List<List<Bin>> binParts = new ArrayList<>(parts);
+        List<List<Integer>> itemParts = new ArrayList<>(parts);
+        for (int p = 0; p < parts; p++) {
+            binParts.add(new ArrayList<>());
+            itemParts.add(new ArrayList<>());
+        }
+        for (int i = 0; i < byCapacity.size(); i++) binParts.get(i % parts).add(byCapacity.get(i));
+        for (int i = 0; i < sortedItems.size(); i++) itemParts.get(i % parts).add(sortedItems.get(i));
+
+        List<Integer> leftovers = IntStream.range(0, parts).parallel()
+                .mapToObj(p -> pack(binParts.get(p), itemParts.get(p), weights))
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt((Integer i) -> weights[i]).reversed())
+                .collect(Collectors.toList());
+        return pack(bins, leftovers, weights);
+    }
+
+    /** Best-fit over {@code items} (heaviest first); returns the items that fit nowhere. */
+    private static List<Integer> pack(List<Bin> bins, List<Integer> items, int[] weights) {
+        TreeMap<Integer, ArrayDeque<Bin>> byRemaining = new TreeMap<>();
+        for (Bin b : bins) {
+            if (b.remaining > 0) byRemaining.computeIfAbsent(b.remaining, r -> new ArrayDeque<>()).push(b);
+        }
+        List<Integer> leftovers = new ArrayList<>();
+        for (int item : items) {
+            int w = weights[item];
+            Map.Entry<Integer, ArrayDeque<Bin>> fit = byRemaining.ceilingEntry(w);
+            if (fit == null) {
+                leftovers.add(item);
+                continue;
+            }
+            Bin bin = fit.getValue().pop();
+            if (fit.getValue().isEmpty()) byRemaining.remove(fit.getKey());
+            bin.items.add(item);
+            bin.load += w;
+            bin.remaining -= w;
+            if (bin.remaining > 0) byRemaining.computeIfAbsent(bin.remaining, r -> new ArrayDeque<>()).push(bin);
+        }
+        return leftovers;
+    }
+
+    private static final class Bin {
+        final long droneId;
+        final List<Integer> items = new ArrayList<>();
+        int remaining;
+        int load;
+
+        Bin(long droneId, int remaining) {
+            this.droneId = droneId;
+            this.remaining = remaining;
+        }
+    }
+}
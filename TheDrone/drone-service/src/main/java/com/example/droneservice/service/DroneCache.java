@@ -0,0 +1,154 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.config.CacheProperties;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.event.DronePosition;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.FleetChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongFunction;
+
+/**
+ * Read-through cache of {@link DroneDto} by id, bounded by {@code drone.cache.max-size} and split
+ * into segments, each evicting its least recently used entry. Every {@link FleetChangeEvent} and
+ * {@link DronesMovedEvent} marks its drones as being written when published, inside the writing transaction, and
+ * releases them once that transaction completes. Reads of a drone being written bypass the cache,
+ * and a value read from the database is cached only if no write to that drone started in the
+ * meantime, so the cache never serves anything older than the last committed transition.
+ */
+@Component
+public class DroneCache {
+    private static final int SEGMENTS = 16;
+    private static final int STRIPES = 1024;
+
+    private final boolean enabled;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    // per id stripe: writes in flight, and a stamp bumped by every write
+    private final AtomicIntegerArray writing = new AtomicIntegerArray(STRIPES);
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DroneCache(CacheProperties properties) {
+        this.enabled = properties.isEnabled() && properties.getMaxSize() > 0;
+        int perSegment = Math.max(1, properties.getMaxSize() / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment(perSegment);
+    }
+
+    public DroneDto get(long id, LongFunction<DroneDto> loader) {
+        if (!enabled) return loader.apply(id);
+        int stripe = stripe(id);
+        Segment segment = segment(id);
+        if (writing.get(stripe) == 0) {
+            DroneDto cached = segment.get(id);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        long stamp = stamps.get(stripe);
+        boolean cacheable = writing.get(stripe) == 0;
+        DroneDto loaded = loader.apply(id);
+        if (cacheable && loaded != null) segment.putIf(id, loaded, () -> stamps.get(stripe) == stamp);
+        return loaded;
+    }
+
+    @EventListener
+    @Order(0)
+    public void beforeCommit(FleetChangeEvent event) {
+        if (!enabled) return;
+        for (DroneStatus s : event.getChanges()) writeStarted(s.getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    @Order(1)
+    public void afterCompletion(FleetChangeEvent event) {
+        if (!enabled) return;
+        for (DroneStatus s : event.getChanges()) writeEnded(s.getId());
+    }
+
+    @EventListener
+    @Order(0)
+    public void beforeCommit(DronesMovedEvent event) {
+        if (!enabled) return;
+        for (DronePosition p : event.getPositions()) writeStarted(p.getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    @Order(1)
+    public void afterCompletion(DronesMovedEvent event) {
+        if (!enabled) return;
+        for (DronePosition p : event.getPositions()) writeEnded(p.getId());
+    }
+
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long evictions() { return evictions.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment s : segments) size += s.size();
+        return size;
+    }
+
+    private void writeStarted(long id) {
+        int stripe = stripe(id);
+        writing.incrementAndGet(stripe);
+        stamps.incrementAndGet(stripe);
+        segment(id).remove(id);
+    }
+
+    private void writeEnded(long id) {
+        int stripe = stripe(id);
+        stamps.incrementAndGet(stripe);
+        segment(id).remove(id);
+        writing.decrementAndGet(stripe);
+    }
+
+    private Segment segment(long id) {
+        return segments[(int) Math.floorMod(id, (long) SEGMENTS)];
+    }
+
+    private static int stripe(long id) {
+        return Math.floorMod(Long.hashCode(id), STRIPES);
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<Long, DroneDto> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, DroneDto> eldest) {
+                    if (size() <= capacity) return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        synchronized DroneDto get(long id) { return entries.get(id); }
+
+        synchronized void putIf(long id, DroneDto dto, BooleanSupplier unchanged) {
+            if (unchanged.getAsBoolean()) entries.put(id, dto);
+        }
+
+        synchronized void remove(long id) { entries.remove(id); }
+
+        synchronized int size() { return entries.size(); }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.DroneRegistrationResult;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.model.entity.Medication;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.MedicationRecord;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The business rules of registering, loading and dispatching drones, shared by
+ * {@link DroneServiceImpl} and the reactive services. Each takes and returns records, so a caller
+ * applies them inside whatever read-check-write its storage offers.
+ */
+@Component
+public class DroneRules {
+    public static final int MIN_BATTERY = 25;
+    private static final int MAX_BATCH_REGISTRATION = 10000;
+    private static final String POSITION_PAIR = "Latitude and longitude must be given together";
+
+    private final Validator validator;
+    private final MedicationImages medicationImages;
+
+    public DroneRules(Validator validator, MedicationImages medicationImages) {
+        this.validator = validator;
+        this.medicationImages = medicationImages;
+    }
+
+    public static void checkWeightLimit(CreateDroneRequest request) {
+        if (request.getWeightLimit() > request.getModel().getCapacity()) throw new IllegalArgumentException("Weight limit exceeds model capacity");
+    }
+
+    /**
+     * Checks each request of a batch registration, recording a rejection in {@code results} for
+     * those that fail, and returns the indexes of the rest. A serial number repeated within the
+     * batch is accepted the first time only.
+     */
+    public List<Integer> screen(List<CreateDroneRequest> requests, DroneRegistrationResult[] results) {
+        if (requests.size() > MAX_BATCH_REGISTRATION) throw new IllegalArgumentException("At most " + MAX_BATCH_REGISTRATION + " drones per batch");
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateDroneRequest r = requests.get(i);
+            String error = registrationError(r);
+            if (error == null && accepted.putIfAbsent(r.getSerialNumber(), i) != null) error = "Duplicate serial number in batch";
+            if (error != null) results[i] = DroneRegistrationResult.rejected(i, r == null ? null : r.getSerialNumber(), error);
+        }
+        return new ArrayList<>(accepted.values());
+    }
+
+    private String registrationError(CreateDroneRequest r) {
+        if (r == null) return "Missing drone";
+        for (ConstraintViolation<CreateDroneRequest> v : validator.validate(r)) {
+            return v.getPropertyPath() + " " + v.getMessage();
+        }
+        if (r.getWeightLimit() > r.getModel().getCapacity()) return "Weight limit exceeds model capacity";
+        if ((r.getLatitude() == null) != (r.getLongitude() == null)) return POSITION_PAIR;
+        return null;
+    }
+
+    public static DroneRecord draft(CreateDroneRequest r) {
+        DroneRecord draft = DroneRecord.draft(r.getSerialNumber(), r.getModel(), r.getWeightLimit(), r.getBatteryCapacity(), null);
+        if (r.getLatitude() == null && r.getLongitude() == null) return draft;
+        if (r.getLatitude() == null || r.getLongitude() == null) throw new IllegalArgumentException(POSITION_PAIR);
+        return draft.withPosition(r.getLatitude(), r.getLongitude());
+    }
+
+    /**
+     * The medications of one load request, validated and ready to store against the drone. Checked
+     * here rather than on insert, since a store without transactions has already updated the drone.
+     * Inline images are written to the blob store, so this blocks.
+     */
+    public List<MedicationRecord> drafts(long droneId, LoadRequest request) {
+        if (CollectionUtils.isEmpty(request.getMedications())) return List.of();
+        List<MedicationRecord> meds = new ArrayList<>(request.getMedications().size());
+        for (CreateMedicationRequest cm : request.getMedications()) {
+            String error = constraintError(cm);
+            if (error != null) throw new IllegalArgumentException(error);
+            meds.add(MedicationRecord.draft(cm.getName(), cm.getWeight(), cm.getCode(), medicationImages.resolve(cm), droneId));
+        }
+        return meds;
+    }
+
+    /**
+     * Why {@link #drafts} would refuse the medication, or null if it would take it. Stores no
+     * image, so a planner can screen items it may never load.
+     */
+    public String medicationError(CreateMedicationRequest cm) {
+        String error = constraintError(cm);
+        return error != null ? error : medicationImages.imageError(cm);
+    }
+
+    private String constraintError(CreateMedicationRequest cm) {
+        if (cm == null) return "Missing medication";
+        for (ConstraintViolation<Medication> v : validator.validate(new Medication(cm.getName(), cm.getWeight(), cm.getCode(), null))) {
+            return "Medication " + v.getPropertyPath() + " " + v.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Checks {@code incoming} weight against the drone, counting {@code pending} weight already
+     * admitted in the same operation.
+     */
+    public static void admit(DroneRecord drone, int incoming, int pending) {
+        if (drone.getBatteryCapacity() < MIN_BATTERY) throw new IllegalStateException("Battery too low to load");
+        if (drone.getCurrentLoadWeight() + pending + incoming > drone.getModel().getCapacity()) throw new IllegalStateException("Exceeds capacity");
+    }
+
+    public static DroneRecord loaded(DroneRecord drone, int weight, int items) {
+        return drone.withLoad(drone.getCurrentLoadWeight() + weight, drone.getLoadedItemCount() + items)
+                .withStatus(DroneState.LOADED, drone.getBatteryCapacity());
+    }
+
+    public static DroneRecord dispatched(DroneRecord drone) {
+        if (drone.getState() != DroneState.LOADED) throw new IllegalStateException("Drone not loaded");
+        if (drone.getBatteryCapacity() < MIN_BATTERY) throw new IllegalStateException("Battery too low to dispatch");
+        return drone.withStatus(DroneState.DELIVERING, drone.getBatteryCapacity());
+    }
+
+    public static boolean isAvailable(DroneState state, int batteryCapacity) {
+        return state == DroneState.IDLE && batteryCapacity >= MIN_BATTERY;
+    }
+}
@@ -1,20 +1,39 @@
 package com.example.droneservice.service;
 
 import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.DroneField;
+import com.example.droneservice.dto.DroneRegistrationResult;
 import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.NearbyDroneDto;
+import com.example.droneservice.dto.PositionRequest;
 import com.example.droneservice.model.entity.Medication;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface DroneService {
     DroneDto registerDrone(CreateDroneRequest request);
+    List<DroneRegistrationResult> registerDrones(List<CreateDroneRequest> requests);
     DroneDto getDrone(Long id);
     List<DroneDto> listDrones();
+    CursorPage<DroneDto> listDrones(Long after, int limit);
+    void streamDrones(Consumer<DroneDto> sink);
     List<DroneDto> availableDrones();
+    /** Sparse variants of the listings: each drone as a map holding only {@code fields}. */
+    List<Map<String, Object>> listDrones(List<DroneField> fields);
+    CursorPage<Map<String, Object>> listDrones(Long after, int limit, List<DroneField> fields);
+    List<Map<String, Object>> availableDrones(List<DroneField> fields);
     void loadDrone(Long id, LoadRequest request);
+    /** Applies several load requests to one drone in a single transaction; returns null or an error per request. */
+    List<String> loadDroneBatch(Long id, List<LoadRequest> requests);
     List<com.example.droneservice.dto.MedicationDto> getMedications(Long id);
     int getBattery(Long id);
     void dispatch(Long id);
+    DroneDto updatePosition(Long id, PositionRequest request);
+    /** The {@code k} available drones nearest to the point whose model carries at least {@code minCapacity}, closest first. */
+    List<NearbyDroneDto> nearestDrones(double latitude, double longitude, int minCapacity, int k);
 }
 
@@ -1,111 +1,331 @@
 package com.example.droneservice.service;
 
 import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.DroneField;
+import com.example.droneservice.dto.DroneRegistrationResult;
 import com.example.droneservice.dto.LoadRequest;
 import com.example.droneservice.dto.MedicationDto;
-import com.example.droneservice.model.entity.Drone;
-import com.example.droneservice.model.entity.Medication;
+import com.example.droneservice.dto.NearbyDroneDto;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.event.MedicationsChangedEvent;
 import com.example.droneservice.model.enums.DroneState;
-import com.example.droneservice.repository.DroneRepository;
-import com.example.droneservice.repository.MedicationRepository;
-import jakarta.transaction.Transactional;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class DroneServiceImpl implements DroneService {
-    private final DroneRepository droneRepository;
-    private final MedicationRepository medicationRepository;
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final int ID_LOOKUP_CHUNK = 1000;
+    // rows per query when a sparse listing walks the whole table
+    static final int SCAN_PAGE = 10000;
+    static final int MAX_NEAREST = 100;
 
-    public DroneServiceImpl(DroneRepository droneRepository, MedicationRepository medicationRepository) {
-        this.droneRepository = droneRepository;
-        this.medicationRepository = medicationRepository;
+    private final FleetStore store;
+    private final FleetAvailabilityIndex availabilityIndex;
+    private final FleetSpatialIndex spatialIndex;
+    private final ApplicationEventPublisher events;
+    private final DroneRules rules;
+    private final DroneWriteExecutor writeExecutor;
+    private final DroneCache droneCache;
+
+    public DroneServiceImpl(FleetStore store, FleetAvailabilityIndex availabilityIndex, FleetSpatialIndex spatialIndex,
+                            ApplicationEventPublisher events, DroneRules rules, DroneWriteExecutor writeExecutor, DroneCache droneCache) {
+        this.store = store;
+        this.availabilityIndex = availabilityIndex;
+        this.spatialIndex = spatialIndex;
+        this.events = events;
+        this.rules = rules;
+        this.writeExecutor = writeExecutor;
+        this.droneCache = droneCache;
     }
 
     @Override
-    @Transactional
     public DroneDto registerDrone(CreateDroneRequest request) {
-        Optional<Drone> existing = droneRepository.findBySerialNumber(request.getSerialNumber());
-        if (existing.isPresent()) throw new IllegalArgumentException("Serial number already exists");
-        if (request.getWeightLimit() > request.getModel().getCapacity()) throw new IllegalArgumentException("Weight limit exceeds model capacity");
-        Drone drone = new Drone(request.getSerialNumber(), request.getModel(), request.getWeightLimit(), request.getBatteryCapacity(), null);
-        Drone saved = droneRepository.save(drone);
-        return toDto(saved);
+        DroneRules.checkWeightLimit(request);
+        DroneRecord draft = DroneRules.draft(request);
+        return writeExecutor.register(() -> {
+            DroneRecord saved = store.createDrones(List.of(draft)).get(0);
+            if (saved == null) throw new IllegalArgumentException("Serial number already exists");
+            events.publishEvent(new DronesRegisteredEvent(List.of(toDto(saved))));
+            events.publishEvent(FleetChangeEvent.of(saved));
+            return toDto(saved);
+        });
+    }
+
+    @Override
+    public List<DroneRegistrationResult> registerDrones(List<CreateDroneRequest> requests) {
+        DroneRegistrationResult[] results = new DroneRegistrationResult[requests.size()];
+        List<Integer> indexes = rules.screen(requests, results);
+        List<DroneRecord> drafts = new ArrayList<>(indexes.size());
+        for (int i : indexes) drafts.add(DroneRules.draft(requests.get(i)));
+        return writeExecutor.register(() -> register(results, indexes, drafts));
+    }
+
+    private List<DroneRegistrationResult> register(DroneRegistrationResult[] results, List<Integer> indexes, List<DroneRecord> drafts) {
+        List<DroneRecord> saved = store.createDrones(drafts);
+        List<DroneStatus> created = new ArrayList<>(saved.size());
+        List<DroneDto> registered = new ArrayList<>(saved.size());
+        for (int k = 0; k < saved.size(); k++) {
+            int i = indexes.get(k);
+            DroneRecord drone = saved.get(k);
+            if (drone == null) {
+                results[i] = DroneRegistrationResult.rejected(i, drafts.get(k).getSerialNumber(), "Serial number already exists");
+                continue;
+            }
+            results[i] = DroneRegistrationResult.created(i, drone.getSerialNumber(), drone.getId());
+            created.add(new DroneStatus(drone.getId(), drone.getState(), drone.getBatteryCapacity(), drone.getVersion()));
+            registered.add(toDto(drone));
+        }
+        if (!created.isEmpty()) {
+            events.publishEvent(new DronesRegisteredEvent(registered));
+            events.publishEvent(new FleetChangeEvent(created));
+        }
+        return List.of(results);
     }
 
     @Override
     public DroneDto getDrone(Long id) {
-        Drone d = droneRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
-        return toDto(d);
+        return droneCache.get(id, this::fetchDrone);
+    }
+
+    private DroneDto fetchDrone(long id) {
+        return store.findDrone(id).map(DroneServiceImpl::toDto).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
     }
 
     @Override
     public List<DroneDto> listDrones() {
-        return droneRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
+        List<DroneDto> drones = new ArrayList<>();
+        store.forEachDrone(d -> drones.add(toDto(d)));
+        return drones;
+    }
+
+    @Override
+    public CursorPage<DroneDto> listDrones(Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<DroneDto> items = store.dronePage(after == null ? 0 : after, size)
+                .stream().map(DroneServiceImpl::toDto).collect(Collectors.toList());
+        Long next = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    public void streamDrones(Consumer<DroneDto> sink) {
+        store.forEachDrone(d -> sink.accept(toDto(d)));
     }
 
     @Override
     public List<DroneDto> availableDrones() {
-        return droneRepository.findAll().stream()
-                .filter(d -> d.getState() == DroneState.IDLE && d.getBatteryCapacity() >= 25)
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<Long> ids = availabilityIndex.availableIds(DroneRules.MIN_BATTERY);
+        List<DroneDto> result = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_LOOKUP_CHUNK));
+            store.findDrones(chunk).stream()
+                    // the index trails uncommitted work, so re-check against the row we loaded
+                    .filter(d -> DroneRules.isAvailable(d.getState(), d.getBatteryCapacity()))
+                    .sorted(Comparator.comparingLong(DroneRecord::getId))
+                    .map(DroneServiceImpl::toDto)
+                    .forEach(result::add);
+        }
+        return result;
     }
 
     @Override
-    @Transactional
-    public void loadDrone(Long id, LoadRequest request) {
-        Drone drone = droneRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
-        if (drone.getBatteryCapacity() < 25) throw new IllegalStateException("Battery too low to load");
-        int currentLoad = drone.getMedications().stream().mapToInt(Medication::getWeight).sum();
-        int incoming = 0;
-        if (!CollectionUtils.isEmpty(request.getMedications())) {
-            incoming = request.getMedications().stream().mapToInt(m -> m.getWeight()).sum();
+    public List<Map<String, Object>> listDrones(List<DroneField> fields) {
+        List<String> properties = fields.stream().map(DroneField::property).collect(Collectors.toList());
+        List<Map<String, Object>> drones = new ArrayList<>();
+        for (long after = 0; ; ) {
+            List<Object[]> rows = store.droneRows(after, SCAN_PAGE, fields);
+            for (Object[] row : rows) drones.add(sparse(row, properties));
+            if (rows.size() < SCAN_PAGE) return drones;
+            after = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+    }
+
+    @Override
+    public CursorPage<Map<String, Object>> listDrones(Long after, int limit, List<DroneField> fields) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<String> properties = fields.stream().map(DroneField::property).collect(Collectors.toList());
+        List<Object[]> rows = store.droneRows(after == null ? 0 : after, size, fields);
+        List<Map<String, Object>> items = rows.stream().map(row -> sparse(row, properties)).collect(Collectors.toList());
+        Long next = rows.size() == size ? ((Number) rows.get(size - 1)[0]).longValue() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    public List<Map<String, Object>> availableDrones(List<DroneField> fields) {
+        List<String> properties = fields.stream().map(DroneField::property).collect(Collectors.toList());
+        // state and battery are read after the requested fields, for the re-check below
+        List<DroneField> read = new ArrayList<>(fields);
+        read.add(DroneField.STATE);
+        read.add(DroneField.BATTERY_CAPACITY);
+        int state = fields.size() + 1;
+        List<Long> ids = availabilityIndex.availableIds(DroneRules.MIN_BATTERY);
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_LOOKUP_CHUNK));
+            store.droneRows(chunk, read).stream()
+                    .filter(row -> DroneRules.isAvailable((DroneState) row[state], ((Number) row[state + 1]).intValue()))
+                    .sorted(Comparator.comparingLong(row -> ((Number) row[0]).longValue()))
+                    .map(row -> sparse(row, properties))
+                    .forEach(result::add);
         }
-        if (currentLoad + incoming > drone.getModel().getCapacity()) throw new IllegalStateException("Exceeds capacity");
-        drone.setState(DroneState.LOADING);
-        droneRepository.save(drone);
-        if (!CollectionUtils.isEmpty(request.getMedications())) {
-            for (com.example.droneservice.dto.CreateMedicationRequest cm : request.getMedications()) {
-                Medication med = new Medication(cm.getName(), cm.getWeight(), cm.getCode(), cm.getImage());
-                med.setDrone(drone);
-                medicationRepository.save(med);
-                drone.getMedications().add(med);
+        return result;
+    }
+
+    @Override
+    public void loadDrone(Long id, LoadRequest request) {
+        writeExecutor.write(id, () -> {
+            List<MedicationRecord> meds = rules.drafts(id, request);
+            int incoming = meds.stream().mapToInt(MedicationRecord::getWeight).sum();
+            DroneRecord drone = store.updateDrone(id, d -> {
+                DroneRules.admit(d, incoming, 0);
+                return DroneRules.loaded(d, incoming, meds.size());
+            });
+            commitLoad(drone, meds);
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> loadDroneBatch(Long id, List<LoadRequest> requests) {
+        return writeExecutor.write(id, () -> {
+            // images are resolved once, up front; the admission below may be retried
+            List<List<MedicationRecord>> drafts = new ArrayList<>(requests.size());
+            List<String> invalid = new ArrayList<>(requests.size());
+            for (LoadRequest request : requests) {
+                try {
+                    drafts.add(rules.drafts(id, request));
+                    invalid.add(null);
+                } catch (IllegalArgumentException e) {
+                    drafts.add(List.of());
+                    invalid.add(e.getMessage());
+                }
             }
+            List<String> errors = new ArrayList<>(requests.size());
+            DroneRecord drone = store.updateDrone(id, d -> {
+                errors.clear();
+                int weight = 0;
+                int items = 0;
+                for (int i = 0; i < requests.size(); i++) {
+                    if (invalid.get(i) != null) {
+                        errors.add(invalid.get(i));
+                        continue;
+                    }
+                    int incoming = drafts.get(i).stream().mapToInt(MedicationRecord::getWeight).sum();
+                    try {
+                        DroneRules.admit(d, incoming, weight);
+                        weight += incoming;
+                        items += drafts.get(i).size();
+                        errors.add(null);
+                    } catch (IllegalStateException e) {
+                        errors.add(e.getMessage());
+                    }
+                }
+                return errors.contains(null) ? DroneRules.loaded(d, weight, items) : d;
+            });
+            List<MedicationRecord> meds = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                if (errors.get(i) == null) meds.addAll(drafts.get(i));
+            }
+            if (errors.contains(null)) commitLoad(drone, meds);
+            return errors;
+        });
+    }
+
+    private void commitLoad(DroneRecord drone, List<MedicationRecord> drafts) {
+        if (!drafts.isEmpty()) {
+            List<MedicationRecord> meds = store.createMedications(drafts);
+            events.publishEvent(new MedicationsChangedEvent(meds.stream().map(DroneServiceImpl::toDto).collect(Collectors.toList())));
         }
-        drone.setState(DroneState.LOADED);
-        droneRepository.save(drone);
+        events.publishEvent(FleetChangeEvent.of(drone));
     }
 
     @Override
     public List<MedicationDto> getMedications(Long id) {
-        List<Medication> meds = medicationRepository.findByDroneId(id);
-        return meds.stream().map(m -> new MedicationDto(m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImage(), m.getDrone() != null ? m.getDrone().getId() : null)).collect(Collectors.toList());
+        return store.medicationsOf(id).stream().map(DroneServiceImpl::toDto).collect(Collectors.toList());
     }
 
     @Override
     public int getBattery(Long id) {
-        Drone d = droneRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
-        return d.getBatteryCapacity();
+        return getDrone(id).getBatteryCapacity();
     }
 
     @Override
-    @Transactional
     public void dispatch(Long id) {
-        Drone drone = droneRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
-        if (drone.getState() != DroneState.LOADED) throw new IllegalStateException("Drone not loaded");
-        if (drone.getBatteryCapacity() < 25) throw new IllegalStateException("Battery too low to dispatch");
-        drone.setState(DroneState.DELIVERING);
-        droneRepository.save(drone);
+        writeExecutor.write(id, () -> {
+            DroneRecord drone = store.updateDrone(id, DroneRules::dispatched);
+            events.publishEvent(FleetChangeEvent.of(drone));
+            return null;
+        });
     }
 
-    private DroneDto toDto(Drone d) {
-        return new DroneDto(d.getId(), d.getSerialNumber(), d.getModel(), d.getWeightLimit(), d.getBatteryCapacity(), d.getState());
+    @Override
+    public DroneDto updatePosition(Long id, PositionRequest request) {
+        return writeExecutor.write(id, () -> {
+            DroneRecord drone = store.updateDrone(id, d -> d.withPosition(request.getLatitude(), request.getLongitude()));
+            events.publishEvent(DronesMovedEvent.of(drone));
+            return toDto(drone);
+        });
+    }
+
+    @Override
+    public List<NearbyDroneDto> nearestDrones(double latitude, double longitude, int minCapacity, int k) {
+        List<FleetSpatialIndex.Neighbor> neighbors = nearest(spatialIndex, availabilityIndex, latitude, longitude, minCapacity, k);
+        List<Long> ids = neighbors.stream().map(FleetSpatialIndex.Neighbor::getId).collect(Collectors.toList());
+        return nearby(neighbors, store.findDrones(ids), minCapacity);
+    }
+
+    static List<FleetSpatialIndex.Neighbor> nearest(FleetSpatialIndex spatialIndex, FleetAvailabilityIndex availabilityIndex,
+                                                    double latitude, double longitude, int minCapacity, int k) {
+        return spatialIndex.nearest(latitude, longitude, minCapacity, Math.min(k, MAX_NEAREST),
+                id -> availabilityIndex.isAvailable(id, DroneRules.MIN_BATTERY));
+    }
+
+    /** The neighbors whose loaded rows still qualify, in the neighbors' order; both indexes trail uncommitted work. */
+    static List<NearbyDroneDto> nearby(List<FleetSpatialIndex.Neighbor> neighbors, Collection<DroneRecord> drones, int minCapacity) {
+        Map<Long, DroneRecord> byId = new HashMap<>();
+        for (DroneRecord d : drones) byId.put(d.getId(), d);
+        List<NearbyDroneDto> result = new ArrayList<>(neighbors.size());
+        for (FleetSpatialIndex.Neighbor n : neighbors) {
+            DroneRecord d = byId.get(n.getId());
+            if (d == null || !DroneRules.isAvailable(d.getState(), d.getBatteryCapacity()) || d.getModel().getCapacity() < minCapacity) continue;
+            result.add(new NearbyDroneDto(toDto(d), n.getDistanceKm()));
+        }
+        return result;
     }
-}
 
+    /** A row from one of the store's {@code ...Rows} reads (id first) as a map of the given properties. */
+    static Map<String, Object> sparse(Object[] row, List<String> properties) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < properties.size(); i++) values.put(properties.get(i), row[i + 1]);
+        return values;
+    }
+
+    static MedicationDto toDto(MedicationRecord m) {
+        return new MedicationDto(m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImageRef(), m.getDroneId());
+    }
+
+    static DroneDto toDto(DroneRecord d) {
+        return new DroneDto(d.getId(), d.getSerialNumber(), d.getModel(), d.getWeightLimit(), d.getBatteryCapacity(), d.getState(),
+                DroneRecord.coordinate(d.getLatitude()), DroneRecord.coordinate(d.getLongitude()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.config.ConcurrencyProperties;
+import com.example.droneservice.store.FleetStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-check-write on one drone in its own transaction. Conflicts detected through
+ * {@code Drone.version} are retried up to {@code drone.concurrency.max-attempts} times with
+ * jittered backoff. With {@code drone.concurrency.striped-locks} enabled, writers to the same
+ * drone also queue on an in-process lock striped by drone id, so a hot drone sees few
+ * conflicts in the first place. A store without transactions resolves races itself, so its
+ * writes run once, under the stripe lock alone. Registrations get the same retries for a serial
+ * number that another transaction committed after they checked it.
+ */
+@Component
+public class DroneWriteExecutor {
+    private static final Logger log = LoggerFactory.getLogger(DroneWriteExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrencyProperties properties;
+    private final FleetStore store;
+    private final ReentrantLock[] stripes;
+    private final LongAdder retries = new LongAdder();
+
+    public DroneWriteExecutor(TransactionTemplate transactionTemplate, ConcurrencyProperties properties, FleetStore store) {
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.store = store;
+        this.stripes = new ReentrantLock[properties.isStripedLocks() ? Math.max(1, properties.getStripes()) : 0];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new ReentrantLock();
+    }
+
+    public <T> T write(long droneId, Supplier<T> work) {
+        // inside a caller's transaction a retry cannot help: the conflict rolls back the whole unit
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return work.get();
+        ReentrantLock lock = stripes.length == 0 ? null : stripes[Math.floorMod(Long.hashCode(droneId), stripes.length)];
+        if (lock != null) lock.lock();
+        try {
+            if (!store.isTransactional()) return work.get();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> work.get());
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= properties.getMaxAttempts()) throw e;
+                    log.debug("Concurrent update of drone {}, retrying (attempt {})", droneId, attempt);
+                    retries.increment();
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            if (lock != null) lock.unlock();
+        }
+    }
+
+    /** Runs a registration in its own transaction, again if a serial number was taken meanwhile. */
+    public <T> T register(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !store.isTransactional()) return work.get();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // the retry re-reads the taken serial numbers, so the raced ones come back rejected
+                return transactionTemplate.execute(status -> work.get());
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= properties.getMaxAttempts()) throw e;
+                log.debug("Serial number registered concurrently, retrying (attempt {})", attempt);
+                retries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    /** Transactions run again after a conflict, since startup. */
+    public long retries() {
+        return retries.sum();
+    }
+
+    private void backoff(int attempt) {
+        long bound = properties.getBackoffMillis() << Math.min(attempt, 10);
+        if (bound <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying drone update", e);
+        }
+    }
+}
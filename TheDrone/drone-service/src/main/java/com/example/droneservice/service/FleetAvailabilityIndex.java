@@ -0,0 +1,160 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.store.FleetStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory mirror of drone state and battery, keyed by drone id. One bitset per
+ * {@link DroneState} and one per battery bucket lets availability queries combine a few
+ * bitsets instead of loading every drone. Updated from committed {@link FleetChangeEvent}s
+ * and rebuilt from the database on startup.
+ */
+@Component
+public class FleetAvailabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(FleetAvailabilityIndex.class);
+
+    static final int BUCKET_WIDTH = 5;
+    private static final int BUCKETS = 100 / BUCKET_WIDTH + 1;
+    private static final byte ABSENT = -1;
+
+    private final FleetStore store;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet[] byState = new BitSet[DroneState.values().length];
+    private final BitSet[] byBattery = new BitSet[BUCKETS];
+    // per-id state ordinal and battery, so an update knows which bits to clear
+    private byte[] states = new byte[0];
+    private byte[] batteries = new byte[0];
+    private long batterySum;
+    private int tracked;
+
+    public FleetAvailabilityIndex(FleetStore store) {
+        this.store = store;
+        clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            List<DroneStatus> all = store.allStatuses();
+            for (DroneStatus v : all) put(v.getId(), v.getState(), v.getBatteryCapacity());
+            log.info("Fleet availability index rebuilt with {} drones", all.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFleetChange(FleetChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (DroneStatus s : event.getChanges()) put(s.getId(), s.getState(), s.getBatteryCapacity());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids, in ascending order, of IDLE drones with at least {@code minBattery} percent battery. */
+    public List<Long> availableIds(int minBattery) {
+        int first = bucketOf(Math.max(0, minBattery));
+        lock.readLock().lock();
+        try {
+            BitSet candidates = new BitSet();
+            for (int b = first; b < BUCKETS; b++) candidates.or(byBattery[b]);
+            candidates.and(byState[DroneState.IDLE.ordinal()]);
+            List<Long> ids = new ArrayList<>(candidates.cardinality());
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                // only the lowest bucket can hold drones below the threshold
+                if (batteries[i] < minBattery) continue;
+                ids.add((long) i);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Whether the drone is IDLE with at least {@code minBattery} percent battery. */
+    public boolean isAvailable(long droneId, int minBattery) {
+        lock.readLock().lock();
+        try {
+            return droneId < states.length && states[(int) droneId] == DroneState.IDLE.ordinal() && batteries[(int) droneId] >= minBattery;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(DroneState state) {
+        lock.readLock().lock();
+        try {
+            return byState[state.ordinal()].cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Mean battery over all drones in the index, or 0 when it is empty. */
+    public double averageBattery() {
+        lock.readLock().lock();
+        try {
+            return tracked == 0 ? 0 : (double) batterySum / tracked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(long droneId, DroneState state, int battery) {
+        int id = Math.toIntExact(droneId);
+        ensureCapacity(id);
+        if (states[id] != ABSENT) {
+            byState[states[id]].clear(id);
+            byBattery[bucketOf(batteries[id])].clear(id);
+            batterySum -= batteries[id];
+        } else {
+            tracked++;
+        }
+        batterySum += (byte) battery;
+        states[id] = (byte) state.ordinal();
+        batteries[id] = (byte) battery;
+        byState[state.ordinal()].set(id);
+        byBattery[bucketOf(battery)].set(id);
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < states.length) return;
+        int size = Math.max(id + 1, states.length * 2);
+        int old = states.length;
+        states = Arrays.copyOf(states, size);
+        batteries = Arrays.copyOf(batteries, size);
+        Arrays.fill(states, old, size, ABSENT);
+    }
+
+    private void clear() {
+        for (int i = 0; i < byState.length; i++) byState[i] = new BitSet();
+        for (int i = 0; i < byBattery.length; i++) byBattery[i] = new BitSet();
+        states = new byte[0];
+        batteries = new byte[0];
+        batterySum = 0;
+        tracked = 0;
+    }
+
+    private static int bucketOf(int battery) {
+        return Math.min(BUCKETS - 1, Math.max(0, battery) / BUCKET_WIDTH);
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.config.SpatialProperties;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.event.DronePosition;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.store.FleetStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory uniform grid over drone positions, for nearest-drone queries. Each positioned drone
+ * sits in the {@code drone.spatial.cell-degrees} cell containing it, stored as a unit vector so
+ * candidates are ranked by chord length without any trigonometry. A query visits rings of cells
+ * around the point and stops once no cell outside them can hold anything closer than the k-th
+ * drone found; when the next ring would probe more cells than are occupied, it scans the occupied
+ * cells instead. Updated from committed registrations and {@link DronesMovedEvent}s, and rebuilt
+ * from the store on startup.
+ */
+@Component
+public class FleetSpatialIndex {
+    private static final Logger log = LoggerFactory.getLogger(FleetSpatialIndex.class);
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final byte ABSENT = -1;
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final int[] CAPACITIES = Arrays.stream(DroneModel.values()).mapToInt(DroneModel::getCapacity).toArray();
+
+    private final FleetStore store;
+    // cell-degrees rounded so whole cells tile the latitudes and wrap exactly at the antimeridian
+    private final double latDegrees;
+    private final double lonDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    // per id: model ordinal, cell and slot in it, and position on the unit sphere
+    private byte[] models = new byte[0];
+    private long[] cellKeys = new long[0];
+    private int[] slots = new int[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private double[] zs = new double[0];
+    private int positioned;
+
+    public FleetSpatialIndex(FleetStore store, SpatialProperties properties) {
+        if (!(properties.getCellDegrees() >= 0.0001 && properties.getCellDegrees() <= 90)) {
+            throw new IllegalArgumentException("drone.spatial.cell-degrees must be between 0.0001 and 90");
+        }
+        this.store = store;
+        this.latCells = (int) Math.ceil(180 / properties.getCellDegrees());
+        this.lonCells = (int) Math.ceil(360 / properties.getCellDegrees());
+        this.latDegrees = 180.0 / latCells;
+        this.lonDegrees = 360.0 / lonCells;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            store.forEachDrone(d -> {
+                setModel(d.getId(), d.getModel());
+                if (d.hasPosition()) move(d.getId(), d.getLatitude(), d.getLongitude());
+            });
+            log.info("Fleet spatial index rebuilt with {} positioned drones in {} cells", positioned, cells.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDronesRegistered(DronesRegisteredEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (DroneDto d : event.getDrones()) {
+                setModel(d.getId(), d.getModel());
+                if (d.getLatitude() != null) move(d.getId(), d.getLatitude(), d.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDronesMoved(DronesMovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (DronePosition p : event.getPositions()) move(p.getId(), p.getLatitude(), p.getLongitude());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} drones nearest to the point, closest first, among those whose model carries
+     * at least {@code minCapacity} and that pass {@code eligible}. The predicate is called under
+     * the index's read lock, only for drones that would make the current top k.
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int minCapacity, int k, LongPredicate eligible) {
+        if (!(latitude >= -90 && latitude <= 90)) throw new IllegalArgumentException("lat must be between -90 and 90");
+        if (!(longitude >= -180 && longitude <= 180)) throw new IllegalArgumentException("lon must be between -180 and 180");
+        if (k < 1) throw new IllegalArgumentException("k must be positive");
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        Query query = new Query(Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi),
+                minCapacity, k, eligible);
+        lock.readLock().lock();
+        try {
+            int cy = cellY(latitude);
+            // not wrapped, so the ring's edges below stay on the query's side of the antimeridian
+            int cx = (int) Math.floor((longitude + 180) / lonDegrees);
+            int probed = 0;
+            for (int r = 0; ; r++) {
+                int ring = r == 0 ? 1 : 8 * r;
+                if (2 * r + 1 >= lonCells || probed + ring > cells.size()) {
+                    query.size = 0;
+                    for (Cell cell : cells.values()) visit(cell, query);
+                    break;
+                }
+                probed += ring;
+                for (int dy = -r; dy <= r; dy++) {
+                    int y = cy + dy;
+                    if (y < 0 || y >= latCells) continue;
+                    // whole rows at the top and bottom of the ring, only its two ends in between
+                    int step = dy == -r || dy == r ? 1 : 2 * r;
+                    for (int dx = -r; dx <= r; dx += step) {
+                        Cell cell = cells.get(key(y, Math.floorMod(cx + dx, lonCells)));
+                        if (cell != null) visit(cell, query);
+                    }
+                }
+                if (query.size == k && query.chords[k - 1] <= outsideBound(latitude, longitude, cy, cx, r)) break;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Neighbor> neighbors = new ArrayList<>(query.size);
+        for (int i = 0; i < query.size; i++) {
+            neighbors.add(new Neighbor(query.ids[i], 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(query.chords[i]) / 2))));
+        }
+        return neighbors;
+    }
+
+    private void visit(Cell cell, Query q) {
+        for (int i = 0; i < cell.size; i++) {
+            int id = cell.ids[i];
+            byte model = models[id];
+            if (model == ABSENT || CAPACITIES[model] < q.minCapacity) continue;
+            double dx = xs[id] - q.x;
+            double dy = ys[id] - q.y;
+            double dz = zs[id] - q.z;
+            double chord = dx * dx + dy * dy + dz * dz;
+            if (q.size == q.ids.length && chord >= q.chords[q.size - 1]) continue;
+            if (!q.eligible.test(id)) continue;
+            q.offer(id, chord);
+        }
+    }
+
+    /**
+     * Squared chord to the nearest point outside the cells within {@code r} rings of
+     * ({@code cy}, {@code cx}): it lies either beyond the block's latitude edges, at least that far
+     * along a meridian, or beyond its longitude edges, at least as far as the nearer edge meridian.
+     */
+    private double outsideBound(double latitude, double longitude, int cy, int cx, int r) {
+        double south = (cy - r) * latDegrees - 90;
+        double north = (cy + r + 1) * latDegrees - 90;
+        double latMargin = Math.min(south <= -90 ? Double.POSITIVE_INFINITY : latitude - south,
+                north >= 90 ? Double.POSITIVE_INFINITY : north - latitude);
+        double lonMargin = Math.min(longitude + 180 - (cx - r) * lonDegrees, (cx + r + 1) * lonDegrees - longitude - 180);
+        double angle = Math.min(Math.toRadians(latMargin),
+                Math.asin(Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(Math.min(lonMargin, 90)))));
+        double chord = 2 * Math.sin(Math.min(angle, Math.PI) / 2);
+        return chord * chord;
+    }
+
+    private void setModel(long droneId, DroneModel model) {
+        int id = Math.toIntExact(droneId);
+        ensureCapacity(id);
+        models[id] = (byte) model.ordinal();
+    }
+
+    private void move(long droneId, double latitude, double longitude) {
+        int id = Math.toIntExact(droneId);
+        ensureCapacity(id);
+        long key = key(cellY(latitude), Math.floorMod((int) Math.floor((longitude + 180) / lonDegrees), lonCells));
+        if (cellKeys[id] != key) {
+            if (cellKeys[id] != NO_CELL) {
+                remove(id);
+            } else {
+                positioned++;
+            }
+            slots[id] = cells.computeIfAbsent(key, k -> new Cell()).add(id);
+            cellKeys[id] = key;
+        }
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        xs[id] = Math.cos(phi) * Math.cos(lambda);
+        ys[id] = Math.cos(phi) * Math.sin(lambda);
+        zs[id] = Math.sin(phi);
+    }
+
+    private void remove(int id) {
+        Cell cell = cells.get(cellKeys[id]);
+        int moved = cell.remove(slots[id]);
+        if (moved >= 0) slots[moved] = slots[id];
+        if (cell.size == 0) cells.remove(cellKeys[id]);
+    }
+
+    private int cellY(double latitude) {
+        return Math.min(latCells - 1, (int) Math.floor((latitude + 90) / latDegrees));
+    }
+
+    private static long key(int y, int x) {
+        return ((long) y << 32) | x;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < models.length) return;
+        int size = Math.max(id + 1, models.length * 2);
+        int old = models.length;
+        models = Arrays.copyOf(models, size);
+        cellKeys = Arrays.copyOf(cellKeys, size);
+        slots = Arrays.copyOf(slots, size);
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+        zs = Arrays.copyOf(zs, size);
+        Arrays.fill(models, old, size, ABSENT);
+        Arrays.fill(cellKeys, old, size, NO_CELL);
+    }
+
+    private void clear() {
+        cells.clear();
+        models = new byte[0];
+        cellKeys = new long[0];
+        slots = new int[0];
+        xs = new double[0];
+        ys = new double[0];
+        zs = new double[0];
+        positioned = 0;
+    }
+
+    public static final class Neighbor {
+        private final long id;
+        private final double distanceKm;
+
+        Neighbor(long id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() { return id; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+
+    /** Drone ids in one grid cell, in no particular order. */
+    private static final class Cell {
+        private int[] ids = new int[4];
+        private int size;
+
+        /** Adds the id and returns its slot. */
+        int add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size] = id;
+            return size++;
+        }
+
+        /** Removes the id in {@code slot} by moving the last one into it; returns the moved id, or -1. */
+        int remove(int slot) {
+            int last = ids[--size];
+            if (slot == size) return -1;
+            ids[slot] = last;
+            return last;
+        }
+    }
+
+    /** One query's parameters and its best k so far, sorted by squared chord. */
+    private static final class Query {
+        private final double x;
+        private final double y;
+        private final double z;
+        private final int minCapacity;
+        private final LongPredicate eligible;
+        private final long[] ids;
+        private final double[] chords;
+        private int size;
+
+        Query(double x, double y, double z, int minCapacity, int k, LongPredicate eligible) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.minCapacity = minCapacity;
+            this.eligible = eligible;
+            this.ids = new long[k];
+            this.chords = new double[k];
+        }
+
+        /** Inserts in order, dropping the current worst when full; only called for a chord below it. */
+        void offer(long id, double chord) {
+            int i = size == ids.length ? size - 1 : size++;
+            while (i > 0 && chords[i - 1] > chord) {
+                ids[i] = ids[i - 1];
+                chords[i] = chords[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            chords[i] = chord;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.storage.BlobStore;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+
+/** Turns the image of a medication request into a blob reference. */
+@Component
+public class MedicationImages {
+    private final BlobStore blobStore;
+
+    public MedicationImages(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Returns the request's {@code imageRef} after checking the blob exists, or stores an inline
+     * {@code image}, which must be base64 (line breaks allowed) and at most
+     * {@code drone.blob.max-bytes} once decoded, and returns its reference.
+     */
+    public String resolve(CreateMedicationRequest req) {
+        if (req.getImageRef() != null) {
+            if (!blobStore.exists(req.getImageRef())) throw new IllegalArgumentException("Image not found");
+            return req.getImageRef();
+        }
+        if (req.getImage() == null || req.getImage().isEmpty()) return null;
+        return blobStore.put(decode(req.getImage()));
+    }
+
+    /** Why {@link #resolve} would refuse the request's image, or null if it would not. Stores nothing. */
+    public String imageError(CreateMedicationRequest req) {
+        if (req.getImageRef() != null) return blobStore.exists(req.getImageRef()) ? null : "Image not found";
+        if (req.getImage() == null || req.getImage().isEmpty()) return null;
+        try {
+            decode(req.getImage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private byte[] decode(String image) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(image.replaceAll("\\s", ""));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Image must be base64");
+        }
+        if (bytes.length > blobStore.maxBytes()) throw new IllegalArgumentException("Image is larger than " + blobStore.maxBytes() + " bytes");
+        return bytes;
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.droneservice.service;
 
 import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.dto.MedicationField;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface MedicationService {
     MedicationDto createMedication(CreateMedicationRequest req);
     MedicationDto getMedication(Long id);
+    MedicationDto attachImage(Long id, String imageRef);
     List<MedicationDto> listAll();
+    CursorPage<MedicationDto> list(Long after, int limit);
+    void streamAll(Consumer<MedicationDto> sink);
+    /** Sparse variants of the listings: each medication as a map holding only {@code fields}. */
+    List<Map<String, Object>> listAll(List<MedicationField> fields);
+    CursorPage<Map<String, Object>> list(Long after, int limit, List<MedicationField> fields);
 }
 
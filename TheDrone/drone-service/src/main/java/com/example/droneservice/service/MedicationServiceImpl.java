@@ -1,38 +1,101 @@
 package com.example.droneservice.service;
 
 import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.CursorPage;
 import com.example.droneservice.dto.MedicationDto;
-import com.example.droneservice.model.entity.Medication;
-import com.example.droneservice.repository.MedicationRepository;
+import com.example.droneservice.dto.MedicationField;
+import com.example.droneservice.event.MedicationsChangedEvent;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import com.example.droneservice.storage.BlobStore;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class MedicationServiceImpl implements MedicationService {
-    private final MedicationRepository medicationRepository;
+    private final FleetStore store;
+    private final MedicationImages medicationImages;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher events;
 
-    public MedicationServiceImpl(MedicationRepository medicationRepository) {
-        this.medicationRepository = medicationRepository;
+    public MedicationServiceImpl(FleetStore store, MedicationImages medicationImages, BlobStore blobStore,
+                                 ApplicationEventPublisher events) {
+        this.store = store;
+        this.medicationImages = medicationImages;
+        this.blobStore = blobStore;
+        this.events = events;
     }
 
     @Override
     public MedicationDto createMedication(CreateMedicationRequest req) {
-        Medication m = new Medication(req.getName(), req.getWeight(), req.getCode(), req.getImage());
-        Medication saved = medicationRepository.save(m);
-        return new MedicationDto(saved.getId(), saved.getName(), saved.getWeight(), saved.getCode(), saved.getImage(), saved.getDrone() != null ? saved.getDrone().getId() : null);
+        MedicationRecord draft = MedicationRecord.draft(req.getName(), req.getWeight(), req.getCode(), medicationImages.resolve(req), null);
+        MedicationDto saved = DroneServiceImpl.toDto(store.createMedications(List.of(draft)).get(0));
+        events.publishEvent(new MedicationsChangedEvent(List.of(saved)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public MedicationDto attachImage(Long id, String imageRef) {
+        if (store.findMedication(id).isEmpty()) throw new IllegalArgumentException("Medication not found");
+        if (!blobStore.exists(imageRef)) throw new IllegalArgumentException("Image not found");
+        MedicationDto updated = DroneServiceImpl.toDto(store.updateMedication(id, m -> m.withImageRef(imageRef)));
+        events.publishEvent(new MedicationsChangedEvent(List.of(updated)));
+        return updated;
     }
 
     @Override
     public MedicationDto getMedication(Long id) {
-        Medication m = medicationRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Medication not found"));
-        return new MedicationDto(m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImage(), m.getDrone() != null ? m.getDrone().getId() : null);
+        return store.findMedication(id).map(DroneServiceImpl::toDto).orElseThrow(() -> new IllegalArgumentException("Medication not found"));
     }
 
     @Override
     public List<MedicationDto> listAll() {
-        return medicationRepository.findAll().stream().map(m -> new MedicationDto(m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImage(), m.getDrone() != null ? m.getDrone().getId() : null)).collect(Collectors.toList());
+        List<MedicationDto> meds = new ArrayList<>();
+        store.forEachMedication(m -> meds.add(DroneServiceImpl.toDto(m)));
+        return meds;
+    }
+
+    @Override
+    public CursorPage<MedicationDto> list(Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, DroneServiceImpl.MAX_PAGE_SIZE));
+        List<MedicationDto> items = store.medicationPage(after == null ? 0 : after, size)
+                .stream().map(DroneServiceImpl::toDto).collect(Collectors.toList());
+        Long next = items.size() == size ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    public List<Map<String, Object>> listAll(List<MedicationField> fields) {
+        List<String> properties = fields.stream().map(MedicationField::property).collect(Collectors.toList());
+        List<Map<String, Object>> meds = new ArrayList<>();
+        for (long after = 0; ; ) {
+            List<Object[]> rows = store.medicationRows(after, DroneServiceImpl.SCAN_PAGE, fields);
+            for (Object[] row : rows) meds.add(DroneServiceImpl.sparse(row, properties));
+            if (rows.size() < DroneServiceImpl.SCAN_PAGE) return meds;
+            after = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+    }
+
+    @Override
+    public CursorPage<Map<String, Object>> list(Long after, int limit, List<MedicationField> fields) {
+        int size = Math.max(1, Math.min(limit, DroneServiceImpl.MAX_PAGE_SIZE));
+        List<String> properties = fields.stream().map(MedicationField::property).collect(Collectors.toList());
+        List<Object[]> rows = store.medicationRows(after == null ? 0 : after, size, fields);
+        List<Map<String, Object>> items = rows.stream().map(row -> DroneServiceImpl.sparse(row, properties)).collect(Collectors.toList());
+        Long next = rows.size() == size ? ((Number) rows.get(size - 1)[0]).longValue() : null;
+        return new CursorPage<>(items, next);
     }
-}
 
+    @Override
+    public void streamAll(Consumer<MedicationDto> sink) {
+        store.forEachMedication(m -> sink.accept(DroneServiceImpl.toDto(m)));
+    }
+}
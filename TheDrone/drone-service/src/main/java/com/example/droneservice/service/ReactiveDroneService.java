@@ -0,0 +1,211 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.config.ConcurrencyProperties;
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CursorPage;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.DroneRegistrationResult;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.dto.NearbyDroneDto;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.event.MedicationsChangedEvent;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.repository.ReactiveDroneRepository;
+import com.example.droneservice.repository.ReactiveMedicationRepository;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The drone operations of the reactive API: {@link DroneRules} applied over R2DBC. A write reads
+ * the drone, applies the rule and updates the row only if its version is unchanged, retrying a
+ * conflict with the same {@code drone.concurrency} limits as {@link DroneWriteExecutor}. Once a
+ * write commits it publishes the same events as {@link DroneServiceImpl}, so the availability
+ * index, cache, telemetry and journal keep following the fleet.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDroneService {
+    private final ReactiveDroneRepository drones;
+    private final ReactiveMedicationRepository medications;
+    private final DroneRules rules;
+    private final TransactionalOperator transactions;
+    private final ApplicationEventPublisher events;
+    private final FleetSpatialIndex spatialIndex;
+    private final FleetAvailabilityIndex availabilityIndex;
+    private final Retry conflicts;
+    private final Retry duplicates;
+
+    public ReactiveDroneService(ReactiveDroneRepository drones, ReactiveMedicationRepository medications, DroneRules rules,
+                                TransactionalOperator transactions, ApplicationEventPublisher events,
+                                FleetSpatialIndex spatialIndex, FleetAvailabilityIndex availabilityIndex,
+                                ConcurrencyProperties concurrency, FleetStore store) {
+        if (!store.isTransactional()) throw new IllegalStateException("The reactive profile needs drone.store.engine=jpa");
+        this.drones = drones;
+        this.medications = medications;
+        this.rules = rules;
+        this.transactions = transactions;
+        this.events = events;
+        this.spatialIndex = spatialIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.conflicts = Retry.backoff(Math.max(0, concurrency.getMaxAttempts() - 1), Duration.ofMillis(concurrency.getBackoffMillis()))
+                .filter(e -> e instanceof ConcurrencyFailureException)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        // a serial number committed by another batch after this one checked them; the retry re-reads them
+        this.duplicates = Retry.backoff(Math.max(0, concurrency.getMaxAttempts() - 1), Duration.ofMillis(concurrency.getBackoffMillis()))
+                .filter(e -> e instanceof DataIntegrityViolationException)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<DroneDto> registerDrone(CreateDroneRequest request) {
+        return Mono.defer(() -> {
+                    DroneRules.checkWeightLimit(request);
+                    return drones.insert(DroneRules.draft(request));
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> new IllegalArgumentException("Serial number already exists"))
+                .flatMap(saved -> publish(events, new DronesRegisteredEvent(List.of(DroneServiceImpl.toDto(saved))), FleetChangeEvent.of(saved))
+                        .thenReturn(DroneServiceImpl.toDto(saved)));
+    }
+
+    public Mono<List<DroneRegistrationResult>> registerDrones(List<CreateDroneRequest> requests) {
+        return Mono.defer(() -> {
+            DroneRegistrationResult[] results = new DroneRegistrationResult[requests.size()];
+            List<Integer> indexes = rules.screen(requests, results);
+            Set<String> serialNumbers = indexes.stream().map(i -> requests.get(i).getSerialNumber()).collect(Collectors.toSet());
+            Mono<Set<String>> taken = serialNumbers.isEmpty() ? Mono.just(Set.<String>of())
+                    : drones.findExistingSerialNumbers(serialNumbers).collect(Collectors.toSet());
+            return taken
+                    .flatMapMany(existing -> Flux.fromIterable(indexes).concatMap(i -> {
+                        CreateDroneRequest r = requests.get(i);
+                        if (existing.contains(r.getSerialNumber())) {
+                            results[i] = DroneRegistrationResult.rejected(i, r.getSerialNumber(), "Serial number already exists");
+                            return Mono.empty();
+                        }
+                        return drones.insert(DroneRules.draft(r))
+                                .doOnNext(drone -> results[i] = DroneRegistrationResult.created(i, drone.getSerialNumber(), drone.getId()));
+                    }))
+                    .collectList()
+                    .as(transactions::transactional)
+                    .retryWhen(duplicates)
+                    .flatMap(saved -> saved.isEmpty() ? Mono.<Void>empty() : publish(events,
+                            new DronesRegisteredEvent(saved.stream().map(DroneServiceImpl::toDto).collect(Collectors.toList())),
+                            new FleetChangeEvent(saved.stream()
+                                    .map(d -> new DroneStatus(d.getId(), d.getState(), d.getBatteryCapacity(), d.getVersion()))
+                                    .collect(Collectors.toList()))))
+                    .then(Mono.fromSupplier(() -> List.of(results)));
+        });
+    }
+
+    public Mono<DroneDto> getDrone(long id) {
+        return drones.findById(id).map(DroneServiceImpl::toDto)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Drone not found")));
+    }
+
+    public Flux<DroneDto> listDrones() {
+        return scan(after -> drones.findPage(after, DroneServiceImpl.SCAN_PAGE), DroneRecord::getId).map(DroneServiceImpl::toDto);
+    }
+
+    public Mono<CursorPage<DroneDto>> listDrones(Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, DroneServiceImpl.MAX_PAGE_SIZE));
+        return drones.findPage(after == null ? 0 : after, size).map(DroneServiceImpl::toDto).collectList()
+                .map(items -> new CursorPage<>(items, items.size() == size ? items.get(size - 1).getId() : null));
+    }
+
+    public Flux<DroneDto> availableDrones() {
+        return drones.findByStateAndMinBattery(DroneState.IDLE, DroneRules.MIN_BATTERY).map(DroneServiceImpl::toDto);
+    }
+
+    public Mono<Void> loadDrone(long id, LoadRequest request) {
+        return Mono.fromCallable(() -> rules.drafts(id, request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(meds -> {
+                    int incoming = meds.stream().mapToInt(MedicationRecord::getWeight).sum();
+                    return drones.updateDrone(id, d -> {
+                                DroneRules.admit(d, incoming, 0);
+                                return DroneRules.loaded(d, incoming, meds.size());
+                            })
+                            .flatMap(drone -> Flux.fromIterable(meds).concatMap(medications::insert).collectList()
+                                    .map(saved -> {
+                                        List<Object> changes = new ArrayList<>(2);
+                                        if (!saved.isEmpty()) {
+                                            changes.add(new MedicationsChangedEvent(saved.stream().map(DroneServiceImpl::toDto).collect(Collectors.toList())));
+                                        }
+                                        changes.add(FleetChangeEvent.of(drone));
+                                        return changes;
+                                    }))
+                            .as(transactions::transactional)
+                            .retryWhen(conflicts);
+                })
+                .flatMap(changes -> publish(events, changes.toArray()));
+    }
+
+    public Flux<MedicationDto> getMedications(long id) {
+        return medications.findByDroneId(id).map(DroneServiceImpl::toDto);
+    }
+
+    public Mono<Integer> getBattery(long id) {
+        return getDrone(id).map(DroneDto::getBatteryCapacity);
+    }
+
+    public Mono<Void> dispatch(long id) {
+        return drones.updateDrone(id, DroneRules::dispatched)
+                .retryWhen(conflicts)
+                .flatMap(drone -> publish(events, FleetChangeEvent.of(drone)));
+    }
+
+    public Mono<DroneDto> updatePosition(long id, PositionRequest request) {
+        return drones.updateDrone(id, d -> d.withPosition(request.getLatitude(), request.getLongitude()))
+                .retryWhen(conflicts)
+                .flatMap(drone -> publish(events, DronesMovedEvent.of(drone)).thenReturn(DroneServiceImpl.toDto(drone)));
+    }
+
+    /** The grid search is in memory and takes microseconds, so it runs on the calling thread. */
+    public Mono<List<NearbyDroneDto>> nearestDrones(double latitude, double longitude, int minCapacity, int k) {
+        return Mono.fromSupplier(() -> DroneServiceImpl.nearest(spatialIndex, availabilityIndex, latitude, longitude, minCapacity, k))
+                .flatMap(neighbors -> drones.findByIds(neighbors.stream().map(FleetSpatialIndex.Neighbor::getId).collect(Collectors.toList()))
+                        .collectList()
+                        .map(rows -> DroneServiceImpl.nearby(neighbors, rows, minCapacity)));
+    }
+
+    /**
+     * A whole table in keyset pages of {@code SCAN_PAGE} rows, each queried only once the reader
+     * has nearly caught up, so a slow reader holds no connection between pages and only a page or
+     * two in memory.
+     */
+    static <T> Flux<T> scan(LongFunction<Flux<T>> page, ToLongFunction<T> id) {
+        return page.apply(0).collectList()
+                .expand(rows -> rows.size() < DroneServiceImpl.SCAN_PAGE ? Mono.empty()
+                        : page.apply(id.applyAsLong(rows.get(rows.size() - 1))).collectList())
+                .concatMapIterable(rows -> rows, 1);
+    }
+
+    /** Listeners may block (the journal waits for its fsync), so events are published off the event loop. */
+    static Mono<Void> publish(ApplicationEventPublisher events, Object... published) {
+        return Mono.<Void>fromRunnable(() -> {
+            for (Object event : published) events.publishEvent(event);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
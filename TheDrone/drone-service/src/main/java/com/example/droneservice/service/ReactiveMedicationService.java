@@ -0,0 +1,57 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.CursorPage;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.event.MedicationsChangedEvent;
+import com.example.droneservice.repository.ReactiveMedicationRepository;
+import com.example.droneservice.store.MedicationRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/** The medication operations of the reactive API, over R2DBC; see {@link ReactiveDroneService}. */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMedicationService {
+    private final ReactiveMedicationRepository medications;
+    private final MedicationImages medicationImages;
+    private final ApplicationEventPublisher events;
+
+    public ReactiveMedicationService(ReactiveMedicationRepository medications, MedicationImages medicationImages,
+                                     ApplicationEventPublisher events) {
+        this.medications = medications;
+        this.medicationImages = medicationImages;
+        this.events = events;
+    }
+
+    public Mono<MedicationDto> createMedication(CreateMedicationRequest req) {
+        // an inline image is written to the blob store
+        return Mono.fromCallable(() -> MedicationRecord.draft(req.getName(), req.getWeight(), req.getCode(), medicationImages.resolve(req), null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(medications::insert)
+                .map(DroneServiceImpl::toDto)
+                .flatMap(saved -> ReactiveDroneService.publish(events, new MedicationsChangedEvent(List.of(saved))).thenReturn(saved));
+    }
+
+    public Mono<MedicationDto> getMedication(long id) {
+        return medications.findById(id).map(DroneServiceImpl::toDto)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Medication not found")));
+    }
+
+    public Flux<MedicationDto> listAll() {
+        return ReactiveDroneService.scan(after -> medications.findPage(after, DroneServiceImpl.SCAN_PAGE), MedicationRecord::getId)
+                .map(DroneServiceImpl::toDto);
+    }
+
+    public Mono<CursorPage<MedicationDto>> list(Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, DroneServiceImpl.MAX_PAGE_SIZE));
+        return medications.findPage(after == null ? 0 : after, size).map(DroneServiceImpl::toDto).collectList()
+                .map(items -> new CursorPage<>(items, items.size() == size ? items.get(size - 1).getId() : null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.droneservice.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed blob store on local disk. A blob's reference is the SHA-256 of its bytes,
+ * so identical uploads are stored once and a reference never changes meaning. Blobs live at
+ * {@code <dir>/<first two hex chars>/<ref>}. Blobs are at most {@code drone.blob.max-bytes}; an
+ * upload is counted as it streams in and abandoned as soon as it passes that.
+ */
+@Component
+public class BlobStore {
+    private static final Pattern REF = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+    private final long maxBytes;
+
+    public BlobStore(@Value("${drone.blob.dir:${java.io.tmpdir}/drone-blobs}") Path root,
+                     @Value("${drone.blob.max-bytes:10485760}") long maxBytes) {
+        if (maxBytes < 1) throw new IllegalArgumentException("drone.blob.max-bytes must be positive");
+        this.root = root;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create blob directory " + root, e);
+        }
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public String put(byte[] data) {
+        try (InputStream in = new ByteArrayInputStream(data)) {
+            return put(in).orElseThrow(() -> new IllegalArgumentException("Image is larger than " + maxBytes + " bytes"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores the stream's bytes and returns their reference, or empty, leaving nothing stored,
+     * once they pass {@code drone.blob.max-bytes}; the stream is not closed.
+     */
+    public Optional<String> put(InputStream in) throws IOException {
+        Path tmp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                byte[] buffer = new byte[8192];
+                long size = 0;
+                for (int n; (n = in.read(buffer)) != -1; ) {
+                    size += n;
+                    if (size > maxBytes) return Optional.empty();
+                    out.write(buffer, 0, n);
+                }
+            }
+            String ref = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(ref);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // a concurrent upload of the same content won the race
+                }
+            }
+            return Optional.of(ref);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public boolean exists(String ref) {
+        return find(ref).isPresent();
+    }
+
+    public Optional<Path> find(String ref) {
+        if (ref == null || !REF.matcher(ref).matches()) return Optional.empty();
+        Path path = pathOf(ref);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathOf(String ref) {
+        return root.resolve(ref.substring(0, 2)).resolve(ref);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
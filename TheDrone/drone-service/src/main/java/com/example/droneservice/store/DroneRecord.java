@@ -0,0 +1,114 @@
+package com.example.droneservice.store;
+
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+
+import java.time.Instant;
+
+/**
+ * Immutable snapshot of one drone, as handed out by a {@link FleetStore}. Changes produce a new
+ * record through the {@code with...} methods, which is what lets the in-memory store swap records
+ * in with a single compare-and-set. A drone whose position was never reported has NaN coordinates.
+ * {@code version} is the row version: 0 on registration and one more for every committed update,
+ * which a store sets on the record it returns from an update.
+ */
+public final class DroneRecord {
+    private final long id;
+    private final String serialNumber;
+    private final DroneModel model;
+    private final int weightLimit;
+    private final int batteryCapacity;
+    private final DroneState state;
+    private final int currentLoadWeight;
+    private final int loadedItemCount;
+    private final long createdAt;
+    private final long updatedAt;
+    private final double latitude;
+    private final double longitude;
+    private final long version;
+
+    public DroneRecord(long id, String serialNumber, DroneModel model, int weightLimit, int batteryCapacity, DroneState state,
+                       int currentLoadWeight, int loadedItemCount, long createdAt, long updatedAt, double latitude, double longitude,
+                       long version) {
+        this.id = id;
+        this.serialNumber = serialNumber;
+        this.model = model;
+        this.weightLimit = weightLimit;
+        this.batteryCapacity = batteryCapacity;
+        this.state = state;
+        this.currentLoadWeight = currentLoadWeight;
+        this.loadedItemCount = loadedItemCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.version = version;
+    }
+
+    /** For JPQL constructor projections, which pass columns as their entity types. */
+    public DroneRecord(Long id, String serialNumber, DroneModel model, Integer weightLimit, Integer batteryCapacity, DroneState state,
+                       Integer currentLoadWeight, Integer loadedItemCount, Instant createdAt, Instant updatedAt,
+                       Double latitude, Double longitude, Long version) {
+        this(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount,
+                createdAt.toEpochMilli(), updatedAt.toEpochMilli(), orNaN(latitude), orNaN(longitude), version != null ? version : 0);
+    }
+
+    /** A drone not stored yet; the store assigns its id. */
+    public static DroneRecord draft(String serialNumber, DroneModel model, int weightLimit, Integer batteryCapacity, DroneState state) {
+        long now = System.currentTimeMillis();
+        return new DroneRecord(0, serialNumber, model, weightLimit, batteryCapacity != null ? batteryCapacity : 100,
+                state != null ? state : DroneState.IDLE, 0, 0, now, now, Double.NaN, Double.NaN, 0);
+    }
+
+    public long getId() { return id; }
+    public String getSerialNumber() { return serialNumber; }
+    public DroneModel getModel() { return model; }
+    public int getWeightLimit() { return weightLimit; }
+    public int getBatteryCapacity() { return batteryCapacity; }
+    public DroneState getState() { return state; }
+    public int getCurrentLoadWeight() { return currentLoadWeight; }
+    public int getLoadedItemCount() { return loadedItemCount; }
+    public long getCreatedAt() { return createdAt; }
+    public long getUpdatedAt() { return updatedAt; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public long getVersion() { return version; }
+
+    public boolean hasPosition() {
+        return !Double.isNaN(latitude);
+    }
+
+    /** The coordinate as stored in a nullable column or DTO property. */
+    public static Double coordinate(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    public DroneRecord withId(long id) {
+        return new DroneRecord(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount, createdAt, updatedAt,
+                latitude, longitude, version);
+    }
+
+    public DroneRecord withVersion(long version) {
+        return new DroneRecord(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount, createdAt, updatedAt,
+                latitude, longitude, version);
+    }
+
+    public DroneRecord withStatus(DroneState state, int batteryCapacity) {
+        return new DroneRecord(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount,
+                createdAt, System.currentTimeMillis(), latitude, longitude, version);
+    }
+
+    public DroneRecord withLoad(int currentLoadWeight, int loadedItemCount) {
+        return new DroneRecord(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount,
+                createdAt, System.currentTimeMillis(), latitude, longitude, version);
+    }
+
+    public DroneRecord withPosition(double latitude, double longitude) {
+        return new DroneRecord(id, serialNumber, model, weightLimit, batteryCapacity, state, currentLoadWeight, loadedItemCount,
+                createdAt, System.currentTimeMillis(), latitude, longitude, version);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.droneservice.store;
+
+import com.example.droneservice.dto.DroneField;
+import com.example.droneservice.dto.MedicationField;
+import com.example.droneservice.event.DroneStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage behind the drone and medication services and the simulator. {@code drone.store.engine}
+ * picks the implementation: {@link JpaFleetStore} (the default) or {@link InMemoryFleetStore}.
+ * <p>
+ * Updates take a function from the current record to the new one. It may throw
+ * {@link IllegalArgumentException} or {@link IllegalStateException} to refuse the change, may be
+ * called more than once when writers race, and returning the same record means "no change".
+ * Callers publish events; stores only store.
+ */
+public interface FleetStore {
+    /** False when writes take effect immediately and cannot be rolled back with a transaction. */
+    boolean isTransactional();
+
+    Optional<DroneRecord> findDrone(long id);
+
+    /** The drones that exist among {@code ids}, in no particular order. */
+    List<DroneRecord> findDrones(Collection<Long> ids);
+
+    /** Up to {@code limit} drones with ids above {@code after}, in id order. */
+    List<DroneRecord> dronePage(long after, int limit);
+
+    /**
+     * Like {@link #dronePage}, but reads only {@code fields}: each row holds the drone's id followed
+     * by the values of the fields, in the order given.
+     */
+    default List<Object[]> droneRows(long after, int limit, List<DroneField> fields) {
+        return droneRows(dronePage(after, limit), fields);
+    }
+
+    /** The given fields of the drones that exist among {@code ids}, in rows like {@link #droneRows(long, int, List)}. */
+    default List<Object[]> droneRows(Collection<Long> ids, List<DroneField> fields) {
+        return droneRows(findDrones(ids), fields);
+    }
+
+    /** Visits every drone in id order. */
+    void forEachDrone(Consumer<DroneRecord> visitor);
+
+    List<DroneStatus> allStatuses();
+
+    long droneCount();
+
+    /**
+     * Stores new drones and returns them with their ids, in order. A draft whose serial number is
+     * already taken, in the store or earlier in the list, yields null instead.
+     */
+    List<DroneRecord> createDrones(List<DroneRecord> drafts);
+
+    /** Applies {@code change} to one drone; throws {@link IllegalArgumentException} if it does not exist. */
+    DroneRecord updateDrone(long id, UnaryOperator<DroneRecord> change);
+
+    /** Applies {@code change} to every drone and returns the status of each one that changed. */
+    List<DroneStatus> updateAllDrones(UnaryOperator<DroneRecord> change);
+
+    Optional<MedicationRecord> findMedication(long id);
+
+    List<MedicationRecord> medicationsOf(long droneId);
+
+    List<MedicationRecord> medicationPage(long after, int limit);
+
+    /** Like {@link #medicationPage}, but reads only {@code fields}, in rows like {@link #droneRows(long, int, List)}. */
+    default List<Object[]> medicationRows(long after, int limit, List<MedicationField> fields) {
+        List<Object[]> rows = new ArrayList<>();
+        for (MedicationRecord m : medicationPage(after, limit)) {
+            Object[] row = new Object[fields.size() + 1];
+            row[0] = m.getId();
+            for (int i = 0; i < fields.size(); i++) {
+                row[i + 1] = switch (fields.get(i)) {
+                    case ID -> m.getId();
+                    case NAME -> m.getName();
+                    case WEIGHT -> m.getWeight();
+                    case CODE -> m.getCode();
+                    case IMAGE_REF -> m.getImageRef();
+                    case DRONE_ID -> m.getDroneId();
+                };
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    void forEachMedication(Consumer<MedicationRecord> visitor);
+
+    /** Stores new medications and returns them with their ids, in order. */
+    List<MedicationRecord> createMedications(List<MedicationRecord> drafts);
+
+    MedicationRecord updateMedication(long id, UnaryOperator<MedicationRecord> change);
+
+    /**
+     * Bulk-inserts records that already carry their ids, for seeding and restores. Ids must be
+     * reserved with {@link #reserveIds} first so newly created rows cannot collide with them.
+     */
+    void insertAll(List<DroneRecord> drones, List<MedicationRecord> medications);
+
+    /** Makes sure ids handed out from now on are above the given ones. */
+    void reserveIds(long maxDroneId, long maxMedicationId);
+
+    private static List<Object[]> droneRows(List<DroneRecord> drones, List<DroneField> fields) {
+        List<Object[]> rows = new ArrayList<>(drones.size());
+        for (DroneRecord d : drones) {
+            Object[] row = new Object[fields.size() + 1];
+            row[0] = d.getId();
+            for (int i = 0; i < fields.size(); i++) {
+                row[i + 1] = switch (fields.get(i)) {
+                    case ID -> d.getId();
+                    case SERIAL_NUMBER -> d.getSerialNumber();
+                    case MODEL -> d.getModel();
+                    case WEIGHT_LIMIT -> d.getWeightLimit();
+                    case BATTERY_CAPACITY -> d.getBatteryCapacity();
+                    case STATE -> d.getState();
+                    case LATITUDE -> DroneRecord.coordinate(d.getLatitude());
+                    case LONGITUDE -> DroneRecord.coordinate(d.getLongitude());
+                };
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
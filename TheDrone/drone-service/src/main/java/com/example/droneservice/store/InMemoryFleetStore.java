@@ -0,0 +1,236 @@
+package com.example.droneservice.store;
+
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.model.entity.Drone;
+import com.example.droneservice.model.entity.Medication;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the whole fleet on the heap: a concurrent map from id to immutable {@link DroneRecord},
+ * where an update is a compare-and-set of the whole record, retried if another writer got there
+ * first. Reads are a single map lookup with no locking. Ordered id sets serve paging, and serial
+ * numbers are claimed atomically so registration needs no lock either. New rows are checked
+ * against the entity constraints, as Hibernate would on insert.
+ * <p>
+ * Nothing is written to the database, so changes survive a restart only through the journal's
+ * snapshots ({@code drone.journal.enabled}), and a failure part-way through a multi-step
+ * operation (such as applying a dispatch plan) cannot be rolled back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "drone.store", name = "engine", havingValue = "memory")
+public class InMemoryFleetStore implements FleetStore {
+    private final Map<Long, DroneRecord> drones = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> droneIds = new ConcurrentSkipListSet<>();
+    private final Set<String> serialNumbers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, MedicationRecord> medications = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> medicationIds = new ConcurrentSkipListSet<>();
+    private final Map<Long, Queue<Long>> medicationsByDrone = new ConcurrentHashMap<>();
+    private final AtomicLong nextDroneId = new AtomicLong(1);
+    private final AtomicLong nextMedicationId = new AtomicLong(1);
+    private final Validator validator;
+
+    public InMemoryFleetStore(Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    @Override
+    public Optional<DroneRecord> findDrone(long id) {
+        return Optional.ofNullable(drones.get(id));
+    }
+
+    @Override
+    public List<DroneRecord> findDrones(Collection<Long> ids) {
+        List<DroneRecord> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            DroneRecord d = drones.get(id);
+            if (d != null) found.add(d);
+        }
+        return found;
+    }
+
+    @Override
+    public List<DroneRecord> dronePage(long after, int limit) {
+        List<DroneRecord> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Long id : droneIds.tailSet(after, false)) {
+            if (page.size() >= limit) break;
+            page.add(drones.get(id));
+        }
+        return page;
+    }
+
+    @Override
+    public void forEachDrone(Consumer<DroneRecord> visitor) {
+        for (Long id : droneIds) visitor.accept(drones.get(id));
+    }
+
+    @Override
+    public List<DroneStatus> allStatuses() {
+        List<DroneStatus> statuses = new ArrayList<>(drones.size());
+        for (DroneRecord d : drones.values()) statuses.add(new DroneStatus(d.getId(), d.getState(), d.getBatteryCapacity(), d.getVersion()));
+        return statuses;
+    }
+
+    @Override
+    public long droneCount() {
+        return drones.size();
+    }
+
+    @Override
+    public List<DroneRecord> createDrones(List<DroneRecord> drafts) {
+        List<DroneRecord> created = new ArrayList<>(drafts.size());
+        for (DroneRecord draft : drafts) {
+            Drone drone = new Drone(draft.getSerialNumber(), draft.getModel(), draft.getWeightLimit(), draft.getBatteryCapacity(), draft.getState());
+            drone.setPosition(DroneRecord.coordinate(draft.getLatitude()), DroneRecord.coordinate(draft.getLongitude()));
+            validate(drone);
+        }
+        for (DroneRecord draft : drafts) {
+            if (!serialNumbers.add(draft.getSerialNumber())) {
+                created.add(null);
+                continue;
+            }
+            long id = nextDroneId.getAndIncrement();
+            DroneRecord drone = draft.withId(id);
+            drones.put(id, drone);
+            droneIds.add(id);
+            created.add(drone);
+        }
+        return created;
+    }
+
+    @Override
+    public DroneRecord updateDrone(long id, UnaryOperator<DroneRecord> change) {
+        while (true) {
+            DroneRecord current = drones.get(id);
+            if (current == null) throw new IllegalArgumentException("Drone not found");
+            DroneRecord next = change.apply(current);
+            if (next == current) return next;
+            next = next.withVersion(current.getVersion() + 1);
+            // records compare by identity, so this only succeeds if nobody replaced current meanwhile
+            if (drones.replace(id, current, next)) return next;
+        }
+    }
+
+    @Override
+    public List<DroneStatus> updateAllDrones(UnaryOperator<DroneRecord> change) {
+        List<DroneStatus> changes = new ArrayList<>();
+        for (Long id : droneIds) {
+            DroneRecord before = drones.get(id);
+            DroneRecord after = updateDrone(id, change);
+            if (after != before && (after.getState() != before.getState() || after.getBatteryCapacity() != before.getBatteryCapacity())) {
+                changes.add(new DroneStatus(id, after.getState(), after.getBatteryCapacity(), after.getVersion()));
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public Optional<MedicationRecord> findMedication(long id) {
+        return Optional.ofNullable(medications.get(id));
+    }
+
+    @Override
+    public List<MedicationRecord> medicationsOf(long droneId) {
+        Queue<Long> ids = medicationsByDrone.get(droneId);
+        if (ids == null) return List.of();
+        List<MedicationRecord> meds = new ArrayList<>(ids.size());
+        for (Long id : ids) meds.add(medications.get(id));
+        meds.sort(Comparator.comparingLong(MedicationRecord::getId));
+        return meds;
+    }
+
+    @Override
+    public List<MedicationRecord> medicationPage(long after, int limit) {
+        List<MedicationRecord> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Long id : medicationIds.tailSet(after, false)) {
+            if (page.size() >= limit) break;
+            page.add(medications.get(id));
+        }
+        return page;
+    }
+
+    @Override
+    public void forEachMedication(Consumer<MedicationRecord> visitor) {
+        for (Long id : medicationIds) visitor.accept(medications.get(id));
+    }
+
+    @Override
+    public List<MedicationRecord> createMedications(List<MedicationRecord> drafts) {
+        List<MedicationRecord> created = new ArrayList<>(drafts.size());
+        for (MedicationRecord draft : drafts) validate(draft);
+        for (MedicationRecord draft : drafts) {
+            MedicationRecord med = draft.withId(nextMedicationId.getAndIncrement());
+            put(med);
+            created.add(med);
+        }
+        return created;
+    }
+
+    @Override
+    public MedicationRecord updateMedication(long id, UnaryOperator<MedicationRecord> change) {
+        while (true) {
+            MedicationRecord current = medications.get(id);
+            if (current == null) throw new IllegalArgumentException("Medication not found");
+            MedicationRecord next = change.apply(current);
+            if (next != current) validate(next);
+            if (next == current || medications.replace(id, current, next)) return next;
+        }
+    }
+
+    @Override
+    public void insertAll(List<DroneRecord> drones, List<MedicationRecord> medications) {
+        for (DroneRecord d : drones) {
+            serialNumbers.add(d.getSerialNumber());
+            this.drones.put(d.getId(), d);
+            droneIds.add(d.getId());
+        }
+        for (MedicationRecord m : medications) put(m);
+    }
+
+    @Override
+    public void reserveIds(long maxDroneId, long maxMedicationId) {
+        nextDroneId.accumulateAndGet(maxDroneId + 1, Math::max);
+        nextMedicationId.accumulateAndGet(maxMedicationId + 1, Math::max);
+    }
+
+    private void validate(MedicationRecord med) {
+        validate(new Medication(med.getName(), med.getWeight(), med.getCode(), med.getImageRef()));
+    }
+
+    private <T> void validate(T entity) {
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+    }
+
+    private void put(MedicationRecord med) {
+        medications.put(med.getId(), med);
+        medicationIds.add(med.getId());
+        if (med.getDroneId() != null) {
+            medicationsByDrone.computeIfAbsent(med.getDroneId(), k -> new ConcurrentLinkedQueue<>()).add(med.getId());
+        }
+    }
+}
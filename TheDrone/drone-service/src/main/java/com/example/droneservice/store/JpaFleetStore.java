@@ -0,0 +1,309 @@
+package com.example.droneservice.store;
+
+import com.example.droneservice.dto.DroneField;
+import com.example.droneservice.dto.MedicationField;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.model.entity.Drone;
+import com.example.droneservice.model.entity.Medication;
+import com.example.droneservice.repository.DroneRepository;
+import com.example.droneservice.repository.MedicationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link FleetStore} over the JPA repositories. Reads build records straight from JPQL
+ * constructor projections, and {@code ...Rows} reads select only the requested columns, so
+ * neither hydrates entities. Drone updates load the entity, apply the change to its record and
+ * copy the result back, so {@code Drone.version} still detects concurrent writers; they must run
+ * inside the caller's transaction. Bulk inserts bypass Hibernate and go through batched JDBC.
+ */
+@Component
+@ConditionalOnProperty(prefix = "drone.store", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaFleetStore implements FleetStore {
+    // matches spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int INSERT_BATCH = 500;
+    private static final int JDBC_BATCH = 5000;
+    private static final String INSERT_DRONE = "insert into drone (id, serial_number, model, weight_limit, battery_capacity, state, "
+            + "current_load_weight, loaded_item_count, version, created_at, updated_at, latitude, longitude) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDICATION = "insert into medication (id, name, weight, code, image_ref, drone_id) values (?, ?, ?, ?, ?, ?)";
+
+    private final DroneRepository droneRepository;
+    private final MedicationRepository medicationRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbc;
+
+    public JpaFleetStore(DroneRepository droneRepository, MedicationRepository medicationRepository,
+                         EntityManager entityManager, JdbcTemplate jdbc) {
+        this.droneRepository = droneRepository;
+        this.medicationRepository = medicationRepository;
+        this.entityManager = entityManager;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    @Override
+    public Optional<DroneRecord> findDrone(long id) {
+        return droneRepository.findRecordById(id);
+    }
+
+    @Override
+    public List<DroneRecord> findDrones(Collection<Long> ids) {
+        return droneRepository.findRecordsByIdIn(ids);
+    }
+
+    @Override
+    public List<DroneRecord> dronePage(long after, int limit) {
+        return droneRepository.findRecordPage(after, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<Object[]> droneRows(long after, int limit, List<DroneField> fields) {
+        String jpql = select("d", fields.stream().map(DroneField::property)) + " from Drone d where d.id > :after order by d.id";
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> droneRows(Collection<Long> ids, List<DroneField> fields) {
+        String jpql = select("d", fields.stream().map(DroneField::property)) + " from Drone d where d.id in :ids";
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public void forEachDrone(Consumer<DroneRecord> visitor) {
+        try (Stream<DroneRecord> drones = droneRepository.streamRecords()) {
+            drones.forEach(visitor);
+        }
+    }
+
+    @Override
+    public List<DroneStatus> allStatuses() {
+        return droneRepository.findAllStatuses().stream()
+                .map(v -> new DroneStatus(v.getId(), v.getState(), v.getBatteryCapacity(), v.getVersion()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long droneCount() {
+        return droneRepository.count();
+    }
+
+    @Override
+    @Transactional
+    public List<DroneRecord> createDrones(List<DroneRecord> drafts) {
+        Set<String> taken = new HashSet<>(droneRepository.findExistingSerialNumbers(
+                drafts.stream().map(DroneRecord::getSerialNumber).collect(Collectors.toSet())));
+        List<DroneRecord> created = new ArrayList<>(drafts.size());
+        int pending = 0;
+        for (DroneRecord draft : drafts) {
+            if (!taken.add(draft.getSerialNumber())) {
+                created.add(null);
+                continue;
+            }
+            Drone drone = new Drone(draft.getSerialNumber(), draft.getModel(), draft.getWeightLimit(), draft.getBatteryCapacity(), draft.getState());
+            drone.addLoad(draft.getCurrentLoadWeight(), draft.getLoadedItemCount());
+            drone.setPosition(DroneRecord.coordinate(draft.getLatitude()), DroneRecord.coordinate(draft.getLongitude()));
+            entityManager.persist(drone);
+            created.add(toRecord(drone));
+            if (++pending % INSERT_BATCH == 0) flushDrones();
+        }
+        flushDrones();
+        return created;
+    }
+
+    /**
+     * The serial numbers were checked before the inserts, so a unique violation here means a
+     * concurrent registration committed one of them in between; callers retry on it.
+     */
+    private void flushDrones() {
+        try {
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            throw new DataIntegrityViolationException("Serial number registered concurrently", e);
+        }
+        entityManager.clear();
+    }
+
+    @Override
+    public DroneRecord updateDrone(long id, UnaryOperator<DroneRecord> change) {
+        Drone drone = droneRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Drone not found"));
+        DroneRecord current = toRecord(drone);
+        DroneRecord next = change.apply(current);
+        if (next == current) return next;
+        copy(next, current, drone);
+        // flushed now to learn the version the row commits with; events carry it
+        droneRepository.saveAndFlush(drone);
+        return next.withVersion(version(drone));
+    }
+
+    @Override
+    public List<DroneStatus> updateAllDrones(UnaryOperator<DroneRecord> change) {
+        List<Drone> changed = new ArrayList<>();
+        for (Drone drone : droneRepository.findAll()) {
+            DroneRecord current = toRecord(drone);
+            DroneRecord next = change.apply(current);
+            if (next == current) continue;
+            copy(next, current, drone);
+            droneRepository.save(drone);
+            if (next.getState() != current.getState() || next.getBatteryCapacity() != current.getBatteryCapacity()) changed.add(drone);
+        }
+        // one flush for the whole fleet, after which each entity holds its committed version
+        entityManager.flush();
+        List<DroneStatus> changes = new ArrayList<>(changed.size());
+        for (Drone drone : changed) changes.add(new DroneStatus(drone.getId(), drone.getState(), drone.getBatteryCapacity(), version(drone)));
+        return changes;
+    }
+
+    @Override
+    public Optional<MedicationRecord> findMedication(long id) {
+        return medicationRepository.findRecordById(id);
+    }
+
+    @Override
+    public List<MedicationRecord> medicationsOf(long droneId) {
+        return medicationRepository.findRecordsByDroneId(droneId);
+    }
+
+    @Override
+    public List<MedicationRecord> medicationPage(long after, int limit) {
+        return medicationRepository.findRecordPage(after, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<Object[]> medicationRows(long after, int limit, List<MedicationField> fields) {
+        String jpql = select("m", fields.stream().map(MedicationField::path)) + " from Medication m where m.id > :after order by m.id";
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public void forEachMedication(Consumer<MedicationRecord> visitor) {
+        try (Stream<MedicationRecord> meds = medicationRepository.streamRecords()) {
+            meds.forEach(visitor);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<MedicationRecord> createMedications(List<MedicationRecord> drafts) {
+        List<Medication> meds = new ArrayList<>(drafts.size());
+        for (MedicationRecord draft : drafts) {
+            Medication med = new Medication(draft.getName(), draft.getWeight(), draft.getCode(), draft.getImageRef());
+            if (draft.getDroneId() != null) med.setDrone(entityManager.getReference(Drone.class, draft.getDroneId()));
+            meds.add(med);
+        }
+        // sequence ids: inserted as one JDBC batch at flush
+        return medicationRepository.saveAll(meds).stream().map(JpaFleetStore::toRecord).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public MedicationRecord updateMedication(long id, UnaryOperator<MedicationRecord> change) {
+        Medication med = medicationRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Medication not found"));
+        MedicationRecord current = toRecord(med);
+        MedicationRecord next = change.apply(current);
+        if (next != current) {
+            med.setName(next.getName());
+            med.setWeight(next.getWeight());
+            med.setCode(next.getCode());
+            med.setImageRef(next.getImageRef());
+        }
+        return next;
+    }
+
+    @Override
+    public void insertAll(List<DroneRecord> drones, List<MedicationRecord> medications) {
+        List<Object[]> batch = new ArrayList<>(Math.min(JDBC_BATCH, drones.size()));
+        for (DroneRecord d : drones) {
+            batch.add(new Object[]{d.getId(), d.getSerialNumber(), d.getModel().name(), d.getWeightLimit(), d.getBatteryCapacity(),
+                    d.getState().name(), d.getCurrentLoadWeight(), d.getLoadedItemCount(), d.getVersion(),
+                    new Timestamp(d.getCreatedAt()), new Timestamp(d.getUpdatedAt()),
+                    DroneRecord.coordinate(d.getLatitude()), DroneRecord.coordinate(d.getLongitude())});
+            if (batch.size() == JDBC_BATCH) flush(INSERT_DRONE, batch);
+        }
+        flush(INSERT_DRONE, batch);
+        for (MedicationRecord m : medications) {
+            batch.add(new Object[]{m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImageRef(), m.getDroneId()});
+            if (batch.size() == JDBC_BATCH) flush(INSERT_MEDICATION, batch);
+        }
+        flush(INSERT_MEDICATION, batch);
+    }
+
+    @Override
+    public void reserveIds(long maxDroneId, long maxMedicationId) {
+        // ids come from pooled sequences (allocation size 50): a sequence value v hands out v-49..v, so
+        // max+50 starts the next block right after max. A block Hibernate already holds is not affected,
+        // so reserve before anything is created
+        restartSequence("drone_seq", "drone", maxDroneId);
+        restartSequence("medication_seq", "medication", maxMedicationId);
+    }
+
+    private void restartSequence(String sequence, String table, long max) {
+        Long stored = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        jdbc.execute("alter sequence " + sequence + " restart with " + (Math.max(max, stored == null ? 0 : stored) + 50));
+    }
+
+    /** Selects the id, then each path; the id comes first even when it is also one of the paths. */
+    private static String select(String alias, Stream<String> paths) {
+        return paths.map(p -> alias + "." + p).collect(Collectors.joining(", ", "select " + alias + ".id, ", ""));
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbc.batchUpdate(sql, batch);
+        batch.clear();
+    }
+
+    private static void copy(DroneRecord next, DroneRecord current, Drone drone) {
+        drone.setBatteryCapacity(next.getBatteryCapacity());
+        drone.setState(next.getState());
+        drone.addLoad(next.getCurrentLoadWeight() - current.getCurrentLoadWeight(), next.getLoadedItemCount() - current.getLoadedItemCount());
+        drone.setPosition(DroneRecord.coordinate(next.getLatitude()), DroneRecord.coordinate(next.getLongitude()));
+    }
+
+    static DroneRecord toRecord(Drone d) {
+        return new DroneRecord(d.getId(), d.getSerialNumber(), d.getModel(), d.getWeightLimit(), d.getBatteryCapacity(), d.getState(),
+                d.getCurrentLoadWeight(), d.getLoadedItemCount(), d.getCreatedAt(), d.getUpdatedAt(), d.getLatitude(), d.getLongitude(),
+                d.getVersion());
+    }
+
+    private static long version(Drone d) {
+        return d.getVersion() != null ? d.getVersion() : 0;
+    }
+
+    static MedicationRecord toRecord(Medication m) {
+        return new MedicationRecord(m.getId(), m.getName(), m.getWeight(), m.getCode(), m.getImageRef(),
+                m.getDrone() != null ? m.getDrone().getId() : null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.droneservice.store;
+
+/** Immutable snapshot of one medication; {@code droneId} is null while it is not loaded. */
+public final class MedicationRecord {
+    private final long id;
+    private final String name;
+    private final int weight;
+    private final String code;
+    private final String imageRef;
+    private final Long droneId;
+
+    public MedicationRecord(long id, String name, int weight, String code, String imageRef, Long droneId) {
+        this.id = id;
+        this.name = name;
+        this.weight = weight;
+        this.code = code;
+        this.imageRef = imageRef;
+        this.droneId = droneId;
+    }
+
+    /** A medication not stored yet; the store assigns its id. */
+    public static MedicationRecord draft(String name, int weight, String code, String imageRef, Long droneId) {
+        return new MedicationRecord(0, name, weight, code, imageRef, droneId);
+    }
+
+    public long getId() { return id; }
+    public String getName() { return name; }
+    public int getWeight() { return weight; }
+    public String getCode() { return code; }
+    public String getImageRef() { return imageRef; }
+    public Long getDroneId() { return droneId; }
+
+    public MedicationRecord withId(long id) {
+        return new MedicationRecord(id, name, weight, code, imageRef, droneId);
+    }
+
+    public MedicationRecord withImageRef(String imageRef) {
+        return new MedicationRecord(id, name, weight, code, imageRef, droneId);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.droneservice.telemetry;
+
+import com.example.droneservice.config.BatteryHistoryProperties;
+import com.example.droneservice.dto.BatteryHistoryDto;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.store.FleetStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Battery readings per drone in fixed-size ring buffers held off-heap, so history costs
+ * {@code 8 + 9 * drone.battery-history.samples} bytes per drone and nothing per reading. Each
+ * ring stores the write position and sample count, then (epoch millis, battery) pairs; once full
+ * the oldest reading is overwritten. Rings live in direct buffers allocated a segment of
+ * {@value #SEGMENT_SLOTS} drones at a time, up to {@code drone.battery-history.max-drones}.
+ * Readings come from committed {@link FleetChangeEvent}s, so a drone's history is a step
+ * function: a new sample only when its battery or state changes.
+ */
+@Component
+public class BatteryHistoryStore {
+    private static final Logger log = LoggerFactory.getLogger(BatteryHistoryStore.class);
+
+    static final int SEGMENT_SLOTS = 1024;
+    private static final int HEADER = 8;
+    private static final int SAMPLE = 9;
+    private static final int LOCK_STRIPES = 64;
+
+    private final FleetStore store;
+    private final int capacity;
+    private final int stride;
+    private final int maxSlots;
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicReferenceArray<ByteBuffer> segments;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // set once every slot is taken; untracked drones then skip computeIfAbsent
+    private volatile boolean full;
+
+    public BatteryHistoryStore(FleetStore store, BatteryHistoryProperties properties) {
+        this.store = store;
+        this.capacity = Math.max(2, properties.getSamples());
+        this.stride = HEADER + capacity * SAMPLE;
+        this.maxSlots = Math.max(1, properties.getMaxDrones());
+        this.segments = new AtomicReferenceArray<>((maxSlots + SEGMENT_SLOTS - 1) / SEGMENT_SLOTS);
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long now = System.currentTimeMillis();
+        List<DroneStatus> all = store.allStatuses();
+        for (DroneStatus v : all) record(v.getId(), now, v.getBatteryCapacity());
+        log.info("Battery history seeded for {} drones ({} bytes per drone)", all.size(), stride);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFleetChange(FleetChangeEvent event) {
+        long now = System.currentTimeMillis();
+        for (DroneStatus s : event.getChanges()) record(s.getId(), now, s.getBatteryCapacity());
+    }
+
+    public void record(long droneId, long epochMillis, int battery) {
+        Integer slot = slotFor(droneId);
+        if (slot == null) return;
+        ByteBuffer seg = segments.get(slot / SEGMENT_SLOTS);
+        int base = (slot % SEGMENT_SLOTS) * stride;
+        synchronized (locks[slot % LOCK_STRIPES]) {
+            int head = seg.getInt(base);
+            int count = seg.getInt(base + 4);
+            int at = base + HEADER + head * SAMPLE;
+            seg.putLong(at, epochMillis);
+            seg.put(at + 8, (byte) Math.max(0, Math.min(100, battery)));
+            seg.putInt(base, (head + 1) % capacity);
+            if (count < capacity) seg.putInt(base + 4, count + 1);
+        }
+    }
+
+    /**
+     * Downsamples the readings between {@code from} and {@code to} into at most {@code points}
+     * equal buckets with min/max/avg. Buckets without readings repeat the last known value; ones
+     * before the first known reading are left out.
+     */
+    public BatteryHistoryDto history(long droneId, Instant from, Instant to, int points) {
+        long[] times;
+        byte[] values;
+        Integer slot = slots.get(droneId);
+        if (slot == null) {
+            times = new long[0];
+            values = new byte[0];
+        } else {
+            ByteBuffer seg = segments.get(slot / SEGMENT_SLOTS);
+            int base = (slot % SEGMENT_SLOTS) * stride;
+            synchronized (locks[slot % LOCK_STRIPES]) {
+                int head = seg.getInt(base);
+                int count = seg.getInt(base + 4);
+                times = new long[count];
+                values = new byte[count];
+                int oldest = count < capacity ? 0 : head;
+                for (int i = 0; i < count; i++) {
+                    int at = base + HEADER + ((oldest + i) % capacity) * SAMPLE;
+                    times[i] = seg.getLong(at);
+                    values[i] = seg.get(at + 8);
+                }
+            }
+        }
+
+        long end = to != null ? to.toEpochMilli() : System.currentTimeMillis();
+        long start = from != null ? from.toEpochMilli() : (times.length > 0 ? Math.min(times[0], end) : end);
+        if (start > end) throw new IllegalArgumentException("from must not be after to");
+        int n = Math.max(1, points);
+        long bucket = Math.max(1, (end - start + n) / n);
+
+        List<BatteryHistoryDto.Point> result = new ArrayList<>();
+        int i = 0;
+        int last = -1;
+        // readings before the window only provide the value carried into its first bucket
+        while (i < times.length && times[i] < start) last = values[i++];
+        for (long b = start; b <= end; b += bucket) {
+            long bEnd = Math.min(end + 1, b + bucket);
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, count = 0;
+            long sum = 0;
+            while (i < times.length && times[i] < bEnd) {
+                int v = values[i++];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                sum += v;
+                count++;
+                last = v;
+            }
+            if (count > 0) result.add(new BatteryHistoryDto.Point(Instant.ofEpochMilli(b), min, max, (double) sum / count, count));
+            else if (last >= 0) result.add(new BatteryHistoryDto.Point(Instant.ofEpochMilli(b), last, last, last, 0));
+        }
+        return new BatteryHistoryDto(droneId, Instant.ofEpochMilli(start), Instant.ofEpochMilli(end), bucket, result);
+    }
+
+    private Integer slotFor(long droneId) {
+        Integer slot = slots.get(droneId);
+        if (slot != null || full) return slot;
+        return slots.computeIfAbsent(droneId, id -> {
+            // never past maxSlots, so the counter cannot wrap however many drones go untracked
+            int s;
+            do {
+                s = nextSlot.get();
+                if (s >= maxSlots) {
+                    if (!full) {
+                        full = true;
+                        log.warn("Battery history is full ({} drones); not tracking further drones", maxSlots);
+                    }
+                    return null;
+                }
+            } while (!nextSlot.compareAndSet(s, s + 1));
+            ensureSegment(s / SEGMENT_SLOTS);
+            return s;
+        });
+    }
+
+    private synchronized void ensureSegment(int seg) {
+        if (segments.get(seg) == null) segments.set(seg, ByteBuffer.allocateDirect(SEGMENT_SLOTS * stride));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.droneservice.telemetry;
+
+import com.example.droneservice.config.TelemetryProperties;
+import com.example.droneservice.config.WorkerThreads;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.model.enums.DroneState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed fleet changes out to SSE subscribers. Changes are coalesced per drone between
+ * flushes, so a drone that moves several times in one interval costs one update, and each
+ * status is serialized once per flush however many subscribers receive it. Flushes run on a
+ * thread of their own, apart from the shared scheduler the simulator ticks on. Sends run on a
+ * small pool, one frame per turn and subscriber before it queues again behind the others; they
+ * never block, since a subscriber whose connection is full waits for the container to call back,
+ * and one that stays full past {@code drone.telemetry.send-timeout-millis} is dropped. A client
+ * that stops reading therefore costs the others no sender time at all.
+ */
+@Component
+public class TelemetryHub {
+    private static final Logger log = LoggerFactory.getLogger(TelemetryHub.class);
+
+    private final ObjectMapper objectMapper;
+    private final TelemetryProperties properties;
+    private final Map<Long, DroneStatus> dirty = new ConcurrentHashMap<>();
+    private final Set<TelemetrySubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService flusher;
+    private final long sendTimeoutNanos;
+
+    public TelemetryHub(ObjectMapper objectMapper, TelemetryProperties properties, WorkerThreads workerThreads) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.senders = Executors.newFixedThreadPool(Math.max(1, properties.getSenderThreads()), workerThreads.factory("telemetry-sender-"));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("telemetry-flush-"));
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getSendTimeoutMillis()));
+    }
+
+    @PostConstruct
+    void start() {
+        long interval = Math.max(1, properties.getFlushMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Turns the request into an event stream; {@code ids} or {@code states} may be null for no
+     * filter. Returns false, leaving the response alone, when at capacity.
+     */
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, Set<Long> ids, Set<DroneState> states)
+            throws IOException {
+        if (subscribers.size() >= properties.getMaxSubscribers()) return false;
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // headers go out now, while the stream is still blocking, so the client sees it open
+        response.flushBuffer();
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(properties.getTimeoutMillis());
+        TelemetrySubscriber subscriber = new TelemetrySubscriber(async, response.getOutputStream(), ids, states,
+                Math.max(1, properties.getMaxPending()), this::schedule);
+        async.addListener(subscriber);
+        subscribers.add(subscriber);
+        // switches the stream to non-blocking writes
+        response.getOutputStream().setWriteListener(subscriber);
+        return true;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFleetChange(FleetChangeEvent event) {
+        if (subscribers.isEmpty()) return;
+        for (DroneStatus s : event.getChanges()) dirty.put(s.getId(), s);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            log.error("Telemetry flush failed", e);
+        }
+    }
+
+    void flush() {
+        long now = System.nanoTime();
+        for (TelemetrySubscriber sub : subscribers) {
+            if (sub.isClosed()) {
+                subscribers.remove(sub);
+            } else if (sub.isStalled(now, sendTimeoutNanos)) {
+                subscribers.remove(sub);
+                sub.close();
+            }
+        }
+        if (dirty.isEmpty()) return;
+        Map<Long, DroneStatus> batch = new LinkedHashMap<>();
+        for (Long id : dirty.keySet()) {
+            // a change landing after this remove stays dirty for the next flush
+            DroneStatus s = dirty.remove(id);
+            if (s != null) batch.put(id, s);
+        }
+        Map<Long, String> json = new HashMap<>();
+        for (TelemetrySubscriber sub : subscribers) {
+            boolean schedule = false;
+            if (sub.ids() != null && sub.ids().size() < batch.size()) {
+                for (Long id : sub.ids()) {
+                    DroneStatus s = batch.get(id);
+                    if (s != null && sub.wants(s)) schedule |= sub.offer(id, json.computeIfAbsent(id, k -> write(s)));
+                }
+            } else {
+                for (DroneStatus s : batch.values()) {
+                    if (sub.wants(s)) schedule |= sub.offer(s.getId(), json.computeIfAbsent(s.getId(), k -> write(s)));
+                }
+            }
+            if (schedule) schedule(sub);
+        }
+    }
+
+    private void schedule(TelemetrySubscriber sub) {
+        try {
+            senders.execute(() -> send(sub));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void send(TelemetrySubscriber sub) {
+        if (sub.drain()) schedule(sub);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        for (TelemetrySubscriber sub : subscribers) sub.close();
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private String write(DroneStatus status) {
+        try {
+            return objectMapper.writeValueAsString(status);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.droneservice.telemetry;
+
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.model.enums.DroneState;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * One SSE connection, written with non-blocking servlet I/O so that a client which stops reading
+ * never holds a sender thread: while the connection takes no more bytes, updates keep coalescing
+ * per drone into a pending map bounded by {@code drone.telemetry.max-pending}, and the container's
+ * {@link #onWritePossible} schedules the next frame. A subscriber that falls further behind has
+ * its backlog discarded and is sent a {@code resync} event, telling it to re-read the fleet over
+ * REST; one whose connection takes nothing for {@code drone.telemetry.send-timeout-millis} is
+ * closed.
+ */
+final class TelemetrySubscriber implements WriteListener, AsyncListener {
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final Set<Long> ids;
+    private final Set<DroneState> states;
+    private final int maxPending;
+    // schedules a drain turn on a sender thread
+    private final Consumer<TelemetrySubscriber> wake;
+    // drones last sent in a matching state, so the change that takes them out of it is sent too
+    private final Set<Long> shown = new HashSet<>();
+    private LinkedHashMap<Long, String> pending = new LinkedHashMap<>();
+    private int dropped;
+    // a drain turn is scheduled or running
+    private boolean sending;
+    // the container called onWritePossible during that turn
+    private boolean writable;
+    private volatile boolean closed;
+    // nanoTime the connection stopped taking writes at, or IDLE
+    private volatile long blockedSince = IDLE;
+
+    TelemetrySubscriber(AsyncContext async, ServletOutputStream out, Set<Long> ids, Set<DroneState> states, int maxPending,
+                        Consumer<TelemetrySubscriber> wake) {
+        this.async = async;
+        this.out = out;
+        this.ids = ids;
+        this.states = states;
+        this.maxPending = maxPending;
+        this.wake = wake;
+    }
+
+    Set<Long> ids() { return ids; }
+
+    boolean isClosed() { return closed; }
+
+    /** Only called from the flushing thread. */
+    boolean wants(DroneStatus status) {
+        if (ids != null && !ids.contains(status.getId())) return false;
+        if (states == null) return true;
+        if (states.contains(status.getState())) {
+            shown.add(status.getId());
+            return true;
+        }
+        return shown.remove(status.getId());
+    }
+
+    /** Queues an update; returns true when the caller must schedule {@link #drain}. */
+    synchronized boolean offer(long droneId, String json) {
+        if (closed) return false;
+        if (pending.size() >= maxPending && !pending.containsKey(droneId)) {
+            dropped += pending.size() + 1;
+            pending = new LinkedHashMap<>();
+        } else {
+            pending.put(droneId, json);
+        }
+        // a blocked connection is drained again from onWritePossible
+        if (sending || blockedSince != IDLE) return false;
+        sending = true;
+        return true;
+    }
+
+    /**
+     * Writes what is pending as one frame; runs on a sender thread and never blocks. Returns true
+     * when more arrived meanwhile and the caller must schedule another turn, so other subscribers
+     * get theirs first.
+     */
+    boolean drain() {
+        Map<Long, String> frame;
+        int lost;
+        synchronized (this) {
+            writable = false;
+            if (closed || (pending.isEmpty() && dropped == 0)) {
+                sending = false;
+                return false;
+            }
+        }
+        try {
+            if (!out.isReady()) {
+                synchronized (this) {
+                    // the bytes went out between the check and here
+                    if (writable) return true;
+                    if (blockedSince == IDLE) blockedSince = System.nanoTime();
+                    sending = false;
+                    return false;
+                }
+            }
+            synchronized (this) {
+                frame = pending;
+                lost = dropped;
+                pending = new LinkedHashMap<>();
+                dropped = 0;
+            }
+            out.write(toFrame(frame, lost));
+            // what does not fit stays buffered in the container, which calls onWritePossible once it is out
+            if (out.isReady()) out.flush();
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return false;
+        }
+        synchronized (this) {
+            if (closed || (pending.isEmpty() && dropped == 0)) {
+                sending = false;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** Whether the connection has taken no writes for longer than {@code timeoutNanos}. */
+    boolean isStalled(long now, long timeoutNanos) {
+        long since = blockedSince;
+        return since != IDLE && now - since > timeoutNanos;
+    }
+
+    @Override
+    public void onWritePossible() {
+        synchronized (this) {
+            blockedSince = IDLE;
+            if (sending) {
+                writable = true;
+                return;
+            }
+            if (closed || (pending.isEmpty() && dropped == 0)) return;
+            sending = true;
+        }
+        wake.accept(this);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        synchronized (this) {
+            closed = true;
+            pending = new LinkedHashMap<>();
+        }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            pending = new LinkedHashMap<>();
+        }
+        try {
+            async.complete();
+        } catch (IllegalStateException ignored) {
+            // already completed by the container
+        }
+    }
+
+    private static byte[] toFrame(Map<Long, String> frame, int lost) {
+        StringBuilder sb = new StringBuilder(32 + frame.size() * 64);
+        if (lost > 0) sb.append("event:resync\ndata:{\"dropped\":").append(lost).append("}\n\n");
+        if (!frame.isEmpty()) {
+            sb.append("event:drones\ndata:[");
+            boolean first = true;
+            for (String json : frame.values()) {
+                if (!first) sb.append(',');
+                sb.append(json);
+                first = false;
+            }
+            sb.append("]\n\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
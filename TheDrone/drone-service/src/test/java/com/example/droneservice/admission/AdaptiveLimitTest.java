@@ -0,0 +1,95 @@
+package com.example.droneservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The AIMD limit on a clock driven by the test: slow requests halve it once per round, and fast
+ * ones raise it by about one per limit's worth of requests while it is at least half used.
+ */
+class AdaptiveLimitTest {
+    private static final long MILLI = 1_000_000;
+    private static final long TARGET = 10 * MILLI;
+
+    @Test
+    void admitsUpToTheLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(3, 1, 10, TARGET, 0.5, 0);
+        for (int i = 0; i < 3; i++) assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(0, MILLI);
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void slowRequestsCutOncePerRound() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 1, 100, TARGET, 0.5, 0);
+        for (int i = 0; i < 10; i++) limit.tryAcquire();
+        // ten slow requests that all started before the first cut
+        for (int i = 0; i < 10; i++) limit.release(0, 50 * MILLI + i);
+        assertThat(limit.limit()).isEqualTo(10);
+
+        // one started after that cut sees the new load, and cuts again
+        limit.tryAcquire();
+        limit.release(60 * MILLI, 200 * MILLI);
+        assertThat(limit.limit()).isEqualTo(5);
+        limit.tryAcquire();
+        limit.release(100 * MILLI, 300 * MILLI);
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void cutsStopAtTheMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 2, 100, TARGET, 0.5, 0);
+        for (long t = 0; t < 10; t++) {
+            limit.tryAcquire();
+            limit.release(t * 100 * MILLI, t * 100 * MILLI + 50 * MILLI);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void fastRequestsGrowItByOnePerLimitsWorth() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 100, TARGET, 0.5, 0);
+        for (int i = 0; i < 6; i++) limit.tryAcquire();
+        int requests = 0;
+        while (limit.limit() < 11 && requests < 100) {
+            // six in flight throughout, over half the limit
+            limit.release(0, MILLI);
+            limit.tryAcquire();
+            requests++;
+        }
+        assertThat(requests).isBetween(10, 11);
+    }
+
+    @Test
+    void underusedLimitDoesNotGrow() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 100, TARGET, 0.5, 0);
+        for (int i = 0; i < 1000; i++) {
+            limit.tryAcquire();
+            limit.release(0, MILLI);
+        }
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void growthStopsAtTheMaximum() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 6, TARGET, 0.5, 0);
+        for (int i = 0; i < 4; i++) limit.tryAcquire();
+        for (int i = 0; i < 1000; i++) {
+            limit.release(0, MILLI);
+            limit.tryAcquire();
+        }
+        assertThat(limit.limit()).isEqualTo(6);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new AdaptiveLimit(4, 0, 6, TARGET, 0.5, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimit(4, 5, 4, TARGET, 0.5, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimit(4, 1, 6, TARGET, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimit(4, 1, 6, 0, 0.5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
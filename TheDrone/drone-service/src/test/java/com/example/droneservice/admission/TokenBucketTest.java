@@ -0,0 +1,68 @@
+package com.example.droneservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/** Refill, burst and the nanos a rejected caller is told to wait, on a clock driven by the test. */
+class TokenBucketTest {
+    private static final long MILLI = 1_000_000;
+
+    @Test
+    void startsFullAndAdmitsABurst() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) assertThat(bucket.take(0)).isZero();
+        // one token every 100 ms at 10/s
+        assertThat(bucket.take(0)).isCloseTo(100 * MILLI, within(1L));
+        assertThat(bucket.isFull(0)).isFalse();
+    }
+
+    @Test
+    void waitShrinksAsTheBucketRefills() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertThat(bucket.take(0)).isZero();
+        assertThat(bucket.take(30 * MILLI)).isCloseTo(70 * MILLI, within(1L));
+        // a refused take costs nothing
+        assertThat(bucket.take(60 * MILLI)).isCloseTo(40 * MILLI, within(1L));
+        assertThat(bucket.take(100 * MILLI)).isZero();
+        assertThat(bucket.take(100 * MILLI)).isCloseTo(100 * MILLI, within(1L));
+    }
+
+    @Test
+    void refillStopsAtTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) bucket.take(0);
+        assertThat(bucket.isFull(200 * MILLI)).isFalse();
+        assertThat(bucket.isFull(300 * MILLI)).isTrue();
+
+        long later = 60_000 * MILLI;
+        for (int i = 0; i < 3; i++) assertThat(bucket.take(later)).isZero();
+        assertThat(bucket.take(later)).isCloseTo(100 * MILLI, within(1L));
+    }
+
+    @Test
+    void slowRatesWaitWholeSeconds() {
+        TokenBucket bucket = new TokenBucket(0.5, 1, 0);
+        assertThat(bucket.take(0)).isZero();
+        assertThat(bucket.take(0)).isCloseTo(2000 * MILLI, within(1L));
+        assertThat(bucket.take(500 * MILLI)).isCloseTo(1500 * MILLI, within(1L));
+    }
+
+    @Test
+    void clockGoingBackAddsNoTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, 100 * MILLI);
+        assertThat(bucket.take(100 * MILLI)).isZero();
+        assertThat(bucket.take(0)).isCloseTo(100 * MILLI, within(1L));
+        assertThat(bucket.take(150 * MILLI)).isCloseTo(50 * MILLI, within(1L));
+    }
+
+    @Test
+    void burstIsAtLeastOneAndRateMustBePositive() {
+        TokenBucket bucket = new TokenBucket(1, 0, 0);
+        assertThat(bucket.take(0)).isZero();
+        assertThat(bucket.take(0)).isPositive();
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.MedicationDto;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decodes {@link FleetColumns} payloads the way a client would, from the format in its class
+ * doc, and checks they round-trip: ids out of order (negative zig-zag deltas), strings longer than
+ * the writer's 64 KB buffer and multi-byte ones straddling it, null and empty nullable strings,
+ * null drone ids between non-null ones, drones with and without positions, and the
+ * {@code nextCursor + 1} header.
+ */
+class FleetColumnsTest {
+    private static final DroneModel[] MODELS = DroneModel.values();
+    private static final DroneState[] STATES = DroneState.values();
+
+    @Test
+    void dronesRoundTrip() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        List<DroneDto> drones = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long id = i % 7 == 0 ? random.nextLong(1, Long.MAX_VALUE / 2) : random.nextLong(1, 5000);
+            Double latitude = null;
+            Double longitude = null;
+            if (i % 3 != 0) {
+                latitude = i % 50 == 1 ? -90.0 : random.nextDouble(-90, 90);
+                longitude = i % 50 == 1 ? 180.0 : random.nextDouble(-180, 180);
+            }
+            drones.add(new DroneDto(id, serial(random, i), MODELS[random.nextInt(MODELS.length)], random.nextInt(0, 100_000),
+                    random.nextInt(0, 101), STATES[random.nextInt(STATES.length)], latitude, longitude));
+        }
+        // a position of -0.0 must not come back as 0.0
+        drones.add(new DroneDto(9L, "ZERO", DroneModel.LIGHT_WEIGHT, 100, 50, DroneState.IDLE, -0.0, -0.0));
+
+        for (Long cursor : new Long[]{null, 0L, 41L, Long.MAX_VALUE - 1}) {
+            Page<DroneDto> page = new Decoder(encodeDrones(drones, cursor)).drones();
+            assertThat(page.nextCursor).isEqualTo(cursor);
+            assertThat(page.items).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(drones);
+        }
+    }
+
+    @Test
+    void emptyListsRoundTrip() throws IOException {
+        assertThat(new Decoder(encodeDrones(List.of(), null)).drones().items).isEmpty();
+        assertThat(new Decoder(encodeMedications(List.of(), 7L)).medications().nextCursor).isEqualTo(7L);
+    }
+
+    @Test
+    void medicationsRoundTrip() throws IOException {
+        SplittableRandom random = new SplittableRandom(8);
+        List<MedicationDto> medications = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String imageRef = switch (i % 4) {
+                case 0 -> null;
+                case 1 -> "";
+                case 2 -> i % 200 == 2 ? "\u00fc".repeat(40_000) : "sha256-" + Long.toHexString(random.nextLong());
+                default -> "img/" + i;
+            };
+            Long droneId = i % 5 == 0 ? null : (Long) random.nextLong(1, 1 << 20);
+            medications.add(new MedicationDto(random.nextLong(1, 1 << 30), "MED_" + i + (i % 500 == 0 ? "x".repeat(70_000) : ""),
+                    random.nextInt(0, 1000), "CODE_" + i, imageRef, droneId));
+        }
+
+        for (Long cursor : new Long[]{null, 0L, 123456789L}) {
+            Page<MedicationDto> page = new Decoder(encodeMedications(medications, cursor)).medications();
+            assertThat(page.nextCursor).isEqualTo(cursor);
+            assertThat(page.items).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(medications);
+        }
+    }
+
+    private static String serial(SplittableRandom random, int i) {
+        if (i == 17) return "S".repeat(200_000);
+        // three-byte characters, so some straddle the end of the writer's buffer
+        if (i % 97 == 0) return "\u20ac".repeat(random.nextInt(1, 30_000));
+        return "SN-" + i;
+    }
+
+    private static byte[] encodeDrones(List<DroneDto> drones, Long cursor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FleetColumns.writeDrones(drones, cursor, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeMedications(List<MedicationDto> medications, Long cursor) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FleetColumns.writeMedications(medications, cursor, out);
+        return out.toByteArray();
+    }
+
+    private static final class Page<T> {
+        final List<T> items;
+        final Long nextCursor;
+
+        Page(List<T> items, Long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    /** A client-side reader, written from the format description rather than the writer. */
+    private static final class Decoder {
+        private final byte[] data;
+        private int position;
+        private Long nextCursor;
+
+        Decoder(byte[] data) {
+            this.data = data;
+        }
+
+        Page<DroneDto> drones() {
+            int rows = header('D');
+            DroneModel[] models = dictionary(DroneModel.class);
+            DroneState[] states = dictionary(DroneState.class);
+            long[] ids = ids(rows);
+            String[] serials = new String[rows];
+            for (int i = 0; i < rows; i++) serials[i] = string();
+            DroneModel[] model = new DroneModel[rows];
+            for (int i = 0; i < rows; i++) model[i] = models[u8()];
+            int[] weightLimits = new int[rows];
+            for (int i = 0; i < rows; i++) weightLimits[i] = (int) varint();
+            int[] batteries = new int[rows];
+            for (int i = 0; i < rows; i++) batteries[i] = u8();
+            DroneState[] state = new DroneState[rows];
+            for (int i = 0; i < rows; i++) state[i] = states[u8()];
+            boolean[] positioned = new boolean[rows];
+            int bitmap = position;
+            position += (rows + 7) / 8;
+            for (int i = 0; i < rows; i++) positioned[i] = (data[bitmap + i / 8] >> (i % 8) & 1) != 0;
+            Double[] latitudes = doubles(positioned);
+            Double[] longitudes = doubles(positioned);
+            List<DroneDto> drones = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                drones.add(new DroneDto(ids[i], serials[i], model[i], weightLimits[i], batteries[i], state[i],
+                        latitudes[i], longitudes[i]));
+            }
+            return end(drones);
+        }
+
+        Page<MedicationDto> medications() {
+            int rows = header('M');
+            long[] ids = ids(rows);
+            String[] names = new String[rows];
+            for (int i = 0; i < rows; i++) names[i] = string();
+            int[] weights = new int[rows];
+            for (int i = 0; i < rows; i++) weights[i] = (int) varint();
+            String[] codes = new String[rows];
+            for (int i = 0; i < rows; i++) codes[i] = string();
+            String[] imageRefs = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                long length = varint();
+                imageRefs[i] = length == 0 ? null : utf8((int) length - 1);
+            }
+            Long[] droneIds = new Long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long stored = varint();
+                if (stored == 0) continue;
+                previous += unzigzag(stored - 1);
+                droneIds[i] = previous;
+            }
+            List<MedicationDto> medications = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                medications.add(new MedicationDto(ids[i], names[i], weights[i], codes[i], imageRefs[i], droneIds[i]));
+            }
+            return end(medications);
+        }
+
+        private int header(char kind) {
+            assertThat((char) u8()).isEqualTo(kind);
+            assertThat(u8()).isEqualTo(2);
+            int rows = (int) varint();
+            long cursor = varint();
+            nextCursor = cursor == 0 ? null : cursor - 1;
+            return rows;
+        }
+
+        private <T> Page<T> end(List<T> items) {
+            assertThat(position).as("trailing bytes").isEqualTo(data.length);
+            return new Page<>(items, nextCursor);
+        }
+
+        private <E extends Enum<E>> E[] dictionary(Class<E> type) {
+            int count = (int) varint();
+            @SuppressWarnings("unchecked")
+            E[] values = (E[]) Array.newInstance(type, count);
+            for (int i = 0; i < count; i++) values[i] = Enum.valueOf(type, string());
+            return values;
+        }
+
+        private long[] ids(int rows) {
+            long[] ids = new long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) ids[i] = previous += unzigzag(varint());
+            return ids;
+        }
+
+        private Double[] doubles(boolean[] present) {
+            Double[] values = new Double[present.length];
+            for (int i = 0; i < present.length; i++) {
+                if (!present[i]) continue;
+                long bits = 0;
+                for (int b = 0; b < 8; b++) bits = bits << 8 | u8();
+                values[i] = Double.longBitsToDouble(bits);
+            }
+            return values;
+        }
+
+        private String string() {
+            return utf8((int) varint());
+        }
+
+        private String utf8(int length) {
+            String s = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return s;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = u8();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int u8() {
+            return data[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.droneservice.controller;
+
+import com.example.droneservice.service.MedicationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Image uploads past {@code drone.blob.max-bytes} get 413, both when their Content-Length gives
+ * them away and when they are chunked and only counted as they stream in.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "drone.simulator.interval=3600000",
+        "drone.blob.max-bytes=4096"})
+class ImageUploadTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MedicationService medicationService;
+
+    @Test
+    void uploadsUpToTheLimitAreStored() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/images", HttpRequest.BodyPublishers.ofByteArray(new byte[4096]));
+        assertThat(response.statusCode()).isEqualTo(201);
+        assertThat(response.body()).contains("imageRef");
+    }
+
+    @Test
+    void largerUploadsAreRejected() throws Exception {
+        assertThat(send("POST", "/api/images", HttpRequest.BodyPublishers.ofByteArray(new byte[4097])).statusCode())
+                .isEqualTo(413);
+        // no Content-Length, so the limit is only found while reading
+        assertThat(send("POST", "/api/images", chunked(100_000)).statusCode()).isEqualTo(413);
+
+        long medication = medicationService.listAll().get(0).getId();
+        assertThat(send("PUT", "/api/medications/" + medication + "/image", chunked(100_000)).statusCode()).isEqualTo(413);
+        assertThat(medicationService.getMedication(medication).getImageRef()).isNull();
+    }
+
+    private HttpResponse<String> send(String method, String path, HttpRequest.BodyPublisher body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/octet-stream")
+                .method(method, body)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.BodyPublisher chunked(int size) {
+        return HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(new byte[size]));
+    }
+}
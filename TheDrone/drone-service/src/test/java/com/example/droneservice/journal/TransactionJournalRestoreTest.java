@@ -0,0 +1,224 @@
+package com.example.droneservice.journal;
+
+import com.example.droneservice.DroneServiceApplication;
+import com.example.droneservice.config.JournalProperties;
+import com.example.droneservice.config.WorkerThreads;
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.event.DronePosition;
+import com.example.droneservice.event.DronesMovedEvent;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.service.DroneService;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.InMemoryFleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes to a fleet with the journal on, restarts on the same {@code drone.journal.dir} and
+ * expects the same fleet back. Without stripe locks, concurrent moves and loads of one drone can
+ * reach the journal out of commit order, which replay must undo. A shutdown with records still
+ * queued must write them rather than drop them.
+ */
+class TransactionJournalRestoreTest {
+    private static final int DRONES = 8;
+    private static final int CLIENTS = 16;
+    private static final int WRITES_PER_CLIENT = 50;
+    private static final String SERIAL_PREFIX = "JOURNAL-";
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"jpa", "memory"})
+    void restartRestoresTheSameFleet(String engine) throws Exception {
+        List<String> written;
+        try (ConfigurableApplicationContext context = start(engine, "before")) {
+            write(context.getBean(DroneService.class), context.getBean(TransactionJournal.class));
+            written = fleet(context.getBean(FleetStore.class));
+        }
+        try (ConfigurableApplicationContext context = start(engine, "after")) {
+            assertThat(fleet(context.getBean(FleetStore.class))).isEqualTo(written);
+        }
+    }
+
+    @Test
+    void shutdownWritesQueuedRecords() throws Exception {
+        JournalProperties properties = new JournalProperties();
+        properties.setDir(dir.toString());
+        // callers don't wait, so the records are still queued when the journal stops
+        properties.setDurableCommits(false);
+        CountDownLatch writerGate = new CountDownLatch(1);
+        TransactionJournal journal = new TransactionJournal(properties, memoryStore(), new WorkerThreads(false) {
+            @Override
+            public ThreadFactory factory(String prefix) {
+                ThreadFactory threads = super.factory(prefix);
+                if (!prefix.startsWith("journal-writer")) return threads;
+                return r -> threads.newThread(() -> {
+                    try {
+                        writerGate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    r.run();
+                });
+            }
+        });
+        journal.start();
+
+        List<DroneDto> drones = new ArrayList<>();
+        for (long id = 1; id <= DRONES; id++) {
+            drones.add(new DroneDto(id, SERIAL_PREFIX + id, DroneModel.LIGHT_WEIGHT, 100, 100, DroneState.IDLE, null, null));
+        }
+        journal.onDronesRegistered(new DronesRegisteredEvent(drones));
+        for (int version = 1; version <= WRITES_PER_CLIENT; version++) {
+            List<DronePosition> positions = new ArrayList<>();
+            for (long id = 1; id <= DRONES; id++) positions.add(new DronePosition(id, version, id, version));
+            journal.onDronesMoved(new DronesMovedEvent(positions));
+        }
+
+        Thread stopper = new Thread(() -> {
+            try {
+                journal.stop();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        stopper.start();
+        // stop() is waiting for the writer, which has not taken a single record yet
+        while (stopper.isAlive() && stopper.getState() != Thread.State.WAITING) Thread.onSpinWait();
+        writerGate.countDown();
+        stopper.join();
+
+        FleetStore restored = memoryStore();
+        TransactionJournal next = new TransactionJournal(properties, restored, new WorkerThreads(false));
+        next.start();
+        try {
+            assertThat(restored.droneCount()).isEqualTo(DRONES);
+            restored.forEachDrone(d -> {
+                assertThat(d.getLatitude()).isEqualTo(WRITES_PER_CLIENT);
+                assertThat(d.getLongitude()).isEqualTo(d.getId());
+                assertThat(d.getVersion()).isEqualTo(WRITES_PER_CLIENT);
+            });
+        } finally {
+            next.stop();
+        }
+    }
+
+    private static FleetStore memoryStore() {
+        return new InMemoryFleetStore(Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private ConfigurableApplicationContext start(String engine, String database) {
+        return new SpringApplicationBuilder(DroneServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // as arguments, so they override application.yml
+                .run("--drone.store.engine=" + engine,
+                        "--drone.journal.enabled=true",
+                        "--drone.journal.dir=" + dir,
+                        "--drone.concurrency.striped-locks=false",
+                        "--drone.simulator.interval=3600000",
+                        // a database of its own for each start, as after a real restart
+                        "--spring.datasource.url=jdbc:h2:mem:journal-" + engine + "-" + database + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private static void write(DroneService droneService, TransactionJournal journal) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < DRONES; i++) {
+            CreateDroneRequest req = new CreateDroneRequest();
+            req.setSerialNumber(SERIAL_PREFIX + i);
+            req.setModel(DroneModel.HEAVY_WEIGHT);
+            req.setWeightLimit(DroneModel.HEAVY_WEIGHT.getCapacity());
+            ids.add(droneService.registerDrone(req).getId());
+        }
+        // the rest is replayed over this snapshot
+        journal.snapshot();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < WRITES_PER_CLIENT; i++) {
+                    long droneId = ids.get(random.nextInt(DRONES));
+                    try {
+                        if (random.nextBoolean()) {
+                            droneService.updatePosition(droneId, new PositionRequest(random.nextDouble(-90, 90), random.nextDouble(-180, 180)));
+                        } else {
+                            droneService.loadDrone(droneId, loadOf(1 + random.nextInt(5)));
+                        }
+                    } catch (IllegalStateException | ConcurrencyFailureException e) {
+                        // over capacity, or retries exhausted: nothing was written
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : clients) f.get();
+        pool.shutdown();
+    }
+
+    /** The test's drones and their medications, one line per row, timestamps left out. */
+    private static List<String> fleet(FleetStore store) {
+        List<String> rows = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        store.forEachDrone(d -> {
+            if (!d.getSerialNumber().startsWith(SERIAL_PREFIX)) return;
+            ids.add(d.getId());
+            rows.add(row(d));
+        });
+        for (long id : ids) {
+            for (MedicationRecord m : store.medicationsOf(id)) {
+                rows.add("medication " + m.getId() + " " + m.getName() + " " + m.getWeight() + " " + m.getCode() + " " + m.getDroneId());
+            }
+        }
+        return rows;
+    }
+
+    private static String row(DroneRecord d) {
+        return "drone " + d.getId() + " " + d.getSerialNumber() + " " + d.getModel() + " " + d.getWeightLimit() + " "
+                + d.getBatteryCapacity() + " " + d.getState() + " " + d.getCurrentLoadWeight() + " " + d.getLoadedItemCount() + " "
+                + d.getLatitude() + " " + d.getLongitude() + " v" + d.getVersion();
+    }
+
+    private static LoadRequest loadOf(int weight) {
+        CreateMedicationRequest med = new CreateMedicationRequest();
+        med.setName("Journal");
+        med.setWeight(weight);
+        med.setCode("JOURNAL_1");
+        LoadRequest load = new LoadRequest();
+        load.setMedications(List.of(med));
+        return load;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.droneservice.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A small wheel (ticks of 10 ms, 4 slots, 3 levels, so 40, 160 and 640 ms spans) so that a few
+ * hundred milliseconds of deadlines already cross every level and overflow the top one.
+ */
+class HierarchicalTimingWheelTest {
+    private static final long TICK = 10;
+
+    @Test
+    void itemsComeDueInDeadlineOrderAcrossLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        wheel.add("beyond-top", 5000);
+        wheel.add("level-2", 600);
+        wheel.add("level-1", 150);
+        wheel.add("level-0", 35);
+        wheel.add("next-tick", 5);
+
+        assertThat(wheel.advance(20)).containsExactly("next-tick");
+        assertThat(wheel.advance(10000)).containsExactly("level-0", "level-1", "level-2", "beyond-top");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void addingAgainMovesTheDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        wheel.add("earlier", 500);
+        wheel.add("earlier", 50);
+        wheel.add("later", 50);
+        wheel.add("later", 500);
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(wheel.advance(100)).containsExactly("earlier");
+        assertThat(wheel.advance(1000)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledItemsNeverComeDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        wheel.add("cancelled", 300);
+        wheel.add("kept", 300);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.cancel("unknown")).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1000)).containsExactly("kept");
+        assertThat(wheel.cancel("kept")).isFalse();
+
+        // a cancelled item can be added again
+        wheel.add("cancelled", 1200);
+        assertThat(wheel.advance(2000)).containsExactly("cancelled");
+    }
+
+    @Test
+    void matchesAModelUnderRandomAddsReschedulesAndCancels() {
+        SplittableRandom random = new SplittableRandom(5);
+        long now = 1234;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, now);
+        // per item on the wheel, the tick it must come due at
+        Map<Integer, Long> model = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            long current = now - Math.floorMod(now, TICK);
+            for (int op = random.nextInt(4); op > 0; op--) {
+                int item = random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    assertThat(wheel.cancel(item)).isEqualTo(model.remove(item) != null);
+                } else {
+                    long deadline = now + random.nextLong(-20, 1500);
+                    wheel.add(item, deadline);
+                    // the next tick at the earliest, else the tick the deadline falls in
+                    model.put(item, Math.max(Math.floorDiv(deadline, TICK) * TICK, current + TICK));
+                }
+            }
+            assertThat(wheel.size()).isEqualTo(model.size());
+
+            now += random.nextLong(0, 60);
+            long reached = now - Math.floorMod(now, TICK);
+            List<Integer> expired = wheel.advance(now);
+            long previous = Long.MIN_VALUE;
+            for (Integer item : expired) {
+                Long due = model.remove(item);
+                assertThat(due).as("item %d expired at %d", item, reached).isNotNull().isLessThanOrEqualTo(reached);
+                assertThat(due).as("due order").isGreaterThanOrEqualTo(previous);
+                previous = due;
+            }
+            List<Integer> overdue = new ArrayList<>();
+            model.forEach((item, due) -> {
+                if (due <= reached) overdue.add(item);
+            });
+            assertThat(overdue).as("still on the wheel at %d", reached).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.droneservice.scheduler;
+
+import com.example.droneservice.config.SimulatorProperties;
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import com.example.droneservice.repository.DroneRepository;
+import com.example.droneservice.repository.DroneStatusView;
+import com.example.droneservice.service.DroneService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A chunk whose transaction fails must leave its drones, and those of every chunk after it in the
+ * same advance, on the wheel to be retried, rather than dropping them until some unrelated event
+ * schedules them again.
+ */
+@SpringBootTest(properties = {
+        "drone.simulator.engine=timing-wheel",
+        "drone.simulator.interval=200",
+        "drone.simulator.wheel.tick-millis=20",
+        "drone.simulator.chunk-size=2"})
+class TimingWheelSimulatorTest {
+    private static final int DRONES = 6;
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private TimingWheelSimulator simulator;
+    @Autowired
+    private FailingTickRunner runner;
+
+    @Test
+    void failedChunkLeavesItsDronesScheduled() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        List<DroneStatus> moving = new ArrayList<>();
+        for (int i = 0; i < DRONES; i++) {
+            CreateDroneRequest req = new CreateDroneRequest();
+            req.setSerialNumber("WHEEL-" + i);
+            req.setModel(DroneModel.LIGHT_WEIGHT);
+            req.setWeightLimit(DroneModel.LIGHT_WEIGHT.getCapacity());
+            long id = droneService.registerDrone(req).getId();
+            ids.add(id);
+            moving.add(new DroneStatus(id, DroneState.DELIVERING, 100, 0));
+        }
+        runner.failOnce(ids);
+        // straight to the simulator: the rows stay IDLE, so each drone is advanced once and then dropped
+        simulator.onFleetChange(new FleetChangeEvent(moving));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!runner.advanced().containsAll(ids) && System.nanoTime() < deadline) Thread.sleep(20);
+        assertThat(runner.failures()).isEqualTo(1);
+        assertThat(runner.advanced()).containsAll(ids);
+    }
+
+    @TestConfiguration
+    static class FailingRunnerConfig {
+        @Bean
+        @Primary
+        FailingTickRunner failingTickRunner(DroneRepository droneRepository, TransactionTemplate transactionTemplate,
+                                            ApplicationEventPublisher events, SimulatorProperties properties) {
+            return new FailingTickRunner(droneRepository, transactionTemplate, events, properties);
+        }
+    }
+
+    /** Fails the first chunk holding a watched drone, and records the watched drones it advanced. */
+    static class FailingTickRunner extends ChunkedTickRunner {
+        private final Set<Long> watched = ConcurrentHashMap.newKeySet();
+        private final Set<Long> advanced = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        FailingTickRunner(DroneRepository droneRepository, TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher events, SimulatorProperties properties) {
+            super(droneRepository, transactionTemplate, events, properties);
+        }
+
+        void failOnce(List<Long> ids) {
+            watched.addAll(ids);
+            armed.set(true);
+        }
+
+        Set<Long> advanced() { return advanced; }
+
+        int failures() { return failures.get(); }
+
+        @Override
+        public int advance(List<DroneStatusView> drones) {
+            List<Long> ids = drones.stream().map(DroneStatusView::getId).filter(watched::contains).toList();
+            if (!ids.isEmpty() && armed.compareAndSet(true, false)) {
+                failures.incrementAndGet();
+                throw new IllegalStateException("Injected chunk failure");
+            }
+            int changed = super.advance(drones);
+            advanced.addAll(ids);
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.dto.PositionRequest;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.store.FleetStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loaders racing the writes that invalidate them: one that read a drone before a write and
+ * returns after it was published, or after it committed, must not leave that value cached,
+ * whether the write's events are released at commit (JPA store) or as they are published, with
+ * no transaction around them (in-memory store, through {@code fallbackExecution}). The
+ * concurrent runs check that a read never returns a position older than one whose write had
+ * already returned when the read started.
+ */
+@SpringBootTest(properties = "drone.simulator.interval=3600000")
+class DroneCacheTest {
+    private static final int HOT_DRONES = 8;
+    private static final int MOVES = 300;
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private FleetStore fleetStore;
+    @Autowired
+    private DroneCache droneCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void loadOutlivingACommittedWriteIsNotCached() {
+        loadOutlivingAWriteIsNotCached(droneService, fleetStore, droneCache, "CACHE-COMMITTED");
+    }
+
+    @Test
+    void loadOverlappingAnOpenTransactionIsNotCached() throws Exception {
+        long id = register(droneService, "CACHE-OPEN");
+        CountDownLatch write = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> tx = writer.submit(() -> transactionTemplate.execute(status -> {
+                await(write);
+                droneService.updatePosition(id, new PositionRequest(10.0, 20.0));
+                // the write has started but not committed
+                published.countDown();
+                await(commit);
+                return null;
+            }));
+
+            // read before the write, returned after it was published
+            DroneDto before = droneCache.get(id, loaded -> {
+                DroneDto old = load(fleetStore, loaded);
+                write.countDown();
+                await(published);
+                return old;
+            });
+            assertThat(before.getLatitude()).isNull();
+            // read while the write is in flight
+            assertThat(droneCache.get(id, loaded -> load(fleetStore, loaded)).getLatitude()).isNull();
+
+            commit.countDown();
+            tx.get(10, TimeUnit.SECONDS);
+            assertThat(droneCache.get(id, loaded -> load(fleetStore, loaded)).getLatitude()).isEqualTo(10.0);
+            assertThat(droneService.getDrone(id).getLatitude()).isEqualTo(10.0);
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentReadsNeverGoBackInTime() throws Exception {
+        readWhileMoving(droneService, "CACHE-RACE-");
+    }
+
+    // the enclosing instance is wired from the outer context, so this run needs its own beans
+    @Nested
+    @TestPropertySource(properties = "drone.store.engine=memory")
+    class InMemoryStore {
+        @Autowired
+        private DroneService droneService;
+        @Autowired
+        private FleetStore fleetStore;
+        @Autowired
+        private DroneCache droneCache;
+
+        @Test
+        void loadOutlivingAWriteIsNotCached() {
+            DroneCacheTest.loadOutlivingAWriteIsNotCached(droneService, fleetStore, droneCache, "MEMORY-CACHE");
+        }
+
+        @Test
+        void concurrentReadsNeverGoBackInTime() throws Exception {
+            readWhileMoving(droneService, "MEMORY-CACHE-RACE-");
+        }
+    }
+
+    private static void loadOutlivingAWriteIsNotCached(DroneService droneService, FleetStore fleetStore, DroneCache cache,
+                                                       String serial) {
+        long id = register(droneService, serial);
+        // the whole write, its events included, runs between the read and the return
+        DroneDto stale = cache.get(id, loaded -> {
+            DroneDto old = load(fleetStore, loaded);
+            droneService.updatePosition(id, new PositionRequest(10.0, 20.0));
+            return old;
+        });
+        assertThat(stale.getLatitude()).isNull();
+        assertThat(cache.get(id, loaded -> load(fleetStore, loaded)).getLatitude()).isEqualTo(10.0);
+        assertThat(droneService.getDrone(id).getLatitude()).isEqualTo(10.0);
+    }
+
+    private static void readWhileMoving(DroneService droneService, String serialPrefix) throws Exception {
+        long[] ids = new long[HOT_DRONES];
+        for (int i = 0; i < HOT_DRONES; i++) ids[i] = register(droneService, serialPrefix + i);
+        // per drone, the last move whose write has returned
+        AtomicIntegerArray written = new AtomicIntegerArray(HOT_DRONES);
+        AtomicBoolean moving = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(2 * HOT_DRONES);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            List<Future<?>> readers = new ArrayList<>();
+            for (int d = 0; d < HOT_DRONES; d++) {
+                int drone = d;
+                writers.add(pool.submit(() -> {
+                    for (int move = 1; move <= MOVES; move++) {
+                        droneService.updatePosition(ids[drone], new PositionRequest(latitude(move), 0.0));
+                        written.set(drone, move);
+                    }
+                    return null;
+                }));
+                readers.add(pool.submit(() -> {
+                    while (moving.get()) {
+                        for (int i = 0; i < HOT_DRONES; i++) {
+                            int floor = written.get(i);
+                            Double read = droneService.getDrone(ids[i]).getLatitude();
+                            int seen = read == null ? 0 : (int) Math.round(read * 100);
+                            assertThat(seen).as("drone %d after move %d", ids[i], floor).isGreaterThanOrEqualTo(floor);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : writers) f.get(60, TimeUnit.SECONDS);
+            moving.set(false);
+            for (Future<?> f : readers) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        for (long id : ids) assertThat(droneService.getDrone(id).getLatitude()).isEqualTo(latitude(MOVES));
+    }
+
+    private static double latitude(int move) {
+        return move / 100.0;
+    }
+
+    private static long register(DroneService droneService, String serial) {
+        CreateDroneRequest req = new CreateDroneRequest();
+        req.setSerialNumber(serial);
+        req.setModel(DroneModel.LIGHT_WEIGHT);
+        req.setWeightLimit(DroneModel.LIGHT_WEIGHT.getCapacity());
+        return droneService.registerDrone(req).getId();
+    }
+
+    private static DroneDto load(FleetStore store, long id) {
+        return DroneServiceImpl.toDto(store.findDrone(id).orElseThrow());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.dto.CreateDroneRequest;
+import com.example.droneservice.dto.CreateMedicationRequest;
+import com.example.droneservice.dto.LoadRequest;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.store.DroneRecord;
+import com.example.droneservice.store.FleetStore;
+import com.example.droneservice.store.MedicationRecord;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 64 clients load a handful of hot drones concurrently, asking for more weight than the drones
+ * can carry. Every accepted load must be reflected exactly once and no drone may end up over
+ * its model capacity. The nested run drops the stripe locks, so writers race on
+ * {@code Drone.version} and only the retries keep the loads exact; the last one does the same
+ * against the in-memory store, where writers race on compare-and-set instead. Each run logs the
+ * rate of accepted loads, timed up to the last one accepted: the drones take 500 loads each, so
+ * about a fifth of the attempts, the last ones, are turned away for capacity.
+ */
+@SpringBootTest(properties = "drone.simulator.interval=3600000")
+class DroneLoadContentionTest {
+    private static final Logger log = LoggerFactory.getLogger(DroneLoadContentionTest.class);
+    private static final int CLIENTS = 64;
+    private static final int LOADS_PER_CLIENT = 40;
+    private static final int HOT_DRONES = 4;
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private FleetStore fleetStore;
+
+    @Test
+    void concurrentLoadsNeverOverloadADrone() throws Exception {
+        loadConcurrently(droneService, fleetStore, "CONTENTION-");
+    }
+
+    // the enclosing instance is wired from the outer context, so this run needs its own beans
+    @Nested
+    @TestPropertySource(properties = "drone.concurrency.striped-locks=false")
+    class WithoutStripedLocks {
+        @Autowired
+        private DroneService droneService;
+        @Autowired
+        private FleetStore fleetStore;
+        @Autowired
+        private DroneWriteExecutor writeExecutor;
+
+        @Test
+        void versionConflictsAreRetried() throws Exception {
+            long retries = writeExecutor.retries();
+            loadConcurrently(droneService, fleetStore, "OPTIMISTIC-");
+            assertThat(writeExecutor.retries()).isGreaterThan(retries);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {"drone.store.engine=memory", "drone.concurrency.striped-locks=false"})
+    class InMemoryStore {
+        @Autowired
+        private DroneService droneService;
+        @Autowired
+        private FleetStore fleetStore;
+
+        @Test
+        void concurrentLoadsNeverOverloadADrone() throws Exception {
+            loadConcurrently(droneService, fleetStore, "MEMORY-");
+        }
+    }
+
+    private static void loadConcurrently(DroneService droneService, FleetStore fleetStore, String serialPrefix) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, AtomicInteger> accepted = new ConcurrentHashMap<>();
+        for (int i = 0; i < HOT_DRONES; i++) {
+            CreateDroneRequest req = new CreateDroneRequest();
+            req.setSerialNumber(serialPrefix + i);
+            req.setModel(DroneModel.HEAVY_WEIGHT);
+            req.setWeightLimit(DroneModel.HEAVY_WEIGHT.getCapacity());
+            long id = droneService.registerDrone(req).getId();
+            ids.add(id);
+            accepted.put(id, new AtomicInteger());
+        }
+
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicLong lastAccepted = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            clients.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < LOADS_PER_CLIENT; i++) {
+                    long droneId = ids.get((client + i) % HOT_DRONES);
+                    try {
+                        droneService.loadDrone(droneId, loadOf(1));
+                        accepted.get(droneId).incrementAndGet();
+                        lastAccepted.accumulateAndGet(System.nanoTime(), Math::max);
+                    } catch (IllegalStateException e) {
+                        assertThat(e).hasMessage("Exceeds capacity");
+                        rejected.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        // retries exhausted: the load was not applied, which is safe
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : clients) f.get();
+        long elapsed = System.nanoTime() - started;
+        pool.shutdown();
+
+        int attempts = CLIENTS * LOADS_PER_CLIENT;
+        int loaded = accepted.values().stream().mapToInt(AtomicInteger::get).sum();
+        log.info("{} {} clients: {} loads accepted at {} loads/s, {} rejected, {} conflicts; {} attempts/s overall",
+                serialPrefix, CLIENTS, loaded, perSecond(loaded, lastAccepted.get() - started), rejected.get(), conflicts.get(),
+                perSecond(attempts, elapsed));
+        int capacity = DroneModel.HEAVY_WEIGHT.getCapacity();
+        for (long id : ids) {
+            DroneRecord drone = fleetStore.findDrone(id).orElseThrow();
+            int persisted = fleetStore.medicationsOf(id).stream().mapToInt(MedicationRecord::getWeight).sum();
+            assertThat(drone.getCurrentLoadWeight()).isLessThanOrEqualTo(capacity);
+            assertThat(drone.getCurrentLoadWeight()).isEqualTo(accepted.get(id).get());
+            assertThat(persisted).isEqualTo(drone.getCurrentLoadWeight());
+        }
+        // every call either landed exactly once or was turned away
+        assertThat(loaded + rejected.get() + conflicts.get()).isEqualTo(attempts);
+    }
+
+    private static long perSecond(int count, long nanos) {
+        return nanos > 0 ? count * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    private static LoadRequest loadOf(int weight) {
+        CreateMedicationRequest med = new CreateMedicationRequest();
+        med.setName("Contention");
+        med.setWeight(weight);
+        med.setCode("CONTENTION_1");
+        LoadRequest load = new LoadRequest();
+        load.setMedications(List.of(med));
+        return load;
+    }
+}
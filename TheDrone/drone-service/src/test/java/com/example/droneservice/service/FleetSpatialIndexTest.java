@@ -0,0 +1,143 @@
+package com.example.droneservice.service;
+
+import com.example.droneservice.config.SpatialProperties;
+import com.example.droneservice.dto.DroneDto;
+import com.example.droneservice.event.DronesRegisteredEvent;
+import com.example.droneservice.model.enums.DroneModel;
+import com.example.droneservice.model.enums.DroneState;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares {@link FleetSpatialIndex#nearest} with a brute-force haversine scan, over fleets spread
+ * across the globe and bunched at the poles and the antimeridian, with cells small enough for the
+ * rings to stop early and large enough for them to wrap the globe or fall back to a full scan.
+ */
+class FleetSpatialIndexTest {
+    private static final DroneModel[] MODELS = DroneModel.values();
+    private static final int QUERIES = 300;
+
+    // 7 does not divide 360, 45 makes the rings wrap the globe within a few steps
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.5, 7, 45})
+    void matchesABruteForceScanAcrossTheGlobe(double cellDegrees) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<DroneDto> fleet = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            fleet.add(drone(id, random, random.nextDouble(-90, 90), random.nextDouble(-180, 180)));
+        }
+        FleetSpatialIndex index = index(cellDegrees, fleet);
+        for (int i = 0; i < QUERIES; i++) {
+            check(index, fleet, random, random.nextDouble(-90, 90), random.nextDouble(-180, 180));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.5, 7, 45})
+    void matchesABruteForceScanAtThePolesAndTheAntimeridian(double cellDegrees) {
+        SplittableRandom random = new SplittableRandom(23);
+        List<DroneDto> fleet = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            double latitude;
+            double longitude;
+            switch ((int) (id % 3)) {
+                case 0 -> {
+                    latitude = random.nextDouble(89, 90);
+                    longitude = random.nextDouble(-180, 180);
+                }
+                case 1 -> {
+                    latitude = random.nextDouble(-90, -89);
+                    longitude = random.nextDouble(-180, 180);
+                }
+                default -> {
+                    latitude = random.nextDouble(-60, 60);
+                    longitude = random.nextBoolean() ? random.nextDouble(179, 180) : random.nextDouble(-180, -179);
+                }
+            }
+            fleet.add(drone(id, random, latitude, longitude));
+        }
+        FleetSpatialIndex index = index(cellDegrees, fleet);
+        double[][] edges = {{90, 0}, {-90, 0}, {90, 180}, {-90, -180}, {89.999, 123}, {-89.999, -45},
+                {0, 180}, {0, -180}, {45, 179.999}, {-45, -179.999}, {10, 180}, {-10, -180}};
+        for (double[] point : edges) check(index, fleet, random, point[0], point[1]);
+        for (int i = 0; i < QUERIES; i++) {
+            double latitude = random.nextBoolean() ? random.nextDouble(88, 90) : random.nextDouble(-90, -88);
+            double longitude = random.nextBoolean() ? random.nextDouble(178, 180) : random.nextDouble(-180, 180);
+            check(index, fleet, random, latitude, longitude);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 1})
+    void sparseFleetFallsBackToAScan(double cellDegrees) {
+        SplittableRandom random = new SplittableRandom(37);
+        List<DroneDto> fleet = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            fleet.add(drone(id, random, random.nextDouble(-90, 90), random.nextDouble(-180, 180)));
+        }
+        FleetSpatialIndex index = index(cellDegrees, fleet);
+        for (int i = 0; i < QUERIES; i++) {
+            check(index, fleet, random, random.nextDouble(-90, 90), random.nextDouble(-180, 180));
+        }
+    }
+
+    private static void check(FleetSpatialIndex index, List<DroneDto> fleet, SplittableRandom random,
+                              double latitude, double longitude) {
+        int k = 1 + random.nextInt(12);
+        int minCapacity = MODELS[random.nextInt(MODELS.length)].getCapacity();
+        // rejects about half the drones, so the index has to look past them
+        long salt = random.nextLong();
+        LongPredicate eligible = id -> Long.bitCount(id ^ salt) % 2 == 0;
+
+        List<double[]> expected = new ArrayList<>();
+        for (DroneDto d : fleet) {
+            if (d.getModel().getCapacity() < minCapacity || !eligible.test(d.getId())) continue;
+            expected.add(new double[]{d.getId(), haversine(latitude, longitude, d.getLatitude(), d.getLongitude())});
+        }
+        expected.sort(Comparator.comparingDouble(e -> e[1]));
+        List<FleetSpatialIndex.Neighbor> actual = index.nearest(latitude, longitude, minCapacity, k, eligible);
+
+        String at = "k=" + k + " at " + latitude + "," + longitude;
+        assertThat(actual).as(at).hasSize(Math.min(k, expected.size()));
+        for (int i = 0; i < actual.size(); i++) {
+            FleetSpatialIndex.Neighbor n = actual.get(i);
+            // distances rather than ids, since two drones can tie within rounding
+            assertThat(n.getDistanceKm()).as(at + " #" + i).isCloseTo(expected.get(i)[1], within(1e-6));
+            DroneDto d = fleet.get((int) n.getId() - 1);
+            assertThat(eligible.test(n.getId()) && d.getModel().getCapacity() >= minCapacity).as(at).isTrue();
+            assertThat(haversine(latitude, longitude, d.getLatitude(), d.getLongitude())).as(at)
+                    .isCloseTo(n.getDistanceKm(), within(1e-6));
+        }
+    }
+
+    private static FleetSpatialIndex index(double cellDegrees, List<DroneDto> fleet) {
+        SpatialProperties properties = new SpatialProperties();
+        properties.setCellDegrees(cellDegrees);
+        // the store is only read by rebuild()
+        FleetSpatialIndex index = new FleetSpatialIndex(null, properties);
+        index.onDronesRegistered(new DronesRegisteredEvent(fleet));
+        return index;
+    }
+
+    private static DroneDto drone(long id, SplittableRandom random, double latitude, double longitude) {
+        DroneModel model = MODELS[random.nextInt(MODELS.length)];
+        return new DroneDto(id, "SPATIAL-" + id, model, model.getCapacity(), 100, DroneState.IDLE, latitude, longitude);
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * FleetSpatialIndex.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.droneservice.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Uploads are limited to {@code drone.blob.max-bytes} while they stream in. */
+class BlobStoreTest {
+    private static final int MAX = 20_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storesUploadsUpToTheLimit() throws IOException {
+        BlobStore store = new BlobStore(dir, MAX);
+        Optional<String> ref = store.put(new ByteArrayInputStream(new byte[MAX]));
+        assertThat(ref).isPresent();
+        assertThat(Files.size(store.find(ref.get()).orElseThrow())).isEqualTo(MAX);
+        assertThat(files()).hasSize(1);
+    }
+
+    @Test
+    void abandonsAnUploadOnceItPassesTheLimit() throws IOException {
+        BlobStore store = new BlobStore(dir, MAX);
+        CountingStream in = new CountingStream(10 * MAX);
+        assertThat(store.put(in)).isEmpty();
+        // stopped at the first read past the limit rather than draining the whole body
+        assertThat(in.read).isLessThan(MAX + 8192 + 1);
+        assertThat(files()).isEmpty();
+    }
+
+    @Test
+    void refusesInlineDataOverTheLimit() throws IOException {
+        BlobStore store = new BlobStore(dir, MAX);
+        assertThatThrownBy(() -> store.put(new byte[MAX + 1])).isInstanceOf(IllegalArgumentException.class);
+        assertThat(files()).isEmpty();
+        assertThatThrownBy(() -> new BlobStore(dir, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    /** {@code size} zero bytes, counting what was read. */
+    private static final class CountingStream extends InputStream {
+        private final long size;
+        long read;
+
+        CountingStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (read == size) return -1;
+            read++;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (read == size) return -1;
+            int n = (int) Math.min(len, size - read);
+            read += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.droneservice.telemetry;
+
+import com.example.droneservice.config.BatteryHistoryProperties;
+import com.example.droneservice.dto.BatteryHistoryDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** Rings of four samples, so a handful of readings wraps them. */
+class BatteryHistoryStoreTest {
+
+    @Test
+    void wrappedRingKeepsTheNewestReadingsInOrder() {
+        BatteryHistoryStore history = store(4, 10);
+        for (int i = 1; i <= 10; i++) history.record(1, i * 1000L, i * 10);
+
+        BatteryHistoryDto all = history.history(1, null, Instant.ofEpochMilli(10_000), 4);
+        // from defaults to the oldest reading still held
+        assertThat(all.getFrom()).isEqualTo(Instant.ofEpochMilli(7000));
+        assertThat(all.getPoints()).extracting(BatteryHistoryDto.Point::getMin, BatteryHistoryDto.Point::getSamples)
+                .containsExactly(tuple(70, 1), tuple(80, 1), tuple(90, 1), tuple(100, 1));
+
+        // the overwritten readings are gone, so nothing is known before 7000
+        BatteryHistoryDto window = history.history(1, Instant.ofEpochMilli(0), Instant.ofEpochMilli(9999), 10);
+        assertThat(window.getPoints()).extracting(BatteryHistoryDto.Point::getSamples).containsExactly(1, 1, 1);
+        assertThat(window.getPoints().get(0).getMin()).isEqualTo(70);
+    }
+
+    @Test
+    void emptyBucketsRepeatTheLastReadingButNotBeforeTheFirst() {
+        BatteryHistoryStore history = store(8, 10);
+        history.record(1, 5000, 50);
+        history.record(1, 6000, 40);
+
+        // buckets of 1001 ms from 0: the readings land in the fifth and sixth
+        List<BatteryHistoryDto.Point> points = history.history(1, Instant.ofEpochMilli(0), Instant.ofEpochMilli(10_000), 10).getPoints();
+        assertThat(points).extracting(p -> p.getStart().toEpochMilli(), BatteryHistoryDto.Point::getMin,
+                        BatteryHistoryDto.Point::getMax, BatteryHistoryDto.Point::getSamples)
+                .containsExactly(tuple(4004L, 50, 50, 1), tuple(5005L, 40, 40, 1), tuple(6006L, 40, 40, 0),
+                        tuple(7007L, 40, 40, 0), tuple(8008L, 40, 40, 0), tuple(9009L, 40, 40, 0));
+
+        // a reading before the window carries into its first bucket
+        List<BatteryHistoryDto.Point> later = history.history(1, Instant.ofEpochMilli(5500), Instant.ofEpochMilli(5999), 2).getPoints();
+        assertThat(later).extracting(BatteryHistoryDto.Point::getMin, BatteryHistoryDto.Point::getSamples)
+                .containsExactly(tuple(50, 0), tuple(50, 0));
+    }
+
+    @Test
+    void bucketsAggregateSeveralReadings() {
+        BatteryHistoryStore history = store(8, 10);
+        history.record(1, 100, 90);
+        history.record(1, 200, 60);
+        history.record(1, 300, 75);
+        history.record(1, 1500, 140);
+
+        List<BatteryHistoryDto.Point> points = history.history(1, Instant.ofEpochMilli(0), Instant.ofEpochMilli(1999), 2).getPoints();
+        assertThat(points).hasSize(2);
+        assertThat(points.get(0).getMin()).isEqualTo(60);
+        assertThat(points.get(0).getMax()).isEqualTo(90);
+        assertThat(points.get(0).getAvg()).isEqualTo(75.0);
+        assertThat(points.get(0).getSamples()).isEqualTo(3);
+        // clamped to 100
+        assertThat(points.get(1).getMax()).isEqualTo(100);
+    }
+
+    @Test
+    void fullStoreKeepsTrackingItsDronesAndIgnoresNewOnes() {
+        int max = BatteryHistoryStore.SEGMENT_SLOTS + 1;
+        BatteryHistoryStore history = store(4, max);
+        // the last tracked drone is the first in a second segment
+        for (long id = 1; id <= max + 5; id++) history.record(id, 1000, 50);
+        for (long id = 1; id <= max + 5; id++) history.record(id, 2000, 40);
+
+        Instant from = Instant.ofEpochMilli(1000);
+        Instant to = Instant.ofEpochMilli(3999);
+        for (long id : new long[]{1, max}) {
+            assertThat(history.history(id, from, to, 3).getPoints())
+                    .extracting(BatteryHistoryDto.Point::getMin).containsExactly(50, 40, 40);
+        }
+        assertThat(history.history(max + 1, from, to, 3).getPoints()).isEmpty();
+        assertThat(history.history(max + 5, null, null, 3).getPoints()).isEmpty();
+    }
+
+    @Test
+    void rejectsAWindowEndingBeforeItStarts() {
+        BatteryHistoryStore history = store(4, 10);
+        assertThatThrownBy(() -> history.history(1, Instant.ofEpochMilli(2), Instant.ofEpochMilli(1), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BatteryHistoryStore store(int samples, int maxDrones) {
+        BatteryHistoryProperties properties = new BatteryHistoryProperties();
+        properties.setSamples(samples);
+        properties.setMaxDrones(maxDrones);
+        // the fleet store is only read by seed()
+        return new BatteryHistoryStore(null, properties);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.droneservice.telemetry;
+
+import com.example.droneservice.event.DroneStatus;
+import com.example.droneservice.event.FleetChangeEvent;
+import com.example.droneservice.model.enums.DroneState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscribers that stop reading while the fleet changes fast must be dropped once their
+ * connections stay full past the send timeout, and must never hold up the one sender thread
+ * that a subscriber which keeps reading depends on.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "drone.simulator.interval=3600000",
+        "drone.telemetry.flush-millis=20",
+        "drone.telemetry.sender-threads=1",
+        "drone.telemetry.send-timeout-millis=1000"})
+class TelemetryHubTest {
+    private static final int STALLED = 4;
+    private static final int DRONES_PER_CHANGE = 5000;
+    private static final long MARKER = 987654321L;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TelemetryHub hub;
+
+    @Test
+    void clientThatStopsReadingIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        List<Socket> stalled = new ArrayList<>();
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        try {
+            for (int i = 0; i < STALLED; i++) stalled.add(subscribeWithoutReading());
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/telemetry/stream")).build();
+            HttpResponse<Stream<String>> reader = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+            assertThat(reader.statusCode()).isEqualTo(200);
+            Thread consumer = new Thread(() -> reader.body().filter(l -> l.startsWith("data:")).forEach(received::add));
+            consumer.setDaemon(true);
+            consumer.start();
+            awaitSubscribers(STALLED + 1);
+
+            // frames of a few hundred KB fill the stalled connections within a few flushes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            for (int round = 0; hub.subscriberCount() > 1; round++) {
+                assertThat(System.nanoTime()).as("stalled subscribers dropped").isLessThan(deadline);
+                List<DroneStatus> changes = new ArrayList<>(DRONES_PER_CHANGE);
+                for (long id = 1; id <= DRONES_PER_CHANGE; id++) changes.add(new DroneStatus(id, DroneState.IDLE, round % 100, round));
+                // straight to the hub: these drones don't exist for the other listeners
+                hub.onFleetChange(new FleetChangeEvent(changes));
+                Thread.sleep(20);
+                received.clear();
+            }
+
+            hub.onFleetChange(new FleetChangeEvent(List.of(new DroneStatus(MARKER, DroneState.LOADED, 42, 1))));
+            assertThat(awaitMarker(received, 5)).as("update after the stalled subscribers were dropped").isTrue();
+        } finally {
+            for (Socket s : stalled) s.close();
+        }
+    }
+
+    private Socket subscribeWithoutReading() throws Exception {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/telemetry/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hub.subscriberCount() < count && System.nanoTime() < deadline) Thread.sleep(10);
+        assertThat(hub.subscriberCount()).isEqualTo(count);
+    }
+
+    private static boolean awaitMarker(BlockingQueue<String> received, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        for (long left; (left = deadline - System.nanoTime()) > 0; ) {
+            String line = received.poll(left, TimeUnit.NANOSECONDS);
+            if (line != null && line.contains("\"id\":" + MARKER)) return true;
+        }
+        return false;
+    }
+}